@@ -0,0 +1,60 @@
+package com.geneaazul.gedcomanalyzer.bench;
+
+import com.geneaazul.gedcomanalyzer.model.Date;
+import com.geneaazul.gedcomanalyzer.model.RegexDateParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date parsing of the gedcom load, the tokenizer against the former regex. Times are per date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateParseBenchmarks {
+
+    private static final String[] DATES = {
+            "15 JUL 1987",
+            "1950",
+            "JAN 1910",
+            "ABT 1900",
+            "EST 1875",
+            "AFT 3 MAR 1920",
+            "BEF 1899",
+            "BET 1880 AND 1885",
+            "FROM 1900 TO 1910",
+            "12 Dec 2001"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void parse(Blackhole blackhole) {
+        for (String date : DATES) {
+            blackhole.consume(Date.parse(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void parseRegex(Blackhole blackhole) {
+        for (String date : DATES) {
+            blackhole.consume(RegexDateParser.parse(date));
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.geneaazul.gedcomanalyzer.bench;
+
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+
+import org.folg.gedcom.model.Gedcom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gedcom loading: each invocation processes the whole synthetic gedcom.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GedcomLoadBenchmarks {
+
+    @Benchmark
+    public Gedcom parseGedcom(SyntheticGedcomState state) throws IOException, SAXParseException {
+        return state.gedcomParsingService.parseGedcom(state.gedcomPath);
+    }
+
+    @Benchmark
+    public EnrichedGedcom enrichGedcom(SyntheticGedcomState state) {
+        return EnrichedGedcom.of(state.legacyGedcom, state.gedcomPath.toString(), state.properties);
+    }
+
+    @Benchmark
+    public EnrichedGedcom parseStreamed(SyntheticGedcomState state) throws IOException {
+        return state.gedcomParsingService.parseStreamed(state.gedcomPath);
+    }
+
+}
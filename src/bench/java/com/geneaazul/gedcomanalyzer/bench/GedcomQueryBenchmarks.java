@@ -0,0 +1,72 @@
+package com.geneaazul.gedcomanalyzer.bench;
+
+import com.geneaazul.gedcomanalyzer.model.PersonComparisonResults;
+import com.geneaazul.gedcomanalyzer.model.Relationships;
+import com.geneaazul.gedcomanalyzer.model.ShortestPathTree;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyResultDto;
+import com.geneaazul.gedcomanalyzer.utils.PathUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request hot paths over the loaded synthetic gedcom.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GedcomQueryBenchmarks {
+
+    @Benchmark
+    public List<Relationships> getPeopleInTree(SyntheticGedcomState state) {
+        return state.personService.getPeopleInTree(state.person, false, false, true);
+    }
+
+    @Benchmark
+    public ShortestPathTree calculateShortestPathFromSource(SyntheticGedcomState state) {
+        return PathUtils.calculateShortestPathFromSource(state.gedcom, state.person, true);
+    }
+
+    @Benchmark
+    public List<Integer> calculateShortestPath(SyntheticGedcomState state) {
+        return PathUtils.calculateShortestPath(state.gedcom, state.person, state.otherPerson, true);
+    }
+
+    @Benchmark
+    public SearchFamilyResultDto searchFamily(SyntheticGedcomState state) {
+        return state.familyService.search(state.searchFamilyDto);
+    }
+
+    @Benchmark
+    public void exportPlainFamilyTreePdf(SyntheticGedcomState state) {
+        state.plainFamilyTreePdfService.generateFamilyTree(
+                state.person,
+                "bench",
+                "",
+                true,
+                true,
+                state.relationshipsWithNotInLawPriority);
+    }
+
+    /**
+     * It compares the whole gedcom, so it is measured as a single shot.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public List<PersonComparisonResults> findDuplicatedPersons(SyntheticGedcomState state) {
+        return state.searchService.findDuplicatedPersons(state.gedcom);
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.geneaazul.gedcomanalyzer.bench;
+
+import com.geneaazul.gedcomanalyzer.Application;
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.GivenName;
+import com.geneaazul.gedcomanalyzer.model.Relationship;
+import com.geneaazul.gedcomanalyzer.model.Surname;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchPersonDto;
+import com.geneaazul.gedcomanalyzer.service.FamilyService;
+import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
+import com.geneaazul.gedcomanalyzer.service.PersonService;
+import com.geneaazul.gedcomanalyzer.service.SearchService;
+import com.geneaazul.gedcomanalyzer.service.familytree.FamilyTreeHelper;
+import com.geneaazul.gedcomanalyzer.service.familytree.PlainFamilyTreePdfService;
+import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
+import com.geneaazul.gedcomanalyzer.utils.SyntheticGedcomGenerator;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import org.apache.commons.io.file.PathUtils;
+import org.folg.gedcom.model.Gedcom;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Synthetic gedcom of {@code peopleCount} people, loaded by a Spring context on the test profile. It is generated
+ * once per trial with a fixed seed, so every run benchmarks the same tree.
+ */
+@State(Scope.Benchmark)
+public class SyntheticGedcomState {
+
+    private static final long SEED = 20240917L;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int peopleCount;
+
+    public Path tempDir;
+    public Path gedcomPath;
+    public ConfigurableApplicationContext context;
+
+    public GedcomAnalyzerProperties properties;
+    public GedcomParsingService gedcomParsingService;
+    public PersonService personService;
+    public SearchService searchService;
+    public FamilyService familyService;
+    public FamilyTreeHelper familyTreeHelper;
+    public PlainFamilyTreePdfService plainFamilyTreePdfService;
+
+    public Gedcom legacyGedcom;
+    public EnrichedGedcom gedcom;
+    public EnrichedPerson person;
+    public EnrichedPerson otherPerson;
+    public SearchFamilyDto searchFamilyDto;
+    public List<List<Relationship>> relationshipsWithNotInLawPriority;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SAXParseException {
+        tempDir = Files.createTempDirectory("gedcom-analyzer-bench-");
+        gedcomPath = tempDir.resolve("synthetic-" + peopleCount + ".ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(peopleCount, SEED).generate(), gedcomPath);
+
+        // The test profile loads the gedcom synchronously during the context startup
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .properties(
+                        "gedcom-storage-local-path=" + gedcomPath,
+                        "temp-dir=" + tempDir,
+                        // Repeated searches must be searched again, not taken from the cache
+                        "search-result-cache-enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        properties = context.getBean(GedcomAnalyzerProperties.class);
+        gedcomParsingService = context.getBean(GedcomParsingService.class);
+        personService = context.getBean(PersonService.class);
+        searchService = context.getBean(SearchService.class);
+        familyService = context.getBean(FamilyService.class);
+        familyTreeHelper = context.getBean(FamilyTreeHelper.class);
+        plainFamilyTreePdfService = context.getBean(PlainFamilyTreePdfService.class);
+
+        legacyGedcom = gedcomParsingService.parseGedcom(gedcomPath);
+        gedcom = context.getBean(GedcomHolder.class).getGedcom();
+
+        // Later generations have both ascendants and descendants
+        person = gedcom.getPeople().get(peopleCount / 2);
+        otherPerson = gedcom.getPeople().get(peopleCount / 3);
+
+        searchFamilyDto = SearchFamilyDto.builder()
+                .individual(SearchPersonDto.builder()
+                        .givenName(person.getGivenName().map(GivenName::value).orElse(null))
+                        .surname(person.getSurname().map(Surname::value).orElse(null))
+                        .sex(person.getSex())
+                        .build())
+                .build();
+
+        relationshipsWithNotInLawPriority = familyTreeHelper.getRelationshipsWithNotInLawPriority(person);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        PathUtils.deleteDirectory(tempDir);
+    }
+
+}
@@ -5,9 +5,11 @@ import com.geneaazul.gedcomanalyzer.utils.NameUtils;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZoneId;
@@ -16,7 +18,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
+import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
+import jakarta.validation.constraints.NotBlank;
 
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -24,6 +28,7 @@ import lombok.Setter;
 
 @Getter
 @Setter
+@Validated
 @Configuration
 @ConfigurationProperties
 public class GedcomAnalyzerProperties {
@@ -32,7 +37,6 @@ public class GedcomAnalyzerProperties {
     private Locale locale = Locale.of("es", "AR");
 
     private Path tempDir = Path.of("../gedcoms/temp");
-    private String tempUploadedGedcomDirPrefix = "gedcomfile_";
     private Path gedcomStorageLocalPath = Path.of("../gedcoms/genea-azul-full-gedcom.ged");
     private String googleApiKey;
     private String gedcomStorageGoogleDriveFileId;
@@ -47,12 +51,43 @@ public class GedcomAnalyzerProperties {
     private int maxClientRequestsHoursThreshold = 1;
     private Set<String> clientsWithSpecialThreshold = Set.of();
 
-    private boolean deleteUploadedGedcom = false;
     private boolean storeFamilySearch = true;
     private boolean storeConnectionSearch = true;
     private boolean keepReferenceToLegacyGedcom = false;
+    // Only used when the reference to the legacy gedcom is not kept
+    private boolean binarySnapshotEnabled = true;
+    // Only used when the reference to the legacy gedcom is not kept, the records of the gedcom are kept to diff the next reload
+    private boolean incrementalReloadEnabled = true;
+    // Max threads used to enrich the people of a loaded gedcom
+    private int enrichmentParallelism = Runtime.getRuntime().availableProcessors();
+    // Max threads used to compare the people of a gedcom when looking for duplicated persons
+    private int duplicatedPersonsParallelism = Runtime.getRuntime().availableProcessors();
     private boolean disableObfuscateLiving = false;
 
+    // Warm-up run after the first gedcom load, the health check reports ready only once it is over
+    private boolean warmUpEnabled = true;
+    private int warmUpRecentSearches = 50;
+    private int warmUpTopSurnames = 10;
+    private int warmUpTreeSummariesPerSurname = 20;
+    // Kept well below the grace period of the health check, together with the gedcom load
+    private Duration warmUpMaxDuration = Duration.ofSeconds(45);
+
+    // Results of repeated family and connection searches, weighted by their people and connections count
+    private boolean searchResultCacheEnabled = true;
+    private long searchResultCacheMaxWeight = 20_000;
+
+    // Key of the person uuids hash, person uuids change when it changes. It has no default, the app fails to start without it
+    @NotBlank
+    private String personUuidSecret;
+    // Modified time of the gedcom served before the stable person uuids, its legacy uuids are aliases of the people until the expiry
+    @Nullable
+    private Instant personUuidLegacyModifiedTime;
+    @Nullable
+    private Instant personUuidLegacyAliasesExpireAt;
+
+    // Cacique Cipriano Catriel, Manuel Belgrano, Papa Francisco, Pedro Burgos, Rubén De Paula, Justo José de Urquiza
+    private List<Integer> shortestPathLandmarkPersonIds = List.of(511668, 543016, 525113, 518817, 505424, 545653);
+
     private int alivePersonMaxAge = 105;
     private int parentMinAgeDiff = 20;
     private int parentMaxAgeDiff = 50;
@@ -1,6 +1,8 @@
 package com.geneaazul.gedcomanalyzer.config;
 
 import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
+import com.geneaazul.gedcomanalyzer.service.WarmUpService;
+import com.geneaazul.gedcomanalyzer.service.storage.BinarySnapshotService;
 import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
 import com.geneaazul.gedcomanalyzer.service.storage.GoogleDriveStorageService;
 import com.geneaazul.gedcomanalyzer.service.storage.LocalStorageService;
@@ -29,6 +31,7 @@ public class StorageConfig {
     @ConditionalOnProperty(name = "gedcom-storage-google-drive.enabled", havingValue = "true")
     public GoogleDriveStorageService googleDriveStorageService(
             GedcomParsingService gedcomParsingService,
+            BinarySnapshotService binarySnapshotService,
             GedcomAnalyzerProperties properties) {
 
         log.info("Using storage service: Google Drive");
@@ -36,6 +39,7 @@ public class StorageConfig {
         return new GoogleDriveStorageService(
                 new LocalStorageService(
                         gedcomParsingService,
+                        binarySnapshotService,
                         properties),
                 properties);
     }
@@ -44,12 +48,14 @@ public class StorageConfig {
     @ConditionalOnMissingBean(name = { "googleDriveStorageService" })
     public LocalStorageService localStorageService(
             GedcomParsingService gedcomParsingService,
+            BinarySnapshotService binarySnapshotService,
             GedcomAnalyzerProperties properties) {
 
         log.info("Using storage service: local");
 
         return new LocalStorageService(
                 gedcomParsingService,
+                binarySnapshotService,
                 properties);
     }
 
@@ -64,6 +70,7 @@ public class StorageConfig {
     public static class SubConfig {
 
         private final GedcomHolder gedcomHolder;
+        private final WarmUpService warmUpService;
         private final ExecutorService executorService;
 
         @Value("${gedcom.reload-delay-in-secs:8}")
@@ -73,7 +80,10 @@ public class StorageConfig {
         public void postConstruct() {
             executorService.submit(() -> ThreadUtils.sleepSecondsAndThen(
                     gedcomReloadDelayInSecs,
-                    () -> gedcomHolder.reloadFromStorage(false)));
+                    () -> {
+                        gedcomHolder.reloadFromStorage(false);
+                        warmUpService.warmUp();
+                    }));
         }
     }
 
@@ -4,12 +4,17 @@ import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
 import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 import com.geneaazul.gedcomanalyzer.model.dto.GedcomAnalysisDto;
 import com.geneaazul.gedcomanalyzer.model.dto.GedcomMetadataDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchResultCacheStatsDto;
 import com.geneaazul.gedcomanalyzer.model.dto.UsageStatsDto;
 import com.geneaazul.gedcomanalyzer.service.GedcomAnalyzerService;
 import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
+import com.geneaazul.gedcomanalyzer.service.SearchResultCache;
+import com.geneaazul.gedcomanalyzer.service.WarmUpService;
 import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -39,6 +44,8 @@ public class GedcomAnalyzerController {
     private final GedcomParsingService gedcomParsingService;
     private final GedcomAnalyzerService gedcomAnalyzerService;
     private final GedcomHolder gedcomHolder;
+    private final WarmUpService warmUpService;
+    private final SearchResultCache searchResultCache;
     private final GedcomAnalyzerProperties properties;
 
     @Value("${spring.profiles.active:}")
@@ -64,9 +71,15 @@ public class GedcomAnalyzerController {
     }
 
     @GetMapping("/health")
-    public Map<String, Object> healthCheck(HttpServletRequest request) {
+    public ResponseEntity<Map<String, Object>> healthCheck(HttpServletRequest request) {
         log.debug("Health check [ httpRequestId={} ]", request.getRequestId());
-        return Map.of("status", "ok");
+        // Not ready until the first gedcom is loaded and warmed up, so no user hits a cold instance
+        if (!warmUpService.isReady()) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("status", "starting"));
+        }
+        return ResponseEntity.ok(Map.of("status", "ok"));
     }
 
     @GetMapping("/metadata")
@@ -91,6 +104,11 @@ public class GedcomAnalyzerController {
         return gedcomAnalyzerService.getUsageStats();
     }
 
+    @GetMapping("/searchResultCacheStats")
+    public SearchResultCacheStatsDto getSearchResultCacheStats() {
+        return searchResultCache.getStats();
+    }
+
     @GetMapping("/reload")
     public GedcomMetadataDto reloadAndGetGedcomMetadata() {
         Instant startInstant = Instant.now();
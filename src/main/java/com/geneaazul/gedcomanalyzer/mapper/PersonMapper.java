@@ -7,6 +7,7 @@ import com.geneaazul.gedcomanalyzer.model.EnrichedPersonWithReference;
 import com.geneaazul.gedcomanalyzer.model.EnrichedSpouseWithChildren;
 import com.geneaazul.gedcomanalyzer.model.PersonComparisonResult;
 import com.geneaazul.gedcomanalyzer.model.PersonComparisonResults;
+import com.geneaazul.gedcomanalyzer.model.PersonTreeStats;
 import com.geneaazul.gedcomanalyzer.model.Place;
 import com.geneaazul.gedcomanalyzer.model.ProfilePicture;
 import com.geneaazul.gedcomanalyzer.model.dto.NameAndPictureDto;
@@ -23,7 +24,6 @@ import org.springframework.stereotype.Component;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
 
 import jakarta.annotation.Nullable;
 
@@ -48,6 +48,13 @@ public class PersonMapper {
     public PersonDto toPersonDto(
             EnrichedPerson person,
             ObfuscationType obfuscationType) {
+        return toPersonDto(person, null, obfuscationType);
+    }
+
+    public PersonDto toPersonDto(
+            EnrichedPerson person,
+            @Nullable PersonTreeStats treeStats,
+            ObfuscationType obfuscationType) {
 
         boolean obfuscateLiving = obfuscationType != ObfuscationType.NONE;
         boolean obfuscateName = obfuscateLiving && obfuscationType != ObfuscationType.SKIP_MAIN_PERSON_NAME;
@@ -62,8 +69,11 @@ public class PersonMapper {
                 obfuscateLiving,
                 person.isAlive());
 
-        List<NameAndPictureDto> distinguishedPersonsInTree = toNameAndPictureDto(
-                person.getDistinguishedPersonsInTree());
+        Optional<PersonTreeStats> optionalTreeStats = Optional.ofNullable(treeStats);
+
+        List<NameAndPictureDto> distinguishedPersonsInTree = toNameAndPictureDto(optionalTreeStats
+                .map(PersonTreeStats::distinguishedPersonsInTree)
+                .orElse(null));
 
         return PersonDto.builder()
                 .uuid(person.getUuid())
@@ -88,16 +98,21 @@ public class PersonMapper {
                         .orElse(null))
                 .parents(parents)
                 .spouses(spouses)
-                .personsCountInTree(person.getPersonsCountInTree())
-                .surnamesCountInTree(person.getSurnamesCountInTree())
-                .ancestryCountries(person.getAncestryCountries())
-                .ancestryGenerations(Optional
-                        .ofNullable(person.getAncestryGenerations())
+                .personsCountInTree(optionalTreeStats
+                        .map(PersonTreeStats::personsCountInTree)
+                        .orElse(null))
+                .surnamesCountInTree(optionalTreeStats
+                        .map(PersonTreeStats::surnamesCountInTree)
+                        .orElse(null))
+                .ancestryCountries(optionalTreeStats
+                        .map(PersonTreeStats::ancestryCountries)
+                        .orElse(null))
+                .ancestryGenerations(optionalTreeStats
+                        .map(PersonTreeStats::ancestryGenerations)
                         .map(ancestryGenerationsMapper::toAncestryGenerationDto)
                         .orElse(null))
-                .maxDistantRelationship(Optional
-                        .ofNullable(person.getMaxDistantRelationship())
-                        .flatMap(Function.identity())
+                .maxDistantRelationship(optionalTreeStats
+                        .flatMap(PersonTreeStats::maxDistantRelationship)
                         .map(maxDistantRelationship -> relationshipMapper.toRelationshipDto(
                                 maxDistantRelationship,
                                 obfuscateLiving && (person.isAlive() || maxDistantRelationship.person().isAlive())))
@@ -97,12 +97,13 @@ public class PyvisNetworkMapper {
             EnrichedPerson person,
             EnrichedPerson spouse,
             boolean noChildren,
+            Map<Integer, Integer> orderKeysByPersonId,
             boolean obfuscateLiving,
             String defaultLabel,
             double borderWidth,
             String color,
             double size) {
-        String coupleNodeId = buildCoupleNodeId(person, spouse, noChildren);
+        String coupleNodeId = buildCoupleNodeId(person, spouse, noChildren, orderKeysByPersonId);
         return new String[] {
                 coupleNodeId,
                 " ",
@@ -118,6 +119,7 @@ public class PyvisNetworkMapper {
             EnrichedPerson person,
             EnrichedPerson spouse,
             boolean noChildren,
+            Map<Integer, Integer> orderKeysByPersonId,
             boolean separated,
             String defaultTitle,
             String separatedTitle,
@@ -125,7 +127,7 @@ public class PyvisNetworkMapper {
             double width,
             String color,
             int dashes) {
-        String coupleNodeId = buildCoupleNodeId(person, spouse, noChildren);
+        String coupleNodeId = buildCoupleNodeId(person, spouse, noChildren, orderKeysByPersonId);
         return new String[] {
                 person.getId().toString(),
                 coupleNodeId,
@@ -164,12 +166,16 @@ public class PyvisNetworkMapper {
         };
     }
 
-    public String buildCoupleNodeId(EnrichedPerson person, EnrichedPerson spouse, boolean noChildren) {
+    public String buildCoupleNodeId(
+            EnrichedPerson person,
+            EnrichedPerson spouse,
+            boolean noChildren,
+            Map<Integer, Integer> orderKeysByPersonId) {
         if (noChildren) {
             return spouse.getId().toString();
         }
 
-        return (person.getOrderKey().compareTo(spouse.getOrderKey()) < 0)
+        return (orderKeysByPersonId.get(person.getId()) < orderKeysByPersonId.get(spouse.getId()))
                 ? person.getId() + "-" + spouse.getId()
                 : spouse.getId() + "-" + person.getId();
     }
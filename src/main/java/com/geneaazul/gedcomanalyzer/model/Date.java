@@ -1,148 +1,159 @@
 package com.geneaazul.gedcomanalyzer.model;
 
-import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.StringUtils;
-
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.Period;
 import java.time.Year;
 import java.time.YearMonth;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
-import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import jakarta.annotation.Nullable;
 
-import lombok.AccessLevel;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-@Getter
 @Slf4j
 public class Date implements Comparable<Date> {
 
-    private static final String LOCAL_DATE_REGEX = " ?(ABT|EST|BEF|AFT)?(?:(?: ?(\\d{1,2}))? ?([A-Za-z]{3}))? ?(\\d{4})";
-    private static final Pattern DATE_REGEX = Pattern.compile("(BET|FROM)?" + LOCAL_DATE_REGEX + "(?: ?(AND|TO)" + LOCAL_DATE_REGEX + ")?");
-
-    private static final Map<String, String> MONTHS_MAPPING = Map.ofEntries(
-            Map.entry("JAN", Month.JANUARY.name()),
-            Map.entry("FEB", Month.FEBRUARY.name()),
-            Map.entry("MAR", Month.MARCH.name()),
-            Map.entry("APR", Month.APRIL.name()),
-            Map.entry("MAY", Month.MAY.name()),
-            Map.entry("JUN", Month.JUNE.name()),
-            Map.entry("JUL", Month.JULY.name()),
-            Map.entry("AUG", Month.AUGUST.name()),
-            Map.entry("SEP", Month.SEPTEMBER.name()),
-            Map.entry("OCT", Month.OCTOBER.name()),
-            Map.entry("NOV", Month.NOVEMBER.name()),
-            Map.entry("DEC", Month.DECEMBER.name())
-    );
-
     public enum Operator {
         ABT, EST, BEF, AFT
     }
 
-    private final Year year;
-    private final Month month;
-    private final Integer day;
-    private final Operator operator;
-    private final Date secondary;
-
-    @Getter(AccessLevel.NONE)
-    // Only set when day is not null
-    private final LocalDate localDate;
-
-    @Getter(AccessLevel.NONE)
-    // Only set when month is not null
-    private final YearMonth yearMonth;
+    /*
+     * Dates are packed in a long, so comparing them allocates nothing:
+     * bits 32-63 year, bits 16-23 month (1-12, or 13 when missing), bits 8-15 day (1-31, any parsed 0-99 day when
+     * the month is missing as it is not checked, or 255 when missing), bits 0-7 operator (ordinal + 1, or 0 when missing).
+     * Missing months and days are greater than any month or day, so the packed values without the operator sort as
+     * compareTo() does.
+     */
+    private static final int MISSING_MONTH = 13;
+    private static final int MISSING_DAY = 0xFF;
+    private static final long NO_SECONDARY = 0L;
+    private static final long INVALID = -1L;
+    private static final Operator[] OPERATORS = Operator.values();
+    private static final Month[] MONTHS = Month.values();
+
+    private static final int DAYS_PER_CYCLE = 146097;
+    private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+
+    private final long packed;
+    // The range end of BET/AND and FROM/TO dates, a packed date without secondary
+    private final long secondaryPacked;
 
     private Date(Year year, @Nullable Month month, @Nullable Integer day, @Nullable Operator operator, @Nullable Date secondary) {
-        this.year = year;
-        this.month = month;
-        this.day = day;
-        this.operator = operator;
-        this.secondary = secondary;
-        this.localDate = day != null && month != null ? LocalDate.of(year.getValue(), month, day) : null;
-        this.yearMonth = month != null ? YearMonth.of(year.getValue(), month) : null;
+        // The day is only checked against a known month, as LocalDate.of() did
+        if (day != null && month != null) {
+            checkDay(year.getValue(), month, day);
+        }
+        this.packed = pack(year.getValue(), month, day, operator);
+        this.secondaryPacked = secondary == null ? NO_SECONDARY : secondary.packed;
+    }
+
+    private Date(long packed, long secondaryPacked) {
+        this.packed = packed;
+        this.secondaryPacked = secondaryPacked;
     }
 
-    private Date(LocalDate localDate) {
-        this.year = Year.of(localDate.getYear());
-        this.month = localDate.getMonth();
-        this.day = localDate.getDayOfMonth();
-        this.operator = null;
-        this.secondary = null;
-        this.localDate = localDate;
-        this.yearMonth = YearMonth.of(year.getValue(), month);
+    public static Date of(Year year, @Nullable Month month, @Nullable Integer day, @Nullable Operator operator, @Nullable Date secondary) {
+        return new Date(year, month, day, operator, secondary);
     }
 
     public static Date from(LocalDate localDate) {
-        return new Date(localDate);
+        return new Date(pack(localDate.getYear(), localDate.getMonth(), localDate.getDayOfMonth(), null), NO_SECONDARY);
     }
 
     public static Date now(ZoneId zoneId) {
-        return new Date(LocalDate.now(zoneId));
+        return from(LocalDate.now(zoneId));
+    }
+
+    public Year getYear() {
+        return Year.of(yearValue());
+    }
+
+    @Nullable
+    public Month getMonth() {
+        int month = monthValue();
+        return month == MISSING_MONTH ? null : MONTHS[month - 1];
+    }
+
+    @Nullable
+    public Integer getDay() {
+        int day = dayValue();
+        return day == MISSING_DAY ? null : day;
+    }
+
+    @Nullable
+    public Operator getOperator() {
+        int operator = (int) (packed & 0xFF);
+        return operator == 0 ? null : OPERATORS[operator - 1];
+    }
+
+    @Nullable
+    public Date getSecondary() {
+        return secondaryPacked == NO_SECONDARY ? null : new Date(secondaryPacked, NO_SECONDARY);
+    }
+
+    public boolean isYear(Year year) {
+        return yearValue() == year.getValue();
+    }
+
+    public boolean isMonthAndDay(Month month, int day) {
+        return monthValue() == month.getValue() && dayValue() == day;
     }
 
     public boolean isFullDate() {
-        return day != null;
+        return dayValue() != MISSING_DAY;
     }
 
     public boolean isPartialDate() {
-        return day == null && month != null;
+        return dayValue() == MISSING_DAY && monthValue() != MISSING_MONTH;
     }
 
     public boolean isOnlyYearDate() {
-        return day == null && month == null;
+        return dayValue() == MISSING_DAY && monthValue() == MISSING_MONTH;
     }
 
+    /**
+     * Only set when the day and the month are set.
+     */
+    @Nullable
     public LocalDate toLocalDate() {
-        return localDate;
+        return isFullDate() && monthValue() != MISSING_MONTH ? LocalDate.of(yearValue(), monthValue(), dayValue()) : null;
     }
 
+    /**
+     * Only set when the month is set.
+     */
+    @Nullable
     public YearMonth toYearMonth() {
-        return yearMonth;
+        return monthValue() != MISSING_MONTH ? YearMonth.of(yearValue(), monthValue()) : null;
     }
 
     public boolean isBefore(Date other) {
-        if (other.day != null) {
-            return isBefore(other.localDate);
-        }
-        if (other.month != null) {
-            return isBefore(LocalDate.of(other.year.getValue(), other.month, 1));
-        }
-        return isBefore(LocalDate.of(other.year.getValue(), 1, 1));
+        return isBefore(other.yearValue(), other.firstMonthValue(), other.firstDayValue());
     }
 
     public boolean isBefore(LocalDate date) {
-        if (day != null) {
-            return localDate.isBefore(date);
-        }
-        if (month != null) {
-            return !LocalDate.of(year.getValue(), month, 1).isAfter(date);
-        }
-        return !LocalDate.of(year.getValue(), 1, 1).isAfter(date);
+        return isBefore(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    private boolean isBefore(int year, int month, int day) {
+        // Partial dates are compared by their first day
+        int cmp = compareDays(yearValue(), firstMonthValue(), firstDayValue(), year, month, day);
+        return isFullDate() ? cmp < 0 : cmp <= 0;
     }
 
     public boolean isCloseToByDay(Date other, Period delta) {
         if (!this.isFullDate() || !other.isFullDate()) {
             return false;
         }
-        LocalDate ym1 = this.localDate;
-        LocalDate ym2 = other.localDate;
+        long days1 = toEpochDay(this.yearValue(), this.monthValue(), this.dayValue());
+        long days2 = toEpochDay(other.yearValue(), other.monthValue(), other.dayValue());
         if (delta.isZero()) {
-            return ym1.isEqual(ym2);
-        }
-        if (ym1.isAfter(ym2)) {
-            return ChronoUnit.DAYS.between(ym2, ym1) <= delta.getDays();
-        } else {
-            return ChronoUnit.DAYS.between(ym1, ym2) <= delta.getDays();
+            return days1 == days2;
         }
+        return Math.abs(days1 - days2) <= delta.getDays();
     }
 
     public boolean isCloseToByMonth(Date other, Period delta) {
@@ -153,16 +164,12 @@ public class Date implements Comparable<Date> {
         if (this.isOnlyYearDate() || other.isOnlyYearDate()) {
             return false;
         }
-        YearMonth ym1 = this.toYearMonth();
-        YearMonth ym2 = other.toYearMonth();
+        long months1 = this.yearValue() * 12L + this.monthValue() - 1;
+        long months2 = other.yearValue() * 12L + other.monthValue() - 1;
         if (delta.isZero()) {
-            return ym1.equals(ym2);
-        }
-        if (ym1.isAfter(ym2)) {
-            return ChronoUnit.MONTHS.between(ym2, ym1) <= delta.getMonths();
-        } else {
-            return ChronoUnit.MONTHS.between(ym1, ym2) <= delta.getMonths();
+            return months1 == months2;
         }
+        return Math.abs(months1 - months2) <= delta.getMonths();
     }
 
     public boolean isCloseToByYear(Date other, Period delta) {
@@ -171,21 +178,21 @@ public class Date implements Comparable<Date> {
             return false;
         }
         if (delta.isZero()) {
-            return this.year.equals(other.year);
-        }
-        if (this.year.isAfter(other.year)) {
-            return ChronoUnit.YEARS.between(other.year, this.year) <= delta.getYears();
-        } else {
-            return ChronoUnit.YEARS.between(this.year, other.year) <= delta.getYears();
+            return this.yearValue() == other.yearValue();
         }
+        return Math.abs((long) this.yearValue() - other.yearValue()) <= delta.getYears();
     }
 
     public String format() {
+        Operator operator = getOperator();
+        Integer day = getDay();
+        Month month = getMonth();
+        Date secondary = getSecondary();
         return (secondary == null ? "" : "BET ")
                 + (operator == null ? "" : operator + " ")
                 + (day == null ? "" : day + " ")
                 + (month == null ? "" : month.toString().substring(0, 3) + " ")
-                + year
+                + yearValue()
                 + (secondary == null ? "" : " AND " + secondary);
     }
 
@@ -194,77 +201,242 @@ public class Date implements Comparable<Date> {
         return format();
     }
 
+    /**
+     * Parses the date forms of the gedcom: ABT/EST/BEF/AFT dates, BET/AND and FROM/TO ranges, and partial dates.
+     * Spaces between the parts are optional, and a 3 letters month that is not known is ignored.
+     */
     public static Optional<Date> parse(String dateStr) {
-        Matcher matcher = DATE_REGEX.matcher(dateStr);
-
-        if (matcher.matches()) {
-            Optional<String> operator = trimToNull(matcher, 2);
-            Optional<String> day = trimToNull(matcher, 3);
-            Optional<String> month = trimToNull(matcher, 4);
-            Optional<String> year = trimToNull(matcher, 5);
-            Optional<String> secKey = trimToNull(matcher, 6);
-            Optional<String> secOperator = trimToNull(matcher, 7);
-            Optional<String> secDay = trimToNull(matcher, 8);
-            Optional<String> secMonth = trimToNull(matcher, 9);
-            Optional<String> secYear = trimToNull(matcher, 10);
-
-            Optional<Date> secondary = secKey
-                    .map(key -> new Date(
-                            secYear
-                                    .map(Year::parse)
-                                    .orElse(null),
-                            secMonth
-                                    .map(String::toUpperCase)
-                                    .map(MONTHS_MAPPING::get)
-                                    .map(Month::valueOf)
-                                    .orElse(null),
-                            secDay
-                                    .map(Integer::parseInt)
-                                    .orElse(null),
-                            secOperator
-                                    .map(Operator::valueOf)
-                                    .orElse(null),
-                            null));
-
-            return Optional.of(
-                    new Date(
-                            year
-                                    .map(Year::parse)
-                                    .orElse(null),
-                            month
-                                    .map(String::toUpperCase)
-                                    .map(MONTHS_MAPPING::get)
-                                    .map(Month::valueOf)
-                                    .orElse(null),
-                            day
-                                    .map(Integer::parseInt)
-                                    .orElse(null),
-                            operator
-                                    .map(Operator::valueOf)
-                                    .orElse(null),
-                            secondary
-                                    .orElse(null)));
+        DateTokenizer tokenizer = new DateTokenizer(dateStr);
+
+        // BET and FROM only open the range, it is the AND or TO keyword which sets the secondary date
+        if (!tokenizer.nextKeyword("BET")) {
+            tokenizer.nextKeyword("FROM");
+        }
+        long packed = tokenizer.nextLocalDate();
+        long secondaryPacked = NO_SECONDARY;
+        if (packed != INVALID && !tokenizer.isAtEnd()) {
+            tokenizer.nextSpace();
+            secondaryPacked = tokenizer.nextKeyword("AND") || tokenizer.nextKeyword("TO")
+                    ? tokenizer.nextLocalDate()
+                    : INVALID;
+        }
+
+        if (packed == INVALID || secondaryPacked == INVALID || !tokenizer.isAtEnd()) {
+            log.warn("Date not parsed: {}", dateStr);
+            return Optional.empty();
         }
 
-        log.warn("Date not parsed: {}", dateStr);
-        return Optional.empty();
+        // Days of a known month are checked once the whole date is parsed, invalid dates fail as LocalDate.of() does
+        if (secondaryPacked != NO_SECONDARY) {
+            checkDay(secondaryPacked);
+        }
+        checkDay(packed);
+        return Optional.of(new Date(packed, secondaryPacked));
     }
 
     @Override
     public int compareTo(Date other) {
-        int cmp = ObjectUtils.compare(this.year, other.year, true);
+        // Year, month and day, the operator and the secondary date are not compared
+        return Long.compare(this.packed >> 8, other.packed >> 8);
+    }
+
+    private int yearValue() {
+        return (int) (packed >> 32);
+    }
+
+    private int monthValue() {
+        return (int) ((packed >> 16) & 0xFF);
+    }
+
+    private int dayValue() {
+        return (int) ((packed >> 8) & 0xFF);
+    }
+
+    private int firstMonthValue() {
+        int month = monthValue();
+        return month == MISSING_MONTH ? 1 : month;
+    }
+
+    private int firstDayValue() {
+        int day = dayValue();
+        return day == MISSING_DAY ? 1 : day;
+    }
+
+    private static long pack(int year, @Nullable Month month, @Nullable Integer day, @Nullable Operator operator) {
+        return ((long) year << 32)
+                | ((long) (month == null ? MISSING_MONTH : month.getValue()) << 16)
+                | ((long) (day == null ? MISSING_DAY : day) << 8)
+                | (operator == null ? 0 : operator.ordinal() + 1);
+    }
+
+    private static int compareDays(int year1, int month1, int day1, int year2, int month2, int day2) {
+        int cmp = Integer.compare(year1, year2);
         if (cmp != 0) {
             return cmp;
         }
-        cmp = ObjectUtils.compare(this.month, other.month, true);
+        cmp = Integer.compare(month1, month2);
         if (cmp != 0) {
             return cmp;
         }
-        return ObjectUtils.compare(this.day, other.day, true);
+        return Integer.compare(day1, day2);
+    }
+
+    /**
+     * Same as {@link LocalDate#toEpochDay()}, without creating the local date.
+     */
+    private static long toEpochDay(long year, long month, long day) {
+        long total = 365 * year;
+        if (year >= 0) {
+            total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        } else {
+            total -= year / -4 - year / -100 + year / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!Year.isLeap(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static void checkDay(long packed) {
+        int month = (int) ((packed >> 16) & 0xFF);
+        int day = (int) ((packed >> 8) & 0xFF);
+        if (day != MISSING_DAY && month != MISSING_MONTH) {
+            checkDay((int) (packed >> 32), MONTHS[month - 1], day);
+        }
     }
 
-    private static Optional<String> trimToNull(Matcher matcher, int group) {
-        return Optional.ofNullable(StringUtils.trimToNull(matcher.group(group)));
+    private static void checkDay(int year, Month month, int day) {
+        if (day < 1 || day > month.length(Year.isLeap(year))) {
+            // Same validation as LocalDate.of()
+            throw new DateTimeException("Invalid date '" + month + " " + day + "' for year " + year);
+        }
+    }
+
+    /**
+     * A single pass over the date string, without backtracking nor substrings. It accepts the same strings as the
+     * former regex: {@code (BET|FROM)?L( ?(AND|TO)L)?} with
+     * {@code L = ?(ABT|EST|BEF|AFT)?(( ?\d{1,2})? ?[A-Za-z]{3})? ?\d{4}}.
+     */
+    private static class DateTokenizer {
+
+        private static final String[] MONTH_ABBREVIATIONS = {
+                "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"
+        };
+
+        private final String value;
+        private int position;
+
+        DateTokenizer(String value) {
+            this.value = value;
+        }
+
+        boolean isAtEnd() {
+            return position == value.length();
+        }
+
+        void nextSpace() {
+            if (position < value.length() && value.charAt(position) == ' ') {
+                position++;
+            }
+        }
+
+        boolean nextKeyword(String keyword) {
+            if (value.startsWith(keyword, position)) {
+                position += keyword.length();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * The packed date, or {@link #INVALID} when the next characters are not a date.
+         */
+        long nextLocalDate() {
+            nextSpace();
+            Operator operator = nextOperator();
+            // A space may follow the operator, or a second one may precede the date when there is no operator
+            nextSpace();
+
+            Integer day = null;
+            Month month = null;
+            int digits = countDigits();
+            if (digits == 1 || digits == 2) {
+                day = parseDigits(digits);
+                nextSpace();
+            }
+            if (day != null || digits == 0) {
+                if (countLetters() != 3) {
+                    return INVALID;
+                }
+                month = parseMonth();
+                nextSpace();
+                digits = countDigits();
+            }
+            if (digits != 4) {
+                return INVALID;
+            }
+            return pack(parseDigits(digits), month, day, operator);
+        }
+
+        @Nullable
+        private Operator nextOperator() {
+            // An operator may be followed by the month, as spaces are optional
+            for (Operator operator : OPERATORS) {
+                if (nextKeyword(operator.name())) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+
+        private int countDigits() {
+            int end = position;
+            while (end < value.length() && value.charAt(end) >= '0' && value.charAt(end) <= '9') {
+                end++;
+            }
+            return end - position;
+        }
+
+        private int countLetters() {
+            int end = position;
+            while (end < value.length() && isLetter(value.charAt(end))) {
+                end++;
+            }
+            return end - position;
+        }
+
+        private int parseDigits(int digits) {
+            int number = 0;
+            for (int i = 0; i < digits; i++) {
+                number = number * 10 + (value.charAt(position++) - '0');
+            }
+            return number;
+        }
+
+        /**
+         * The month of the next 3 letters in any case, null when it is not known.
+         */
+        @Nullable
+        private Month parseMonth() {
+            int monthPosition = position;
+            position += 3;
+            for (int i = 0; i < MONTH_ABBREVIATIONS.length; i++) {
+                if (value.regionMatches(true, monthPosition, MONTH_ABBREVIATIONS[i], 0, 3)) {
+                    return MONTHS[i];
+                }
+            }
+            return null;
+        }
+
+        private static boolean isLetter(char c) {
+            return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+        }
+
     }
 
 }
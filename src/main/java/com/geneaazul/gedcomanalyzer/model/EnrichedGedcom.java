@@ -2,23 +2,31 @@ package com.geneaazul.gedcomanalyzer.model;
 
 import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
 import com.geneaazul.gedcomanalyzer.model.dto.SexType;
+import com.geneaazul.gedcomanalyzer.utils.PersonUtils;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.folg.gedcom.model.Gedcom;
 
+import java.time.Instant;
 import java.time.Year;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import javax.crypto.Mac;
+
 import jakarta.annotation.Nullable;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 @Getter
@@ -38,49 +46,108 @@ public class EnrichedGedcom {
     private final Map<NameAndSex, List<EnrichedPerson>> peopleByNormalizedSurnameMainWordAndSexIndex;
     private final Map<NameSexYear, List<EnrichedPerson>> peopleByNormalizedSurnameMainWordAndSexAndYearOfBirthIndex;
     private final Map<NameSexYear, List<EnrichedPerson>> peopleByNormalizedSurnameMainWordAndSexAndYearOfDeathIndex;
+    private final GivenNameIndex givenNameIndex;
+
+    // Primitive adjacency graph for graph walks
+    private final PersonGraph personGraph;
+    // Shortest paths to the configured landmark persons
+    private final LandmarkPathIndex landmarkPathIndex;
+
+    // Interned places, shared by the people enriched in parallel
+    private final Map<String, Place> places = new ConcurrentHashMap<>(256);
+    // Interned names, dates and strings, shared by the people enriched in parallel. Only kept while the people are loaded
+    @Getter(AccessLevel.NONE)
+    @Nullable
+    private GedcomInterner interner = new GedcomInterner();
+
+    // Only set when the gedcom is streamed and the incremental reload is enabled
+    @Nullable
+    private GedcomRecords records;
+
+    // Legacy person uuids of the configured modified time, resolved until the configured expiry
+    private final PersonUuidAliases personUuidAliases;
+    // Keyed hash of the person uuids, initialized once per enrichment thread
+    private final ThreadLocal<Mac> personUuidMac;
 
-    private final Map<String, Place> places = new HashMap<>(256);
+    // Calculated on demand, it is discarded together with this gedcom instance
+    private final TreeSummaryCache treeSummaryCache = new TreeSummaryCache();
 
     private EnrichedGedcom(
             Gedcom legacyGedcom,
             String gedcomName,
             @Nullable ZonedDateTime modifiedDateTime,
             GedcomAnalyzerProperties properties) {
+        this(
+                properties.isKeepReferenceToLegacyGedcom() ? legacyGedcom : null,
+                gedcomName,
+                modifiedDateTime,
+                properties,
+                gedcom -> gedcom.getEnrichedPeople(legacyGedcom));
+    }
 
-        this.legacyGedcom = properties.isKeepReferenceToLegacyGedcom() ? legacyGedcom : null;
+    private EnrichedGedcom(
+            @Nullable Gedcom legacyGedcom,
+            String gedcomName,
+            @Nullable ZonedDateTime modifiedDateTime,
+            GedcomAnalyzerProperties properties,
+            Function<EnrichedGedcom, List<EnrichedPerson>> peopleLoader) {
+
+        this.legacyGedcom = legacyGedcom;
         this.gedcomName = gedcomName;
         this.modifiedDateTime = modifiedDateTime;
         this.properties = properties;
-
-        this.people = getEnrichedPeople(legacyGedcom);
-
-        this.peopleByIdIndex = this.people
-                .stream()
-                .collect(Collectors.toMap(EnrichedPerson::getId, Function.identity()));
-
-        this.peopleByUuidIndex = this.people
-                .stream()
-                .collect(Collectors.toMap(EnrichedPerson::getUuid, Function.identity()));
-
-        this.peopleByNormalizedSurnameMainWordAndSexIndex = this.people
-                .stream()
-                .filter(person -> person.getSurname().isPresent())
-                .filter(person -> person.getSex() != SexType.U)
-                .collect(Collectors.groupingBy(person -> new NameAndSex(person.getSurname().get().shortenedMainWord(), person.getSex())));
-
-        this.peopleByNormalizedSurnameMainWordAndSexAndYearOfBirthIndex = buildNameSexYearIndex(
-                person -> person.getSurname()
-                        .map(Surname::shortenedMainWord)
-                        .orElse(null),
-                EnrichedPerson::getSex,
-                person -> person.getDateOfBirth().orElse(null));
-
-        this.peopleByNormalizedSurnameMainWordAndSexAndYearOfDeathIndex = buildNameSexYearIndex(
-                person -> person.getSurname()
-                        .map(Surname::shortenedMainWord)
-                        .orElse(null),
-                EnrichedPerson::getSex,
-                person -> person.getDateOfDeath().orElse(null));
+        this.personUuidAliases = PersonUuidAliases.of(properties);
+        this.personUuidMac = PersonUtils.getPersonUuidMac(properties.getPersonUuidSecret());
+
+        // People are enriched in parallel by the loader, and the indexes are built concurrently once they are loaded
+        try (ForkJoinPool enrichmentPool = new ForkJoinPool(properties.getEnrichmentParallelism())) {
+
+            this.people = enrichmentPool.submit(() -> peopleLoader.apply(this)).join();
+            // Mostly unique values (display names, emails) would keep their map entries for the lifetime of the gedcom
+            this.interner = null;
+
+            ForkJoinTask<Map<Integer, EnrichedPerson>> peopleByIdIndexTask = enrichmentPool.submit(() -> this.people
+                    .stream()
+                    .collect(Collectors.toMap(EnrichedPerson::getId, Function.identity())));
+
+            ForkJoinTask<Map<UUID, EnrichedPerson>> peopleByUuidIndexTask = enrichmentPool.submit(() -> this.people
+                    .stream()
+                    .collect(Collectors.toMap(EnrichedPerson::getUuid, Function.identity())));
+
+            ForkJoinTask<Map<NameAndSex, List<EnrichedPerson>>> peopleByNormalizedSurnameMainWordAndSexIndexTask = enrichmentPool.submit(() -> this.people
+                    .stream()
+                    .filter(person -> person.getSurname().isPresent())
+                    .filter(person -> person.getSex() != SexType.U)
+                    .collect(Collectors.groupingBy(person -> new NameAndSex(person.getSurname().get().shortenedMainWord(), person.getSex()))));
+
+            ForkJoinTask<Map<NameSexYear, List<EnrichedPerson>>> peopleByNormalizedSurnameMainWordAndSexAndYearOfBirthIndexTask = enrichmentPool.submit(() -> buildNameSexYearIndex(
+                    person -> person.getSurname()
+                            .map(Surname::shortenedMainWord)
+                            .orElse(null),
+                    EnrichedPerson::getSex,
+                    person -> person.getDateOfBirth().orElse(null)));
+
+            ForkJoinTask<Map<NameSexYear, List<EnrichedPerson>>> peopleByNormalizedSurnameMainWordAndSexAndYearOfDeathIndexTask = enrichmentPool.submit(() -> buildNameSexYearIndex(
+                    person -> person.getSurname()
+                            .map(Surname::shortenedMainWord)
+                            .orElse(null),
+                    EnrichedPerson::getSex,
+                    person -> person.getDateOfDeath().orElse(null)));
+
+            ForkJoinTask<GivenNameIndex> givenNameIndexTask = enrichmentPool.submit(() -> GivenNameIndex.of(this.people));
+
+            ForkJoinTask<PersonGraph> personGraphTask = enrichmentPool.submit(() -> PersonGraph.of(this.people));
+
+            this.peopleByIdIndex = peopleByIdIndexTask.join();
+            this.peopleByUuidIndex = peopleByUuidIndexTask.join();
+            this.peopleByNormalizedSurnameMainWordAndSexIndex = peopleByNormalizedSurnameMainWordAndSexIndexTask.join();
+            this.peopleByNormalizedSurnameMainWordAndSexAndYearOfBirthIndex = peopleByNormalizedSurnameMainWordAndSexAndYearOfBirthIndexTask.join();
+            this.peopleByNormalizedSurnameMainWordAndSexAndYearOfDeathIndex = peopleByNormalizedSurnameMainWordAndSexAndYearOfDeathIndexTask.join();
+            this.givenNameIndex = givenNameIndexTask.join();
+            this.personGraph = personGraphTask.join();
+        }
+
+        this.landmarkPathIndex = LandmarkPathIndex.of(this, properties.getShortestPathLandmarkPersonIds());
     }
 
     public static EnrichedGedcom of(
@@ -98,21 +165,54 @@ public class EnrichedGedcom {
         return new EnrichedGedcom(legacyGedcom, gedcomName, null, properties);
     }
 
+    /**
+     * Builds a gedcom whose people are loaded without a legacy gedcom, for example restored from a binary snapshot
+     * or streamed record by record. The loader receives the new gedcom instance and must register the places of the
+     * people in it. Indexes are built from the returned people, and there is no reference to a legacy gedcom.
+     */
+    public static EnrichedGedcom load(
+            String gedcomName,
+            @Nullable ZonedDateTime modifiedDateTime,
+            GedcomAnalyzerProperties properties,
+            Function<EnrichedGedcom, List<EnrichedPerson>> peopleLoader) {
+        return new EnrichedGedcom(null, gedcomName, modifiedDateTime, properties, peopleLoader);
+    }
+
     public Optional<Gedcom> getLegacyGedcom() {
         return Optional.ofNullable(legacyGedcom);
     }
 
+    /**
+     * Only available to the people loader, the interned values are kept by the people.
+     */
+    public GedcomInterner getInterner() {
+        if (interner == null) {
+            throw new IllegalStateException("Interner is only available while the people of the gedcom are loaded");
+        }
+        return interner;
+    }
+
+    public Optional<GedcomRecords> getRecords() {
+        return Optional.ofNullable(records);
+    }
+
+    public void setRecords(GedcomRecords records) {
+        this.records = records;
+    }
+
     private List<EnrichedPerson> getEnrichedPeople(Gedcom legacyGedcom) {
+        // Runs in the enrichment pool, the order of the people is kept
         List<EnrichedPerson> enrichedPeople = legacyGedcom.getPeople()
-                .stream()
+                .parallelStream()
                 .map(p -> EnrichedPerson.of(p, this))
                 .toList();
 
         Map<Integer, EnrichedPerson> enrichedPeopleIndex = enrichedPeople
-                .stream()
+                .parallelStream()
                 .collect(Collectors.toUnmodifiableMap(EnrichedPerson::getId, Function.identity()));
 
         enrichedPeople
+                .parallelStream()
                 .forEach(person -> person.enrichFamily(legacyGedcom, enrichedPeopleIndex));
 
         return enrichedPeople;
@@ -125,7 +225,15 @@ public class EnrichedGedcom {
 
     @Nullable
     public EnrichedPerson getPersonByUuid(UUID uuid) {
-        return peopleByUuidIndex.get(uuid);
+        EnrichedPerson person = peopleByUuidIndex.get(uuid);
+        if (person != null) {
+            return person;
+        }
+        // Legacy uuids are only resolved while they are aliases, the person is returned with its stable uuid
+        return personUuidAliases
+                .getPersonId(uuid, Instant.now())
+                .map(peopleByIdIndex::get)
+                .orElse(null);
     }
 
     public List<EnrichedPerson> getPersonsBySurnameMainWordAndSex(Surname surname, SexType sex) {
@@ -134,6 +242,40 @@ public class EnrichedGedcom {
         return getPersonsMatchingSurname(surname, persons);
     }
 
+    /**
+     * Candidates of a name search, the people of the surname and sex that share a given name word with it. It is the
+     * whole surname and sex bucket when the search has an a.k.a. name, as it may match by containing other names.
+     */
+    public List<EnrichedPerson> getPersonsBySurnameMainWordAndSexAndGivenName(GivenNameAndSurname givenNameAndSurname, SexType sex) {
+        if (givenNameAndSurname.aka() != null) {
+            return getPersonsBySurnameMainWordAndSex(givenNameAndSurname.surname(), sex);
+        }
+        List<EnrichedPerson> persons = givenNameIndex.getCandidates(givenNameAndSurname.surname(), sex, givenNameAndSurname.givenName());
+        return getPersonsMatchingSurname(givenNameAndSurname.surname(), persons);
+    }
+
+    /**
+     * Sorted positions of the people after the given position in the people list which could be a duplicate of its
+     * person: they match its surname and sex, and share a given name word with it unless any of them has an a.k.a.
+     * name. People without surname, given name or sex are not a duplicate of anyone.
+     */
+    public int[] getDuplicateCandidatePositions(int position) {
+        EnrichedPerson person = people.get(position);
+        if (person.getSurname().isEmpty() || person.getGivenName().isEmpty() || person.getSex() == SexType.U) {
+            return new int[0];
+        }
+
+        Surname surname = person.getSurname().get();
+        int[] positions = person.getAka().isPresent()
+                ? givenNameIndex.getPositions(surname, person.getSex())
+                : givenNameIndex.getCandidatePositions(surname, person.getSex(), person.getGivenName().get());
+
+        int fromIndex = Arrays.binarySearch(positions, position + 1);
+        return Arrays.stream(positions, fromIndex >= 0 ? fromIndex : -fromIndex - 1, positions.length)
+                .filter(candidatePosition -> surname.matches(people.get(candidatePosition).getSurname().orElse(null)))
+                .toArray();
+    }
+
     public List<EnrichedPerson> getPersonsBySurnameMainWordAndSexAndYearOfBirthIndex(Surname surname, SexType sex, Year yearOfBirth) {
         NameSexYear nameSexYear = new NameSexYear(surname.shortenedMainWord(), sex, yearOfBirth);
         List<EnrichedPerson> persons = peopleByNormalizedSurnameMainWordAndSexAndYearOfBirthIndex.getOrDefault(nameSexYear, List.of());
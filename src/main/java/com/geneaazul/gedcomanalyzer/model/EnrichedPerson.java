@@ -28,8 +28,8 @@ import java.util.stream.Stream;
 
 import jakarta.annotation.Nullable;
 
+import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 
 @Getter
 @SuppressWarnings({"OptionalUsedAsFieldOrParameterType"})
@@ -75,40 +75,29 @@ public class EnrichedPerson {
     private List<EnrichedPerson> spouses;
     private List<EnrichedPerson> children;
 
-    // Transient properties
-    @Setter
-    private Integer personsCountInTree;
-    @Setter
-    private Integer surnamesCountInTree;
-    @Setter
-    private List<String> ancestryCountries;
-    @Setter
-    private AncestryGenerations ancestryGenerations;
-    @Setter
-    private Optional<Relationship> maxDistantRelationship;
-    @Setter
-    private List<EnrichedPerson> distinguishedPersonsInTree;
-    @Setter
-    private Integer orderKey;
-
     private EnrichedPerson(Person person, EnrichedGedcom gedcom) {
         this.properties = gedcom.getProperties();
         this.legacyPerson = properties.isKeepReferenceToLegacyGedcom() ? person : null;
         this.gedcom = gedcom;
 
         id = PersonUtils.getId(person);
-        uuid = PersonUtils.getUuid(id, gedcom.getModifiedDateTime());
+        uuid = PersonUtils.getUuid(id, gedcom.getPersonUuidMac().get());
         sex = PersonUtils.getSex(person);
-        givenName = PersonUtils.getNormalizedGivenName(person, properties.getNormalizedGivenNamesMap());
-        surname = PersonUtils.getShortenedSurnameMainWord(person, properties.getNormalizedSurnamesMap());
-        displayName = PersonUtils.getDisplayName(person);
+        // Names and dates repeated across people share the same instances
+        GedcomInterner interner = gedcom.getInterner();
+        givenName = PersonUtils.getNormalizedGivenName(person, properties.getNormalizedGivenNamesMap())
+                .map(interner::intern);
+        surname = PersonUtils.getShortenedSurnameMainWord(person, properties.getNormalizedSurnamesMap())
+                .map(interner::intern);
+        displayName = interner.intern(PersonUtils.getDisplayName(person));
         aka = PersonUtils.getSimplifiedAka(person, properties.getNormalizedGivenNamesMap())
-                .filter(a -> !a.simplified().equalsIgnoreCase(displayName));
+                .filter(a -> !a.simplified().equalsIgnoreCase(displayName))
+                .map(interner::intern);
         profilePicture = PersonUtils.getProfilePicture(person);
         dateOfBirth = PersonUtils.getDateOfBirth(person)
-                .flatMap(Date::parse);
+                .flatMap(interner::parseDate);
         dateOfDeath = PersonUtils.getDateOfDeath(person)
-                .flatMap(Date::parse);
+                .flatMap(interner::parseDate);
         placeOfBirth = PersonUtils.getPlaceOfBirth(person)
                 .map(place -> Place.of(place, gedcom.getPlaces()));
         placeOfDeath = PersonUtils.getPlaceOfDeath(person)
@@ -124,7 +113,7 @@ public class EnrichedPerson {
                         pair.getLeft()
                                 .map(place -> Place.of(place, gedcom.getPlaces())),
                         pair.getRight()
-                                .flatMap(Date::parse)))
+                                .flatMap(interner::parseDate)))
                 .flatMap(Optional::stream)
                 .toList();
 
@@ -135,21 +124,123 @@ public class EnrichedPerson {
                         pair.getLeft()
                                 .map(place -> Place.of(place, gedcom.getPlaces())),
                         pair.getMiddle()
-                                .flatMap(Date::parse)))
+                                .flatMap(interner::parseDate)))
                 .flatMap(Optional::stream)
                 .toList();
 
         isDistinguishedPerson = PersonUtils.isDistinguishedPerson(person);
         isNativePerson = PersonUtils.isNativePerson(person);
         isDisappearedPerson = PersonUtils.isDisappearedPerson(person);
-        emails = PersonUtils.getEmails(person);
+        emails = interner.intern(PersonUtils.getEmails(person));
         updateDate = PersonUtils.getUpdateDate(person, properties.getZoneId());
     }
 
+    /**
+     * Restores an already enriched person, for example from a binary snapshot. The age is calculated again,
+     * as the age of alive persons depends on the current date.
+     */
+    @Builder(builderMethodName = "restoreBuilder")
+    private EnrichedPerson(
+            EnrichedGedcom gedcom,
+            Integer id,
+            UUID uuid,
+            SexType sex,
+            Optional<GivenName> givenName,
+            Optional<Surname> surname,
+            String displayName,
+            Optional<Aka> aka,
+            Optional<ProfilePicture> profilePicture,
+            Optional<Date> dateOfBirth,
+            Optional<Date> dateOfDeath,
+            Optional<Place> placeOfBirth,
+            Optional<Place> placeOfDeath,
+            boolean isAlive,
+            List<PlaceAndDate> residences,
+            List<PlaceAndDate> immigrations,
+            boolean isDistinguishedPerson,
+            boolean isNativePerson,
+            boolean isDisappearedPerson,
+            List<String> emails,
+            Optional<ZonedDateTime> updateDate) {
+        this.properties = gedcom.getProperties();
+        this.legacyPerson = null;
+        this.gedcom = gedcom;
+
+        this.id = id;
+        this.uuid = uuid;
+        this.sex = sex;
+        this.givenName = givenName;
+        this.surname = surname;
+        this.displayName = displayName;
+        this.aka = aka;
+        this.profilePicture = profilePicture;
+        this.dateOfBirth = dateOfBirth;
+        this.dateOfDeath = dateOfDeath;
+        this.placeOfBirth = placeOfBirth;
+        this.placeOfDeath = placeOfDeath;
+        this.isAlive = isAlive;
+        this.age = Age.of(dateOfBirth, dateOfDeath
+                .or(() -> isAlive ? Optional.of(Date.now(properties.getZoneId())) : Optional.empty()));
+        this.residences = residences;
+        this.immigrations = immigrations;
+        this.isDistinguishedPerson = isDistinguishedPerson;
+        this.isNativePerson = isNativePerson;
+        this.isDisappearedPerson = isDisappearedPerson;
+        this.emails = emails;
+        this.updateDate = updateDate;
+    }
+
     public static EnrichedPerson of(Person legacyPerson, EnrichedGedcom gedcom) {
         return new EnrichedPerson(legacyPerson, gedcom);
     }
 
+    /**
+     * Copies the enriched values of a person of a previous gedcom whose record did not change. The family must be
+     * enriched again. Values are interned in the new gedcom, so they are shared with the people enriched again.
+     */
+    public static EnrichedPerson copyOf(EnrichedPerson person, EnrichedGedcom gedcom) {
+        GedcomInterner interner = gedcom.getInterner();
+        return EnrichedPerson.restoreBuilder()
+                .gedcom(gedcom)
+                .id(person.id)
+                .uuid(person.uuid)
+                .sex(person.sex)
+                .givenName(person.givenName
+                        .map(interner::intern))
+                .surname(person.surname
+                        .map(interner::intern))
+                .displayName(interner.intern(person.displayName))
+                .aka(person.aka
+                        .map(interner::intern))
+                .profilePicture(person.profilePicture)
+                .dateOfBirth(person.dateOfBirth
+                        .map(interner::intern))
+                .dateOfDeath(person.dateOfDeath
+                        .map(interner::intern))
+                .placeOfBirth(person.placeOfBirth
+                        .map(place -> Place.of(place, gedcom.getPlaces())))
+                .placeOfDeath(person.placeOfDeath
+                        .map(place -> Place.of(place, gedcom.getPlaces())))
+                .isAlive(person.isAlive)
+                .residences(copyPlacesAndDates(person.residences, gedcom))
+                .immigrations(copyPlacesAndDates(person.immigrations, gedcom))
+                .isDistinguishedPerson(person.isDistinguishedPerson)
+                .isNativePerson(person.isNativePerson)
+                .isDisappearedPerson(person.isDisappearedPerson)
+                .emails(interner.intern(person.emails))
+                .updateDate(person.updateDate)
+                .build();
+    }
+
+    private static List<PlaceAndDate> copyPlacesAndDates(List<PlaceAndDate> placesAndDates, EnrichedGedcom gedcom) {
+        return placesAndDates
+                .stream()
+                .map(placeAndDate -> new PlaceAndDate(
+                        Place.of(placeAndDate.place(), gedcom.getPlaces()),
+                        placeAndDate.date() == null ? null : gedcom.getInterner().intern(placeAndDate.date())))
+                .toList();
+    }
+
     public Optional<Person> getLegacyPerson() {
         return Optional.ofNullable(legacyPerson);
     }
@@ -157,9 +248,25 @@ public class EnrichedPerson {
     public void enrichFamily(Gedcom legacyGedcom, Map<Integer, EnrichedPerson> enrichedPeopleIndex) {
         Person legacyPerson = legacyGedcom.getPerson("I" + id);
         parentsWithReference = toEnrichedPeopleWithReference(PersonUtils.getParentsWithReference(legacyPerson, legacyGedcom), enrichedPeopleIndex, null);
-        spousesWithChildren = toEnrichedSpousesWithChildren(PersonUtils.getSpousesWithChildren(legacyPerson, legacyGedcom, gedcom.getPlaces()), enrichedPeopleIndex);
+        spousesWithChildren = toEnrichedSpousesWithChildren(PersonUtils.getSpousesWithChildren(legacyPerson, legacyGedcom, gedcom.getPlaces(), gedcom.getInterner()), enrichedPeopleIndex);
         allSiblings = toEnrichedPeople(PersonUtils.getAllSiblings(legacyPerson, legacyGedcom), enrichedPeopleIndex, PersonUtils.DATES_COMPARATOR);
+        deriveFamily();
+    }
+
+    /**
+     * Restores the family of an already enriched person, the lists must be already sorted as {@link #enrichFamily} does.
+     */
+    public void restoreFamily(
+            List<EnrichedPersonWithReference> parentsWithReference,
+            List<EnrichedSpouseWithChildren> spousesWithChildren,
+            List<EnrichedPerson> allSiblings) {
+        this.parentsWithReference = parentsWithReference;
+        this.spousesWithChildren = spousesWithChildren;
+        this.allSiblings = allSiblings;
+        deriveFamily();
+    }
 
+    private void deriveFamily() {
         parents = parentsWithReference
                 .stream()
                 .map(EnrichedPersonWithReference::person)
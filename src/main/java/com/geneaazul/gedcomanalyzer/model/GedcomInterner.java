@@ -0,0 +1,101 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Interned names, dates and strings of the people of a single loaded {@link EnrichedGedcom}, so the values repeated
+ * across people (common surnames and given names, dates, the strings derived from them) share one instance. It is
+ * dropped once the people are loaded, as its entries of mostly unique values would cost more than they save. Places
+ * are interned apart, see {@link EnrichedGedcom#getPlaces()}.
+ * <p>
+ * Safe to use by the people enriched in parallel.
+ */
+public class GedcomInterner {
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>(4096);
+    private final Map<GivenNameKey, GivenName> givenNames = new ConcurrentHashMap<>(1024);
+    private final Map<Surname, Surname> surnames = new ConcurrentHashMap<>(1024);
+    private final Map<Aka, Aka> akas = new ConcurrentHashMap<>(64);
+    // Dates have no value equality, so they are interned by the gedcom value they are parsed from
+    private final Map<String, Optional<Date>> dates = new ConcurrentHashMap<>(1024);
+
+    @Nullable
+    public String intern(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        String existingValue = strings.putIfAbsent(value, value);
+        return existingValue != null ? existingValue : value;
+    }
+
+    public List<String> intern(List<String> values) {
+        if (values.isEmpty()) {
+            return List.of();
+        }
+        return values
+                .stream()
+                .map(this::intern)
+                .toList();
+    }
+
+    /**
+     * The given name search pattern is only compiled the first time the given name is found.
+     */
+    public GivenName givenName(String value, String simplified, String normalized) {
+        GivenNameKey key = new GivenNameKey(value, simplified, normalized);
+        GivenName givenName = givenNames.get(key);
+        if (givenName != null) {
+            return givenName;
+        }
+        givenName = GivenName.of(intern(value), intern(simplified), intern(normalized));
+        GivenName existingGivenName = givenNames.putIfAbsent(key, givenName);
+        return existingGivenName != null ? existingGivenName : givenName;
+    }
+
+    public GivenName intern(GivenName givenName) {
+        // Given names can not be compared by value as the compiled search pattern has no value equality
+        GivenNameKey key = new GivenNameKey(givenName.value(), givenName.simplified(), givenName.normalized());
+        return givenNames.computeIfAbsent(key, k -> new GivenName(
+                intern(givenName.value()),
+                intern(givenName.simplified()),
+                intern(givenName.normalized()),
+                givenName.wordsCount(),
+                givenName.searchPattern()));
+    }
+
+    public Surname intern(Surname surname) {
+        return surnames.computeIfAbsent(surname, s -> Surname.of(
+                intern(s.value()),
+                intern(s.simplified()),
+                intern(s.normalizedMainWord()),
+                intern(s.shortenedMainWord())));
+    }
+
+    public Aka intern(Aka aka) {
+        return akas.computeIfAbsent(aka, a -> Aka.of(
+                intern(a.value()),
+                intern(a.simplified()),
+                a.tentativeGivenName().map(this::intern)));
+    }
+
+    public Optional<Date> parseDate(String date) {
+        return dates.computeIfAbsent(date, Date::parse);
+    }
+
+    /**
+     * Interns a date of another gedcom.
+     */
+    public Date intern(Date date) {
+        // The formatted date is parsed back to the same date
+        return dates.computeIfAbsent(date.format(), d -> Optional.of(date)).orElse(date);
+    }
+
+    private record GivenNameKey(String value, String simplified, String normalized) {
+    }
+
+}
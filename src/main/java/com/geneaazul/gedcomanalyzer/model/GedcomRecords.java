@@ -0,0 +1,31 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import org.folg.gedcom.model.Family;
+import org.folg.gedcom.model.Person;
+
+import java.util.Map;
+
+/**
+ * Digest and skeleton of the person and family records a gedcom was streamed from, by record id. The next reload
+ * of the gedcom file compares its records against them, so the people of unchanged records are copied instead of
+ * parsed and enriched again. Skeletons are never modified, families are always resolved on copies of them.
+ */
+public record GedcomRecords(
+        Map<String, PersonRecord> people,
+        Map<String, FamilyRecord> families,
+        Delta peopleDelta,
+        Delta familiesDelta) {
+
+    public record PersonRecord(long digest, Integer personId, Person skeletonPerson) {
+    }
+
+    public record FamilyRecord(long digest, Family skeletonFamily) {
+    }
+
+    /**
+     * Record counts compared to the previous gedcom, all the records are added when there is no previous gedcom.
+     */
+    public record Delta(int added, int changed, int removed, int unchanged) {
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import com.geneaazul.gedcomanalyzer.model.dto.SexType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index of the words of the normalized given names, by shortened surname main word and sex. The posting
+ * list of a word holds the positions of its people in the gedcom people list, sorted, so the candidates of a search
+ * keep the order of the people.
+ * <p>
+ * Given names only match when they share a word: one word names must be equal, and the words of the shorter name
+ * must be in the longer one. Words are split as the {@code \b} boundaries of {@link GivenName#searchPattern()} do.
+ * People with an a.k.a. name, which may match by containing the searched names, and people whose given name has no
+ * words are candidates of every search of their surname and sex.
+ * <p>
+ * The returned candidates must still be matched against the searched name.
+ */
+public class GivenNameIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("\\W+");
+    // Posting list of the people which are candidates of every search
+    private static final String ANY_WORD = "";
+    private static final int[] EMPTY_POSITIONS = new int[0];
+
+    private final List<EnrichedPerson> people;
+    private final Map<NameAndSex, Map<String, int[]>> postingListsBySurnameAndSex;
+
+    private GivenNameIndex(List<EnrichedPerson> people) {
+        this.people = people;
+
+        Map<NameAndSex, Map<String, PostingListBuilder>> builders = new HashMap<>();
+        for (int position = 0; position < people.size(); position++) {
+            EnrichedPerson person = people.get(position);
+            // People without given name never match a name search
+            if (person.getSurname().isEmpty() || person.getGivenName().isEmpty() || person.getSex() == SexType.U) {
+                continue;
+            }
+
+            Set<String> words = person.getAka().isPresent()
+                    ? Set.of(ANY_WORD)
+                    : getWords(person.getGivenName().get());
+            Map<String, PostingListBuilder> postingLists = builders.computeIfAbsent(
+                    new NameAndSex(person.getSurname().get().shortenedMainWord(), person.getSex()),
+                    _ -> new HashMap<>());
+            for (String word : words.isEmpty() ? Set.of(ANY_WORD) : words) {
+                postingLists
+                        .computeIfAbsent(word, _ -> new PostingListBuilder())
+                        .add(position);
+            }
+        }
+
+        this.postingListsBySurnameAndSex = builders
+                .entrySet()
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        Map.Entry::getKey,
+                        entry -> entry.getValue()
+                                .entrySet()
+                                .stream()
+                                .collect(Collectors.toUnmodifiableMap(
+                                        Map.Entry::getKey,
+                                        postingList -> postingList.getValue().build()))));
+    }
+
+    public static GivenNameIndex of(List<EnrichedPerson> people) {
+        return new GivenNameIndex(people);
+    }
+
+    /**
+     * People of the shortened surname main word and sex which share any word with the given name, in the order of
+     * the gedcom people.
+     */
+    public List<EnrichedPerson> getCandidates(Surname surname, SexType sex, GivenName givenName) {
+        return Arrays.stream(getCandidatePositions(surname, sex, givenName))
+                .mapToObj(people::get)
+                .toList();
+    }
+
+    /**
+     * Sorted positions in the gedcom people list of the people of the shortened surname main word and sex which share
+     * any word with the given name.
+     */
+    public int[] getCandidatePositions(Surname surname, SexType sex, GivenName givenName) {
+        Map<String, int[]> postingLists = postingListsBySurnameAndSex.get(new NameAndSex(surname.shortenedMainWord(), sex));
+        if (postingLists == null) {
+            return EMPTY_POSITIONS;
+        }
+
+        Set<String> words = getWords(givenName);
+        if (words.isEmpty()) {
+            // A given name without words could match any other
+            return union(List.copyOf(postingLists.values()));
+        }
+
+        return union(Stream.concat(words.stream(), Stream.of(ANY_WORD))
+                .map(postingLists::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Sorted positions in the gedcom people list of all the people with a given name of the shortened surname main
+     * word and sex.
+     */
+    public int[] getPositions(Surname surname, SexType sex) {
+        Map<String, int[]> postingLists = postingListsBySurnameAndSex.get(new NameAndSex(surname.shortenedMainWord(), sex));
+        if (postingLists == null) {
+            return EMPTY_POSITIONS;
+        }
+        return union(List.copyOf(postingLists.values()));
+    }
+
+    private static Set<String> getWords(GivenName givenName) {
+        return Arrays.stream(WORD_SEPARATOR.split(givenName.normalized()))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Merges sorted posting lists into a sorted one without repeated positions.
+     */
+    private static int[] union(List<int[]> postingLists) {
+        if (postingLists.isEmpty()) {
+            return EMPTY_POSITIONS;
+        }
+        if (postingLists.size() == 1) {
+            return postingLists.getFirst();
+        }
+
+        int[] merged = new int[postingLists.stream().mapToInt(postingList -> postingList.length).sum()];
+        int size = 0;
+        for (int[] postingList : postingLists) {
+            System.arraycopy(postingList, 0, merged, size, postingList.length);
+            size += postingList.length;
+        }
+        Arrays.sort(merged);
+
+        int distinctSize = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[i - 1]) {
+                merged[distinctSize++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, distinctSize);
+    }
+
+    private static class PostingListBuilder {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] build() {
+            return Arrays.copyOf(positions, size);
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import com.geneaazul.gedcomanalyzer.utils.PathUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Shortest paths from every person of a gedcom to a fixed list of landmark persons. One breadth-first search tree
+ * is rooted at each landmark, so the path from any person to a landmark is just a walk over its predecessors.
+ * An instance belongs to a single loaded {@link EnrichedGedcom}, so it is discarded together with it when the
+ * gedcom is reloaded.
+ */
+public class LandmarkPathIndex {
+
+    private final List<Integer> landmarkIds;
+    private final Map<Integer, ShortestPathTree> shortestPathTreesByLandmarkId;
+
+    private LandmarkPathIndex(List<Integer> landmarkIds, Map<Integer, ShortestPathTree> shortestPathTreesByLandmarkId) {
+        this.landmarkIds = landmarkIds;
+        this.shortestPathTreesByLandmarkId = shortestPathTreesByLandmarkId;
+    }
+
+    /**
+     * The person graph of the gedcom must be already built. Landmark ids not present in the gedcom are kept
+     * but they have no paths.
+     */
+    public static LandmarkPathIndex of(EnrichedGedcom gedcom, List<Integer> landmarkIds) {
+        Map<Integer, ShortestPathTree> shortestPathTreesByLandmarkId = new LinkedHashMap<>();
+        for (Integer landmarkId : landmarkIds) {
+            EnrichedPerson landmark = gedcom.getPersonById(landmarkId);
+            if (landmark != null) {
+                shortestPathTreesByLandmarkId.put(
+                        landmarkId,
+                        PathUtils.calculateShortestPathFromSource(gedcom, landmark, true));
+            }
+        }
+        return new LandmarkPathIndex(List.copyOf(landmarkIds), shortestPathTreesByLandmarkId);
+    }
+
+    public List<Integer> getLandmarkIds() {
+        return landmarkIds;
+    }
+
+    /**
+     * Returns the distance from the person to the landmark, or null when it is not reachable or not a landmark.
+     */
+    @Nullable
+    public Integer getDistance(int personId, int landmarkId) {
+        ShortestPathTree shortestPathTree = shortestPathTreesByLandmarkId.get(landmarkId);
+        return shortestPathTree != null ? shortestPathTree.getDistance(personId) : null;
+    }
+
+    /**
+     * Returns the person ids of the path, from the person to the landmark both inclusive, or an empty list when
+     * it is not reachable or not a landmark.
+     */
+    public List<Integer> pathToLandmark(int personId, int landmarkId) {
+        ShortestPathTree shortestPathTree = shortestPathTreesByLandmarkId.get(landmarkId);
+        return shortestPathTree != null ? shortestPathTree.pathFrom(personId) : List.of();
+    }
+
+}
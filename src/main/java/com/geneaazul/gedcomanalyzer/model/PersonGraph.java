@@ -0,0 +1,186 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compact adjacency graph of the people of a gedcom, in CSR (compressed sparse row) layout.
+ * <p>
+ * People are addressed by dense indexes 0..N-1, assigned in ascending person id order. For each edge type
+ * the relatives of the person with index {@code i} are {@code targets[offsets[i]]..targets[offsets[i + 1] - 1]},
+ * and {@code flags} holds the {@code FLAG_*} bits of each edge in the same position.
+ * <p>
+ * The returned arrays are shared, so they must not be modified.
+ */
+public class PersonGraph {
+
+    /**
+     * Parent and child edges: the child is adopted or fostered by the parent.
+     */
+    public static final byte FLAG_ADOPTED = 1;
+    /**
+     * Sibling edges: the siblings don't share the same parents.
+     */
+    public static final byte FLAG_HALF = 1 << 1;
+    /**
+     * Spouse edges: the couple is separated.
+     */
+    public static final byte FLAG_SEPARATED = 1 << 2;
+
+    public enum EdgeType {
+        PARENT,
+        CHILD,
+        SPOUSE,
+        SIBLING
+    }
+
+    private final int[] ids;
+    private final EnrichedPerson[] people;
+    private final Adjacency[] adjacencies;
+
+    private PersonGraph(List<EnrichedPerson> people) {
+        this.ids = people
+                .stream()
+                .mapToInt(EnrichedPerson::getId)
+                .sorted()
+                .toArray();
+
+        this.people = new EnrichedPerson[ids.length];
+        people.forEach(person -> this.people[indexOf(person.getId())] = person);
+
+        this.adjacencies = new Adjacency[EdgeType.values().length];
+        this.adjacencies[EdgeType.PARENT.ordinal()] = buildAdjacency(
+                person -> person
+                        .getParentsWithReference()
+                        .stream()
+                        .map(EnrichedPersonWithReference::person)
+                        .toList(),
+                PersonGraph::resolveParentFlags);
+        this.adjacencies[EdgeType.CHILD.ordinal()] = buildAdjacency(
+                EnrichedPerson::getChildren,
+                (person, child) -> resolveParentFlags(child, person));
+        this.adjacencies[EdgeType.SPOUSE.ordinal()] = buildAdjacency(
+                EnrichedPerson::getSpouses,
+                PersonGraph::resolveSpouseFlags);
+        this.adjacencies[EdgeType.SIBLING.ordinal()] = buildAdjacency(
+                EnrichedPerson::getAllSiblings,
+                PersonGraph::resolveSiblingFlags);
+    }
+
+    /**
+     * People must have their family already enriched.
+     */
+    public static PersonGraph of(List<EnrichedPerson> people) {
+        return new PersonGraph(people);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the dense index of the person id, or -1 when the person is not in the graph.
+     */
+    public int indexOf(int personId) {
+        int index = Arrays.binarySearch(ids, personId);
+        return index >= 0 ? index : -1;
+    }
+
+    public int idOf(int index) {
+        return ids[index];
+    }
+
+    public EnrichedPerson personOf(int index) {
+        return people[index];
+    }
+
+    public int[] offsets(EdgeType edgeType) {
+        return adjacencies[edgeType.ordinal()].offsets();
+    }
+
+    public int[] targets(EdgeType edgeType) {
+        return adjacencies[edgeType.ordinal()].targets();
+    }
+
+    public byte[] flags(EdgeType edgeType) {
+        return adjacencies[edgeType.ordinal()].flags();
+    }
+
+    public int degree(EdgeType edgeType, int index) {
+        int[] offsets = offsets(edgeType);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    private Adjacency buildAdjacency(
+            Function<EnrichedPerson, List<EnrichedPerson>> relativesResolver,
+            FlagsResolver flagsResolver) {
+
+        int[] offsets = new int[people.length + 1];
+        for (int i = 0; i < people.length; i++) {
+            offsets[i + 1] = offsets[i] + relativesResolver.apply(people[i]).size();
+        }
+
+        int[] targets = new int[offsets[people.length]];
+        byte[] flags = new byte[offsets[people.length]];
+        for (int i = 0; i < people.length; i++) {
+            int edge = offsets[i];
+            for (EnrichedPerson relative : relativesResolver.apply(people[i])) {
+                targets[edge] = indexOf(relative.getId());
+                flags[edge] = flagsResolver.resolve(people[i], relative);
+                edge++;
+            }
+        }
+
+        return new Adjacency(offsets, targets, flags);
+    }
+
+    private static byte resolveParentFlags(EnrichedPerson person, EnrichedPerson parent) {
+        boolean isAdopted = person
+                .getParentsWithReference()
+                .stream()
+                .filter(parentWithReference -> parentWithReference.person().getId().equals(parent.getId()))
+                .findFirst()
+                .map(parentWithReference -> parentWithReference.referenceType().isPresent())
+                .orElse(false);
+        return isAdopted ? FLAG_ADOPTED : 0;
+    }
+
+    private static byte resolveSpouseFlags(EnrichedPerson person, EnrichedPerson spouse) {
+        boolean isSeparated = person
+                .getSpousesWithChildren()
+                .stream()
+                .filter(spouseWithChildren -> spouseWithChildren
+                        .getSpouse()
+                        .map(s -> s.getId().equals(spouse.getId()))
+                        .orElse(false))
+                .findFirst()
+                .map(EnrichedSpouseWithChildren::isSeparated)
+                .orElse(false);
+        return isSeparated ? FLAG_SEPARATED : 0;
+    }
+
+    private static byte resolveSiblingFlags(EnrichedPerson person, EnrichedPerson sibling) {
+        return getParentIds(person).equals(getParentIds(sibling)) ? 0 : FLAG_HALF;
+    }
+
+    private static Set<Integer> getParentIds(EnrichedPerson person) {
+        return person
+                .getParents()
+                .stream()
+                .map(EnrichedPerson::getId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @FunctionalInterface
+    private interface FlagsResolver {
+        byte resolve(EnrichedPerson person, EnrichedPerson relative);
+    }
+
+    private record Adjacency(int[] offsets, int[] targets, byte[] flags) {
+
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stats of the tree of a person. Being immutable, it can be shared between concurrent requests.
+ */
+public record PersonTreeStats(
+        int personsCountInTree,
+        int surnamesCountInTree,
+        List<String> ancestryCountries,
+        AncestryGenerations ancestryGenerations,
+        Optional<Relationship> maxDistantRelationship,
+        List<EnrichedPerson> distinguishedPersonsInTree) {
+
+}
@@ -0,0 +1,43 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.utils.PersonUtils;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Aliases of the legacy person uuids, which were calculated from the modified time of the gedcom, to the person ids.
+ * Only the legacy uuids published before the stable uuids are aliases, the ones of the configured modified time, and
+ * only until the configured expiry. Links and generated files shared before the stable uuids keep working until then.
+ * <p>
+ * Legacy uuids can be reversed to the person id, so only the modified time is kept. Both values are configured, so
+ * they are the same across restarts and reloads of the gedcom.
+ */
+public record PersonUuidAliases(@Nullable ZonedDateTime legacyModifiedDateTime, @Nullable Instant expiresAt) {
+
+    public static final PersonUuidAliases EMPTY = new PersonUuidAliases(null, null);
+
+    public static PersonUuidAliases of(GedcomAnalyzerProperties properties) {
+        if (properties.getPersonUuidLegacyModifiedTime() == null || properties.getPersonUuidLegacyAliasesExpireAt() == null) {
+            return EMPTY;
+        }
+        return new PersonUuidAliases(
+                // Legacy uuids only depend on the epoch second and the micros of the modified time, not on its zone
+                ZonedDateTime.ofInstant(properties.getPersonUuidLegacyModifiedTime(), ZoneOffset.UTC),
+                properties.getPersonUuidLegacyAliasesExpireAt());
+    }
+
+    public Optional<Integer> getPersonId(UUID legacyUuid, Instant now) {
+        if (legacyModifiedDateTime == null || expiresAt == null || !expiresAt.isAfter(now)) {
+            return Optional.empty();
+        }
+        return PersonUtils.getPersonIdOfLegacyUuid(legacyUuid, legacyModifiedDateTime);
+    }
+
+}
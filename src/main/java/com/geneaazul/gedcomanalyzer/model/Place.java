@@ -14,4 +14,12 @@ public record Place(String name, String forSearch, String country) {
         });
     }
 
+    /**
+     * Interns a place of another gedcom.
+     */
+    public static Place of(Place place, Map<String, Place> placesIndex) {
+        Place existingPlace = placesIndex.putIfAbsent(place.name(), place);
+        return existingPlace != null ? existingPlace : place;
+    }
+
 }
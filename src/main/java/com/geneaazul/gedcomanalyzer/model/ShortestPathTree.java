@@ -0,0 +1,81 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Shortest paths from a source person to every reachable person of the gedcom, over the dense indexes of
+ * a {@link PersonGraph}. Each person keeps only its distance and its predecessor, paths are built on demand.
+ */
+public class ShortestPathTree {
+
+    private final PersonGraph graph;
+    private final int sourceIndex;
+    private final int[] distances;
+    private final int[] predecessors;
+
+    /**
+     * Unreachable persons must have a distance of -1, and the source person a predecessor of -1.
+     */
+    public ShortestPathTree(PersonGraph graph, int sourceIndex, int[] distances, int[] predecessors) {
+        this.graph = graph;
+        this.sourceIndex = sourceIndex;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    public int getSourceId() {
+        return graph.idOf(sourceIndex);
+    }
+
+    /**
+     * Returns the distance from source to the person, or null when the person is not reachable.
+     */
+    @Nullable
+    public Integer getDistance(int personId) {
+        int index = graph.indexOf(personId);
+        if (index == -1 || distances[index] == -1) {
+            return null;
+        }
+        return distances[index];
+    }
+
+    /**
+     * Returns the person ids of the path, from source to the person both inclusive, or an empty list when
+     * the person is not reachable.
+     */
+    public List<Integer> pathTo(int personId) {
+        int index = graph.indexOf(personId);
+        if (index == -1 || distances[index] == -1) {
+            return List.of();
+        }
+
+        List<Integer> path = new ArrayList<>(distances[index] + 1);
+        for (int i = index; i != -1; i = predecessors[i]) {
+            path.add(graph.idOf(i));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the person ids of the path, from the person to source both inclusive, or an empty list when
+     * the person is not reachable. Relatives are symmetric, so it is also a shortest path in this direction.
+     */
+    public List<Integer> pathFrom(int personId) {
+        int index = graph.indexOf(personId);
+        if (index == -1 || distances[index] == -1) {
+            return List.of();
+        }
+
+        List<Integer> path = new ArrayList<>(distances[index] + 1);
+        for (int i = index; i != -1; i = predecessors[i]) {
+            path.add(graph.idOf(i));
+        }
+        return path;
+    }
+
+}
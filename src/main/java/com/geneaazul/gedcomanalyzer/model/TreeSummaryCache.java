@@ -0,0 +1,35 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Tree stats by person id. An instance belongs to a single loaded {@link EnrichedGedcom},
+ * so it is discarded together with it when the gedcom is reloaded.
+ */
+public class TreeSummaryCache {
+
+    private final Map<Integer, PersonTreeStats> treeStatsByPersonId = new ConcurrentHashMap<>(256);
+
+    public PersonTreeStats get(EnrichedPerson person, Function<EnrichedPerson, PersonTreeStats> treeStatsCalculator) {
+        PersonTreeStats treeStats = treeStatsByPersonId.get(person.getId());
+        if (treeStats != null) {
+            return treeStats;
+        }
+
+        // The calculation traverses the whole tree, so it is kept out of computeIfAbsent() to avoid locking other keys
+        treeStats = treeStatsCalculator.apply(person);
+        PersonTreeStats previous = treeStatsByPersonId.putIfAbsent(person.getId(), treeStats);
+        return previous != null ? previous : treeStats;
+    }
+
+    public boolean contains(EnrichedPerson person) {
+        return treeStatsByPersonId.containsKey(person.getId());
+    }
+
+    public int size() {
+        return treeStatsByPersonId.size();
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.geneaazul.gedcomanalyzer.model.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@ToString(onlyExplicitlyIncluded = true)
+public class SearchResultCacheStatsDto {
+
+    @ToString.Include
+    private Long gedcomVersion;
+
+    @ToString.Include
+    private Long familyEntries;
+
+    @ToString.Include
+    private Long familyHits;
+
+    @ToString.Include
+    private Long familyMisses;
+
+    @ToString.Include
+    private Long familyEvictions;
+
+    @ToString.Include
+    private Long connectionEntries;
+
+    @ToString.Include
+    private Long connectionHits;
+
+    @ToString.Include
+    private Long connectionMisses;
+
+    @ToString.Include
+    private Long connectionEvictions;
+
+}
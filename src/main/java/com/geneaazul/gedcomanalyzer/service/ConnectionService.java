@@ -16,6 +16,7 @@ import com.geneaazul.gedcomanalyzer.model.dto.SearchConnectionResultDto;
 import com.geneaazul.gedcomanalyzer.model.dto.SearchPersonDto;
 import com.geneaazul.gedcomanalyzer.repository.SearchConnectionRepository;
 import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
+import com.geneaazul.gedcomanalyzer.service.storage.GedcomSnapshot;
 import com.geneaazul.gedcomanalyzer.utils.PathUtils;
 import com.geneaazul.gedcomanalyzer.utils.PersonUtils;
 import com.geneaazul.gedcomanalyzer.utils.PlaceUtils;
@@ -32,7 +33,6 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import jakarta.annotation.Nullable;
@@ -49,6 +49,7 @@ public class ConnectionService {
     private final GedcomHolder gedcomHolder;
     private final PersonService personService;
     private final SearchService searchService;
+    private final SearchResultCache searchResultCache;
     private final SearchConnectionRepository searchConnectionRepository;
     private final SearchConnectionMapper searchConnectionMapper;
     private final RelationshipMapper relationshipMapper;
@@ -90,8 +91,14 @@ public class ConnectionService {
     }
 
     public SearchConnectionResultDto search(SearchConnectionDto searchConnectionDto) {
+        GedcomSnapshot snapshot = gedcomHolder.getSnapshot();
+        return searchResultCache.getConnectionResult(
+                searchConnectionDto,
+                snapshot.version(),
+                () -> search(searchConnectionDto, snapshot.gedcom()));
+    }
 
-        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+    private SearchConnectionResultDto search(SearchConnectionDto searchConnectionDto, EnrichedGedcom gedcom) {
 
         String person1Surname = Optional.ofNullable(searchConnectionDto.getPerson1())
                 .map(SearchPersonDto::getSurname)
@@ -123,11 +130,8 @@ public class ConnectionService {
 
         if (errors.isEmpty()) {
             EnrichedPerson person1 = person1Result.getFirst();
-            Pair<Map<Integer, Integer>, Map<Integer, List<Integer>>> distancesAndPaths = PathUtils
-                    .calculateShortestPathFromSource(gedcom, person1, true, true);
-
             EnrichedPerson person2 = person2Result.getFirst();
-            List<Integer> shortestPath = distancesAndPaths.getRight().getOrDefault(person2.getId(), List.of());
+            List<Integer> shortestPath = PathUtils.calculateShortestPath(gedcom, person1, person2, true);
 
             for (int i = 0; i < shortestPath.size() - 1; i++) {
                 EnrichedPerson personA = gedcom.getPersonById(shortestPath.get(i));
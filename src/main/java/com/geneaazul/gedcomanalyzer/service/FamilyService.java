@@ -16,6 +16,7 @@ import com.geneaazul.gedcomanalyzer.model.dto.SearchPersonDto;
 import com.geneaazul.gedcomanalyzer.repository.SearchConnectionRepository;
 import com.geneaazul.gedcomanalyzer.repository.SearchFamilyRepository;
 import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
+import com.geneaazul.gedcomanalyzer.service.storage.GedcomSnapshot;
 import com.geneaazul.gedcomanalyzer.utils.StreamUtils;
 
 import org.springframework.data.domain.PageRequest;
@@ -32,6 +33,11 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import jakarta.annotation.Nullable;
@@ -47,6 +53,7 @@ public class FamilyService {
     private final GedcomHolder gedcomHolder;
     private final PersonService personService;
     private final SearchService searchService;
+    private final SearchResultCache searchResultCache;
     private final SearchFamilyRepository searchFamilyRepository;
     private final SearchConnectionRepository searchConnectionRepository;
     private final SearchFamilyMapper searchFamilyMapper;
@@ -180,10 +187,14 @@ public class FamilyService {
     }
 
     public SearchFamilyResultDto search(SearchFamilyDto searchFamilyDto) {
+        GedcomSnapshot snapshot = gedcomHolder.getSnapshot();
+        return searchResultCache.getFamilyResult(
+                searchFamilyDto,
+                snapshot.version(),
+                () -> search(searchFamilyDto, snapshot.gedcom()));
+    }
 
-        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
-
-        List<EnrichedPerson> result = new ArrayList<>();
+    private SearchFamilyResultDto search(SearchFamilyDto searchFamilyDto, EnrichedGedcom gedcom) {
 
         String individualSurname = Optional.ofNullable(searchFamilyDto.getIndividual())
                 .map(SearchPersonDto::getSurname)
@@ -243,101 +254,104 @@ public class FamilyService {
                 .map(StringUtils::trimToNull)
                 .orElse(null);
 
-        /*
-         * Individual and spouse
-         */
-
-        result.addAll(searchPersonByNameAndYearAndParentsNames(
-                searchFamilyDto.getIndividual(),
-                individualSurname,
-                searchFamilyDto.getFather(),
-                fatherSurname,
-                searchFamilyDto.getMother(),
-                motherSurname,
-                gedcom));
-
-        result.addAll(searchPersonsByNameAndSpouseName(
-                searchFamilyDto.getIndividual(),
-                individualSurname,
-                searchFamilyDto.getSpouse(),
-                spouseSurname,
-                gedcom));
-
-        result.addAll(searchPersonByNameAndYear(
-                searchFamilyDto.getSpouse(),
-                spouseSurname,
-                gedcom));
-
-        /*
-         * Parents
-         */
-
-        result.addAll(searchPersonsByNameAndSpouseName(
-                searchFamilyDto.getFather(),
-                fatherSurname,
-                searchFamilyDto.getMother(),
-                motherSurname,
-                gedcom));
-
-        result.addAll(searchPersonByNameAndYearAndParentsNames(
-                searchFamilyDto.getFather(),
-                fatherSurname,
-                searchFamilyDto.getPaternalGrandfather(),
-                paternalGrandfatherSurname,
-                searchFamilyDto.getPaternalGrandmother(),
-                paternalGrandmotherSurname,
-                gedcom));
-
-        result.addAll(searchPersonByNameAndYearAndParentsNames(
-                searchFamilyDto.getMother(),
-                motherSurname,
-                searchFamilyDto.getMaternalGrandfather(),
-                maternalGrandfatherSurname,
-                searchFamilyDto.getMaternalGrandmother(),
-                maternalGrandmotherSurname,
-                gedcom));
-
-        /*
-         * Paternal grandparents
-         */
-
-        result.addAll(searchPersonsByNameAndSpouseName(
-                searchFamilyDto.getPaternalGrandfather(),
-                paternalGrandfatherSurname,
-                searchFamilyDto.getPaternalGrandmother(),
-                paternalGrandmotherSurname,
-                gedcom));
-
-        result.addAll(searchPersonByNameAndYear(
-                searchFamilyDto.getPaternalGrandfather(),
-                paternalGrandfatherSurname,
-                gedcom));
-
-        result.addAll(searchPersonByNameAndYear(
-                searchFamilyDto.getPaternalGrandmother(),
-                paternalGrandmotherSurname,
-                gedcom));
-
-        /*
-         * Maternal grandparents
-         */
-
-        result.addAll(searchPersonsByNameAndSpouseName(
-                searchFamilyDto.getMaternalGrandfather(),
-                maternalGrandfatherSurname,
-                searchFamilyDto.getMaternalGrandmother(),
-                maternalGrandmotherSurname,
-                gedcom));
-
-        result.addAll(searchPersonByNameAndYear(
-                searchFamilyDto.getMaternalGrandfather(),
-                maternalGrandfatherSurname,
-                gedcom));
-
-        result.addAll(searchPersonByNameAndYear(
-                searchFamilyDto.getMaternalGrandmother(),
-                maternalGrandmotherSurname,
-                gedcom));
+        // The sub-searches are independent, their results are merged in this order
+        List<EnrichedPerson> result = searchConcurrently(List.of(
+
+                /*
+                 * Individual and spouse
+                 */
+
+                () -> searchPersonByNameAndYearAndParentsNames(
+                        searchFamilyDto.getIndividual(),
+                        individualSurname,
+                        searchFamilyDto.getFather(),
+                        fatherSurname,
+                        searchFamilyDto.getMother(),
+                        motherSurname,
+                        gedcom),
+
+                () -> searchPersonsByNameAndSpouseName(
+                        searchFamilyDto.getIndividual(),
+                        individualSurname,
+                        searchFamilyDto.getSpouse(),
+                        spouseSurname,
+                        gedcom),
+
+                () -> searchPersonByNameAndYear(
+                        searchFamilyDto.getSpouse(),
+                        spouseSurname,
+                        gedcom),
+
+                /*
+                 * Parents
+                 */
+
+                () -> searchPersonsByNameAndSpouseName(
+                        searchFamilyDto.getFather(),
+                        fatherSurname,
+                        searchFamilyDto.getMother(),
+                        motherSurname,
+                        gedcom),
+
+                () -> searchPersonByNameAndYearAndParentsNames(
+                        searchFamilyDto.getFather(),
+                        fatherSurname,
+                        searchFamilyDto.getPaternalGrandfather(),
+                        paternalGrandfatherSurname,
+                        searchFamilyDto.getPaternalGrandmother(),
+                        paternalGrandmotherSurname,
+                        gedcom),
+
+                () -> searchPersonByNameAndYearAndParentsNames(
+                        searchFamilyDto.getMother(),
+                        motherSurname,
+                        searchFamilyDto.getMaternalGrandfather(),
+                        maternalGrandfatherSurname,
+                        searchFamilyDto.getMaternalGrandmother(),
+                        maternalGrandmotherSurname,
+                        gedcom),
+
+                /*
+                 * Paternal grandparents
+                 */
+
+                () -> searchPersonsByNameAndSpouseName(
+                        searchFamilyDto.getPaternalGrandfather(),
+                        paternalGrandfatherSurname,
+                        searchFamilyDto.getPaternalGrandmother(),
+                        paternalGrandmotherSurname,
+                        gedcom),
+
+                () -> searchPersonByNameAndYear(
+                        searchFamilyDto.getPaternalGrandfather(),
+                        paternalGrandfatherSurname,
+                        gedcom),
+
+                () -> searchPersonByNameAndYear(
+                        searchFamilyDto.getPaternalGrandmother(),
+                        paternalGrandmotherSurname,
+                        gedcom),
+
+                /*
+                 * Maternal grandparents
+                 */
+
+                () -> searchPersonsByNameAndSpouseName(
+                        searchFamilyDto.getMaternalGrandfather(),
+                        maternalGrandfatherSurname,
+                        searchFamilyDto.getMaternalGrandmother(),
+                        maternalGrandmotherSurname,
+                        gedcom),
+
+                () -> searchPersonByNameAndYear(
+                        searchFamilyDto.getMaternalGrandfather(),
+                        maternalGrandfatherSurname,
+                        gedcom),
+
+                () -> searchPersonByNameAndYear(
+                        searchFamilyDto.getMaternalGrandmother(),
+                        maternalGrandmotherSurname,
+                        gedcom)));
 
         /*
          * Process results
@@ -346,7 +360,6 @@ public class FamilyService {
         result = result
                 .stream()
                 .filter(StreamUtils.distinctByKey(EnrichedPerson::getId))
-                .peek(person -> personService.setTransientProperties(person, true))
                 .toList();
 
         boolean obfuscateLiving = !properties.isDisableObfuscateLiving()
@@ -355,7 +368,13 @@ public class FamilyService {
         ObfuscationType obfuscationType = obfuscateLiving
                 ? ObfuscationType.SKIP_MAIN_PERSON_NAME
                 : ObfuscationType.NONE;
-        List<PersonDto> people = personMapper.toPersonDto(result, obfuscationType);
+        List<PersonDto> people = result
+                .stream()
+                .map(person -> personMapper.toPersonDto(
+                        person,
+                        personService.getPersonTreeStats(person),
+                        obfuscationType))
+                .toList();
 
         Integer potentialResultsCount = null;
 
@@ -371,15 +390,15 @@ public class FamilyService {
                     .map(_ -> Boolean.TRUE)
                     .orElse(Boolean.FALSE);
 
-            List<EnrichedPerson> potentialResults = new ArrayList<>();
-            potentialResults.addAll(getPotentialResults(searchFamilyDto.getIndividual(), individualSurname, hasAnyParentGivenName, gedcom));
-            potentialResults.addAll(getPotentialResults(searchFamilyDto.getSpouse(), spouseSurname, gedcom));
-            potentialResults.addAll(getPotentialResults(searchFamilyDto.getFather(), fatherSurname, gedcom));
-            potentialResults.addAll(getPotentialResults(searchFamilyDto.getMother(), motherSurname, gedcom));
-            potentialResults.addAll(getPotentialResults(searchFamilyDto.getPaternalGrandfather(), paternalGrandfatherSurname, gedcom));
-            potentialResults.addAll(getPotentialResults(searchFamilyDto.getPaternalGrandmother(), paternalGrandmotherSurname, gedcom));
-            potentialResults.addAll(getPotentialResults(searchFamilyDto.getMaternalGrandfather(), maternalGrandfatherSurname, gedcom));
-            potentialResults.addAll(getPotentialResults(searchFamilyDto.getMaternalGrandmother(), maternalGrandmotherSurname, gedcom));
+            List<EnrichedPerson> potentialResults = searchConcurrently(List.of(
+                    () -> getPotentialResults(searchFamilyDto.getIndividual(), individualSurname, hasAnyParentGivenName, gedcom),
+                    () -> getPotentialResults(searchFamilyDto.getSpouse(), spouseSurname, gedcom),
+                    () -> getPotentialResults(searchFamilyDto.getFather(), fatherSurname, gedcom),
+                    () -> getPotentialResults(searchFamilyDto.getMother(), motherSurname, gedcom),
+                    () -> getPotentialResults(searchFamilyDto.getPaternalGrandfather(), paternalGrandfatherSurname, gedcom),
+                    () -> getPotentialResults(searchFamilyDto.getPaternalGrandmother(), paternalGrandmotherSurname, gedcom),
+                    () -> getPotentialResults(searchFamilyDto.getMaternalGrandfather(), maternalGrandfatherSurname, gedcom),
+                    () -> getPotentialResults(searchFamilyDto.getMaternalGrandmother(), maternalGrandmotherSurname, gedcom)));
 
             potentialResultsCount = (int) potentialResults
                     .stream()
@@ -393,6 +412,29 @@ public class FamilyService {
                 .build();
     }
 
+    /**
+     * Runs each search on its own virtual thread against the same gedcom, which is not modified once loaded, and
+     * merges the results in the order of the searches, so the result is the same as running them one after another.
+     */
+    private List<EnrichedPerson> searchConcurrently(List<Callable<List<EnrichedPerson>>> searches) {
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<EnrichedPerson> result = new ArrayList<>();
+            for (Future<List<EnrichedPerson>> search : executorService.invokeAll(searches)) {
+                result.addAll(search.get());
+            }
+            return result;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Family search interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     private List<EnrichedPerson> getPotentialResults(
             @Nullable SearchPersonDto searchPerson,
             @Nullable String personSurname,
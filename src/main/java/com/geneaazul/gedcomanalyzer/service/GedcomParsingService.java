@@ -8,7 +8,6 @@ import com.geneaazul.gedcomanalyzer.model.Relationship;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import org.apache.commons.io.file.PathUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.folg.gedcom.model.CharacterSet;
 import org.folg.gedcom.model.ChildRef;
@@ -30,20 +29,21 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 
+import jakarta.annotation.Nullable;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -61,6 +61,18 @@ public class GedcomParsingService {
     private final GedcomAnalyzerProperties properties;
 
     public EnrichedGedcom parse(Path gedcomPath) throws IOException, SAXParseException {
+        return parse(gedcomPath, null);
+    }
+
+    /**
+     * When the reference to the legacy gedcom is not kept the gedcom file is streamed, and the people whose record
+     * did not change since the previous gedcom are copied from it.
+     */
+    public EnrichedGedcom parse(Path gedcomPath, @Nullable EnrichedGedcom previousGedcom) throws IOException, SAXParseException {
+        if (!properties.isKeepReferenceToLegacyGedcom()) {
+            return parseStreamed(gedcomPath, previousGedcom);
+        }
+
         Gedcom gedcom = parseGedcom(gedcomPath);
         ZonedDateTime gedcomModifiedTime = Files.getLastModifiedTime(gedcomPath)
                 .toInstant()
@@ -68,38 +80,69 @@ public class GedcomParsingService {
         return EnrichedGedcom.of(gedcom, gedcomPath.toString(), gedcomModifiedTime, properties);
     }
 
+    public EnrichedGedcom parseStreamed(Path gedcomPath) throws IOException {
+        return parseStreamed(gedcomPath, null);
+    }
+
+    /**
+     * Parses the gedcom file record by record, enriching each person as soon as its record is read. Only a skeleton
+     * of ids, sex and family references is kept for people, so the whole legacy gedcom is never held in memory.
+     * Families are resolved once all the records are read, in the same order as {@link EnrichedGedcom#of} does.
+     * <p>
+     * When the incremental reload is enabled, the records are kept in the gedcom. A later parse given that gedcom as
+     * the previous one copies the people and families whose record did not change, instead of parsing them again.
+     */
+    public EnrichedGedcom parseStreamed(Path gedcomPath, @Nullable EnrichedGedcom previousGedcom) throws IOException {
+        boolean isIncrementalReload = properties.isIncrementalReloadEnabled()
+                && previousGedcom != null
+                && previousGedcom.getRecords().isPresent();
+        log.info("Parse gedcom file streamed: {}, incremental: {}", gedcomPath, isIncrementalReload);
+
+        ZonedDateTime gedcomModifiedTime = Files.getLastModifiedTime(gedcomPath)
+                .toInstant()
+                .atZone(properties.getZoneId());
+
+        try {
+            return EnrichedGedcom.load(
+                    gedcomPath.toString(),
+                    gedcomModifiedTime,
+                    properties,
+                    gedcom -> new StreamedGedcomLoader(
+                            gedcomPath,
+                            gedcom,
+                            isIncrementalReload ? previousGedcom : null,
+                            properties.isIncrementalReloadEnabled())
+                            .load());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     public EnrichedGedcom parse(byte[] gedcomBytes, String gedcomName) throws SAXParseException, IOException {
         ByteArrayInputStream inputStream = new ByteArrayInputStream(gedcomBytes);
         Gedcom gedcom = parseGedcom(inputStream);
         return EnrichedGedcom.of(gedcom, gedcomName, properties);
     }
 
+    /**
+     * The uploaded gedcom, or the first entry of an uploaded zip file, is parsed as it is read, without being copied
+     * to the temp dir.
+     */
     public EnrichedGedcom parse(MultipartFile gedcomFile) throws IOException, SAXParseException {
         log.info("Upload gedcom: {}", gedcomFile.getOriginalFilename());
-        Path gedcomDirPath = null;
-
-        try {
-            // Make sure temp dir exists
-            Files.createDirectories(properties.getTempDir());
-            // Create a new directory inside the temp dir
-            gedcomDirPath = Files.createTempDirectory(properties.getTempDir(), properties.getTempUploadedGedcomDirPrefix());
 
-            Path gedcomPath = uploadAndDecompress(gedcomDirPath, gedcomFile);
-            Gedcom gedcom = parseGedcom(gedcomPath);
+        try (InputStream gedcomIs = openUploadedGedcom(gedcomFile)) {
+            Gedcom gedcom = parseGedcom(gedcomIs);
             return EnrichedGedcom.of(gedcom, gedcomFile.getOriginalFilename(), properties);
-
-        } finally {
-            if (properties.isDeleteUploadedGedcom() && gedcomDirPath != null) {
-                PathUtils.delete(gedcomDirPath);
-            }
         }
     }
 
-    private Path uploadAndDecompress(Path gedcomDirPath, MultipartFile uploadedGedcomFile) throws IOException {
+    private InputStream openUploadedGedcom(MultipartFile uploadedGedcomFile) throws IOException {
 
         if (uploadedGedcomFile.getContentType() != null && ZIP_FILE_CONTENT_TYPES.contains(uploadedGedcomFile.getContentType())) {
 
-            try (ZipInputStream zis = new ZipInputStream(uploadedGedcomFile.getInputStream())) {
+            ZipInputStream zis = new ZipInputStream(uploadedGedcomFile.getInputStream());
+            try {
                 ZipEntry zipEntry = zis.getNextEntry();
 
                 if (zipEntry == null) {
@@ -109,33 +152,34 @@ public class GedcomParsingService {
                     throw new ZipException("zip content is invalid: " + zipEntry.getName());
                 }
 
-                Path gedcomPath = gedcomDirPath.resolve(zipEntry.getName());
-                Files.copy(zis, gedcomPath, StandardCopyOption.REPLACE_EXISTING);
+                // The stream ends with the first entry
+                return zis;
 
-                zis.closeEntry();
-                return gedcomPath;
+            } catch (IOException | RuntimeException e) {
+                zis.close();
+                throw e;
             }
         }
 
         if (uploadedGedcomFile.getOriginalFilename() != null && uploadedGedcomFile.getOriginalFilename().endsWith(GEDCOM_FILE_EXTENSION)) {
-
-            try (InputStream is = uploadedGedcomFile.getInputStream()) {
-                Path gedcomPath = gedcomDirPath.resolve(Objects.requireNonNullElse(uploadedGedcomFile.getOriginalFilename(), "gedcom.ged"));
-                Files.copy(is, gedcomPath, StandardCopyOption.REPLACE_EXISTING);
-                return gedcomPath;
-            }
+            return uploadedGedcomFile.getInputStream();
         }
 
         throw new IllegalArgumentException("gedcom file name or content type is invalid: " + uploadedGedcomFile.getOriginalFilename());
     }
 
+    /**
+     * The gedcom file is memory-mapped, and the parser reads it straight from the mapped pages.
+     */
     public Gedcom parseGedcom(Path gedcomFile) throws IOException, SAXParseException {
         log.info("Parse gedcom file: {}", gedcomFile);
-        ModelParser modelParser = new ModelParser();
-        Gedcom gedcom = modelParser.parseGedcom(gedcomFile.toFile());
-        gedcom.createIndexes();
-        gedcom.updateReferences();
-        return gedcom;
+        try (MappedGedcomFile mappedFile = MappedGedcomFile.map(gedcomFile)) {
+            ModelParser modelParser = new ModelParser();
+            Gedcom gedcom = modelParser.parseGedcom(mappedFile.newInputStream(0));
+            gedcom.createIndexes();
+            gedcom.updateReferences();
+            return gedcom;
+        }
     }
 
     public Gedcom parseGedcom(InputStream gedcomIs) throws IOException, SAXParseException {
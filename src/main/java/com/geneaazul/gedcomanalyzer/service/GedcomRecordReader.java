@@ -0,0 +1,227 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import org.apache.commons.lang3.StringUtils;
+import org.gedml.AnselInputStreamReader;
+import org.gedml.GedcomParser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Reads a gedcom file record by record, a record being a level 0 line and all the lines below it. Only the text of
+ * the records with the given tags is returned, the rest of the lines are skipped as they are read.
+ * <p>
+ * The charset is resolved from the header the same way {@link GedcomParser} does it, so every record is decoded
+ * exactly as a full parse of the file would decode it.
+ */
+public class GedcomRecordReader implements Closeable {
+
+    private static final int HEADER_MAX_BYTES = 64 * 1024;
+    private static final int HEADER_MAX_LINES = 100;
+    private static final int READER_BUFFER_SIZE = 64 * 1024;
+
+    private static final String ANSEL_CHARSET_NAME = "ANSEL";
+    private static final String UTF_16_CHARSET_NAME = "UTF-16";
+
+    private final MappedGedcomFile mappedFile;
+    private final BufferedReader reader;
+    private final Set<String> recordTags;
+    private final StringBuilder record = new StringBuilder(1024);
+
+    @Nullable
+    private String nextLevel0Line;
+
+    private GedcomRecordReader(MappedGedcomFile mappedFile, BufferedReader reader, Set<String> recordTags) throws IOException {
+        this.mappedFile = mappedFile;
+        this.reader = reader;
+        this.recordTags = recordTags;
+        this.nextLevel0Line = readFirstLine(reader);
+    }
+
+    /**
+     * The gedcom file is memory-mapped, and records are decoded straight from the mapped pages.
+     */
+    public static GedcomRecordReader open(Path gedcomPath, Set<String> recordTags) throws IOException {
+        MappedGedcomFile mappedFile = MappedGedcomFile.map(gedcomPath);
+        try {
+            int headerSize = Math.min(mappedFile.size(), HEADER_MAX_BYTES);
+            String charsetName = resolveCharsetName(mappedFile, headerSize);
+
+            // Bytes before the first level 0 line (like a byte order mark) are skipped, UTF-16 is skipped once decoded
+            InputStream inputStream = mappedFile.newInputStream(charsetName.equals(UTF_16_CHARSET_NAME)
+                    ? 0
+                    : indexOfFirstLevel(mappedFile, headerSize));
+            Reader reader = charsetName.equals(ANSEL_CHARSET_NAME)
+                    ? new AnselInputStreamReader(inputStream)
+                    : new InputStreamReader(inputStream, charsetName);
+            return new GedcomRecordReader(mappedFile, new BufferedReader(reader, READER_BUFFER_SIZE), recordTags);
+
+        } catch (IOException | RuntimeException e) {
+            mappedFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the next record whose tag is one of the record tags, or null when the file is over.
+     */
+    @Nullable
+    public GedcomRecord nextRecord() throws IOException {
+        while (nextLevel0Line != null) {
+            String level0Line = nextLevel0Line;
+            String[] tokens = level0Line.trim().split("\\s+", 4);
+            String recordId = getRecordId(tokens);
+            String recordTag = getRecordTag(tokens);
+            boolean isIncluded = recordTag != null && recordTags.contains(recordTag);
+
+            record.setLength(0);
+            if (isIncluded) {
+                record.append(level0Line).append('\n');
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null && !isLevel0Line(line)) {
+                if (isIncluded) {
+                    record.append(line).append('\n');
+                }
+            }
+            nextLevel0Line = line;
+
+            if (isIncluded) {
+                return new GedcomRecord(recordTag, recordId, record.toString());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } finally {
+            mappedFile.close();
+        }
+    }
+
+    /**
+     * Mirrors the header sniffing of {@link GedcomParser}: the first level 1 SOUR and CHAR values, and the level 2
+     * VERS right below the CHAR, are corrected by {@link GedcomParser#getCorrectedCharsetName}. ANSEL is the default.
+     */
+    private static String resolveCharsetName(MappedGedcomFile mappedFile, int headerSize) throws IOException {
+        if (headerSize >= 2) {
+            int b0 = mappedFile.get(0) & 0xFF;
+            int b1 = mappedFile.get(1) & 0xFF;
+            if (b0 == 0xFE && b1 == 0xFF || b0 == 0xFF && b1 == 0xFE) {
+                return UTF_16_CHARSET_NAME;
+            }
+        }
+
+        // Header tags are plain ascii, a single byte charset is enough to find them
+        BufferedReader headerReader = new BufferedReader(new InputStreamReader(
+                mappedFile.newInputStream(0, headerSize),
+                StandardCharsets.ISO_8859_1));
+
+        String generator = null;
+        String charset = null;
+        String version = null;
+
+        for (int i = 0; i < HEADER_MAX_LINES && (generator == null || charset == null); i++) {
+            String line = headerReader.readLine();
+            if (line == null) {
+                break;
+            }
+            String[] tokens = line.trim().split("\\s+", 3);
+            if (tokens.length != 3) {
+                continue;
+            }
+            if (generator == null && tokens[0].equals("1") && tokens[1].equals("SOUR")) {
+                generator = tokens[2];
+            } else if (tokens[0].equals("1") && (tokens[1].equals("CHAR") || tokens[1].equals("CHARACTER"))) {
+                charset = tokens[2].toUpperCase();
+                line = headerReader.readLine();
+                if (line == null) {
+                    break;
+                }
+                tokens = line.trim().split("\\s+", 3);
+                if (tokens.length == 3 && tokens[0].equals("2") && tokens[1].equals("VERS")) {
+                    version = tokens[2];
+                }
+            }
+        }
+
+        String charsetName = GedcomParser.getCorrectedCharsetName(generator, charset, version);
+        return charsetName.isEmpty() ? ANSEL_CHARSET_NAME : charsetName;
+    }
+
+    private static int indexOfFirstLevel(MappedGedcomFile mappedFile, int headerSize) {
+        for (int i = 0; i < headerSize; i++) {
+            if (mappedFile.get(i) == '0') {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    @Nullable
+    private static String readFirstLine(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int index = line.indexOf('0');
+            if (index != -1) {
+                return line.substring(index);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isLevel0Line(String line) {
+        int i = 0;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i < line.length()
+                && line.charAt(i) == '0'
+                && (i + 1 == line.length() || Character.isWhitespace(line.charAt(i + 1)));
+    }
+
+    /**
+     * The id of a level 0 line like {@code 0 @I1@ INDI}, without the at signs.
+     */
+    @Nullable
+    private static String getRecordId(String[] level0Tokens) {
+        if (level0Tokens.length < 2 || !level0Tokens[1].startsWith("@")) {
+            return null;
+        }
+        return StringUtils.strip(level0Tokens[1], "@");
+    }
+
+    /**
+     * The tag of a level 0 line like {@code 0 @I1@ INDI} or {@code 0 HEAD}.
+     */
+    @Nullable
+    private static String getRecordTag(String[] level0Tokens) {
+        if (level0Tokens.length < 2) {
+            return null;
+        }
+        if (level0Tokens[1].startsWith("@")) {
+            return level0Tokens.length > 2 ? level0Tokens[2] : null;
+        }
+        return level0Tokens[1];
+    }
+
+    /**
+     * A level 0 record, its text includes the level 0 line and every line below it.
+     */
+    public record GedcomRecord(String tag, @Nullable String id, String text) {
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A gedcom file memory-mapped for reading. Its input streams read straight from the mapped pages and support mark and
+ * reset, so neither the charset sniffing of the parsers nor the decoders copy the file into intermediate buffers.
+ * The file is unmapped when it is closed.
+ */
+class MappedGedcomFile implements Closeable {
+
+    private final Arena arena;
+    private final ByteBuffer buffer;
+
+    private MappedGedcomFile(Arena arena, ByteBuffer buffer) {
+        this.arena = arena;
+        this.buffer = buffer;
+    }
+
+    public static MappedGedcomFile map(Path gedcomPath) throws IOException {
+        // Records can be decoded by a different thread than the one mapping the file
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(gedcomPath, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Gedcom file is too large to be mapped: " + gedcomPath);
+            }
+            ByteBuffer buffer = channel
+                    .map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena)
+                    .asByteBuffer();
+            return new MappedGedcomFile(arena, buffer);
+
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return buffer.limit();
+    }
+
+    public byte get(int position) {
+        return buffer.get(position);
+    }
+
+    /**
+     * A stream of the mapped bytes between the given positions.
+     */
+    public InputStream newInputStream(int fromPosition, int toPosition) {
+        return new MappedInputStream(buffer.slice(fromPosition, toPosition - fromPosition));
+    }
+
+    public InputStream newInputStream(int fromPosition) {
+        return newInputStream(fromPosition, size());
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private static class MappedInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+        private int mark;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readLimit) {
+            mark = buffer.position();
+        }
+
+        @Override
+        public void reset() {
+            buffer.position(mark);
+        }
+
+    }
+
+}
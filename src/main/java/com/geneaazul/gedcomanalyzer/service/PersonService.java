@@ -7,6 +7,7 @@ import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
 import com.geneaazul.gedcomanalyzer.model.EnrichedPersonWithReference;
 import com.geneaazul.gedcomanalyzer.model.EnrichedSpouseWithChildren;
+import com.geneaazul.gedcomanalyzer.model.PersonTreeStats;
 import com.geneaazul.gedcomanalyzer.model.Relationship;
 import com.geneaazul.gedcomanalyzer.model.Relationships;
 import com.geneaazul.gedcomanalyzer.model.TreeTraversalDirection;
@@ -22,7 +23,9 @@ import org.springframework.stereotype.Service;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayDeque;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,41 +55,48 @@ public class PersonService {
                 .map(p -> personMapper.toPersonDto(p, ObfuscationType.SKIP_MAIN_PERSON_NAME));
     }
 
-    public List<Relationships> setTransientProperties(EnrichedPerson person, boolean excludeRootPerson) {
-        // Traverse tree
-        List<Relationships> relationships = getPeopleInTree(person, excludeRootPerson, false, true);
-
-        List<Relationship> lastRelationships = relationships
-                .stream()
-                // Getting the last will prioritize the not-in-law relationships
-                // When using CLOSEST_KEEPING_CLOSER_IN_LAW_WHEN_EXISTS_ANY_NOT_IN_LAW strategy,
-                //   the only case of getting an in-law relationship (size 2) is when it has lower distance than the not-in-law
-                .map(Relationships::findLast)
-                .toList();
+    /**
+     * Stats of the tree of the person, excluding the root person. They are taken from the gedcom cache
+     * so the tree is traversed only the first time a person is requested.
+     */
+    public PersonTreeStats getPersonTreeStats(EnrichedPerson person) {
+        return person
+                .getGedcom()
+                .getTreeSummaryCache()
+                .get(person, p -> getPersonTreeStats(getPeopleInTree(p, true, false, true)
+                        .stream()
+                        // Getting the last will prioritize the not-in-law relationships
+                        // When using CLOSEST_KEEPING_CLOSER_IN_LAW_WHEN_EXISTS_ANY_NOT_IN_LAW strategy,
+                        //   the only case of getting an in-law relationship (size 2) is when it has lower distance than the not-in-law
+                        .map(Relationships::findLast)
+                        .toList()));
+    }
 
-        Integer surnamesCount = RelationshipUtils.getSurnamesCount(lastRelationships);
+    /**
+     * Stats of an already traversed tree, one relationship per person in tree.
+     */
+    public PersonTreeStats getPersonTreeStats(List<Relationship> relationships) {
+        Integer surnamesCount = RelationshipUtils.getSurnamesCount(relationships);
         List<String> ancestryCountries = RelationshipUtils.getCountriesOfBirth(
-                lastRelationships,
+                relationships,
                 relationship -> relationship.isDirect() && relationship.getGeneration() >= 0 && !relationship.isInLaw(),
                 false,
                 set -> set.stream().sorted().toList());
-        AncestryGenerations ancestryGenerations = RelationshipUtils.getAncestryGenerations(lastRelationships);
-        Optional<Relationship> maxDistantRelationship = RelationshipUtils.getMaxDistantRelationship(lastRelationships);
-        List<EnrichedPerson> distinguishedPersons = lastRelationships
+        AncestryGenerations ancestryGenerations = RelationshipUtils.getAncestryGenerations(relationships);
+        Optional<Relationship> maxDistantRelationship = RelationshipUtils.getMaxDistantRelationship(relationships);
+        List<EnrichedPerson> distinguishedPersons = relationships
                 .stream()
                 .map(Relationship::person)
                 .filter(EnrichedPerson::isDistinguishedPerson)
                 .toList();
 
-        person.setPersonsCountInTree(relationships.size());
-        person.setSurnamesCountInTree(surnamesCount);
-        person.setAncestryCountries(ancestryCountries);
-        person.setAncestryGenerations(ancestryGenerations);
-        person.setMaxDistantRelationship(maxDistantRelationship);
-        person.setDistinguishedPersonsInTree(distinguishedPersons);
-        person.setOrderKey(null);
-
-        return relationships;
+        return new PersonTreeStats(
+                relationships.size(),
+                surnamesCount,
+                ancestryCountries,
+                ancestryGenerations,
+                maxDistantRelationship,
+                distinguishedPersons);
     }
 
     public List<Relationships> getPeopleInTree(
@@ -112,15 +122,16 @@ public class PersonService {
             @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition) {
         Map<Integer, Relationships> visitedPersons = new LinkedHashMap<>(128);
         traversePeopleInTree(
-                Relationship.empty(person),
-                null,
+                new TraversalStep(
+                        Relationship.empty(person),
+                        null,
+                        onlyAscDirection ? TreeTraversalDirection.ONLY_ASC : TreeTraversalDirection.ASC,
+                        mergeTreeSides,
+                        false),
                 visitedPersons,
-                onlyAscDirection ? TreeTraversalDirection.ONLY_ASC : TreeTraversalDirection.ASC,
                 Relationships.VisitedRelationshipTraversalStrategy.CLOSEST_KEEPING_CLOSER_IN_LAW_WHEN_EXISTS_ANY_NOT_IN_LAW,
                 stopTraversingPreCondition,
-                stopTraversingPostCondition,
-                mergeTreeSides,
-                false);
+                stopTraversingPostCondition);
 
         return visitedPersons
                 .values()
@@ -131,24 +142,53 @@ public class PersonService {
                 .toList();
     }
 
+    /**
+     * Depth-first traversal of the tree using an explicit stack instead of recursion, so the traversal depth is not
+     * bounded by the thread stack size. Each step does all its work before any of its relatives is visited, so pushing
+     * the next steps in reverse order keeps exactly the same visiting order as a recursive traversal.
+     */
     private static void traversePeopleInTree(
-            @NonNull Relationship toVisitRelationship,
-            @Nullable Integer previousPersonId,
+            @NonNull TraversalStep rootStep,
             @NonNull Map<Integer, Relationships> visitedPersons,
-            @NonNull TreeTraversalDirection direction,
             @NonNull Relationships.VisitedRelationshipTraversalStrategy visitedRelationshipTraversalStrategy,
             @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPreCondition,
-            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition,
-            boolean mergeTreeSides,
-            boolean onlyPropagateTreeSides) {
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition) {
+
+        Deque<TraversalStep> pendingSteps = new ArrayDeque<>(128);
+        pendingSteps.push(rootStep);
+
+        while (!pendingSteps.isEmpty()) {
+            List<TraversalStep> nextSteps = visitPersonInTree(
+                    pendingSteps.pop(),
+                    visitedPersons,
+                    visitedRelationshipTraversalStrategy,
+                    stopTraversingPreCondition,
+                    stopTraversingPostCondition);
+
+            for (int i = nextSteps.size() - 1; i >= 0; i--) {
+                pendingSteps.push(nextSteps.get(i));
+            }
+        }
+    }
+
+    /**
+     * Visits a single person of the tree and returns the next steps to traverse, in visiting order.
+     */
+    private static List<TraversalStep> visitPersonInTree(
+            @NonNull TraversalStep step,
+            @NonNull Map<Integer, Relationships> visitedPersons,
+            @NonNull Relationships.VisitedRelationshipTraversalStrategy visitedRelationshipTraversalStrategy,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPreCondition,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition) {
 
         // Make sure these options are correctly set
-        assert mergeTreeSides || !onlyPropagateTreeSides;
+        assert step.mergeTreeSides() || !step.onlyPropagateTreeSides();
 
+        Relationship toVisitRelationship = step.toVisitRelationship();
         EnrichedPerson person = toVisitRelationship.person();
 
         if (stopTraversingPreCondition.test(person, toVisitRelationship.getDistance())) {
-            return;
+            return List.of();
         }
 
         boolean visited = visitedPersons.containsKey(person.getId());
@@ -157,24 +197,23 @@ public class PersonService {
 
             // Skip re-visiting root person
             if (visitedRelationships.findFirst().getDistance() == 0) {
-                return;
+                return List.of();
             }
 
-            if (onlyPropagateTreeSides
+            if (step.onlyPropagateTreeSides()
                     && !SetUtils.containsAll(visitedRelationships.getTreeSides(), toVisitRelationship.treeSides())) {
-                mergeTreeSides(visitedPersons, toVisitRelationship, previousPersonId, direction, visitedRelationshipTraversalStrategy, stopTraversingPreCondition, stopTraversingPostCondition);
-                return;
+                return mergeTreeSides(visitedPersons, step, stopTraversingPostCondition);
             }
 
             // Idempotency check for visited person
             if (visitedRelationships.contains(toVisitRelationship)) {
-                return;
+                return List.of();
             }
 
             // Check traversal strategies for visited in-law relationship
             if (toVisitRelationship.isInLaw()
                     && visitedRelationshipTraversalStrategy.getInLawMatching().test(visitedRelationships, toVisitRelationship)) {
-                return;
+                return List.of();
             }
 
             // Check traversal strategies for visited closest distance relationship
@@ -194,14 +233,13 @@ public class PersonService {
                                         .map(relationship -> toVisitRelationship.compareTo(relationship) >= 0)
                                         .orElse(false);
                     }) {
-                if (mergeTreeSides) {
-                    mergeTreeSides(visitedPersons, toVisitRelationship, previousPersonId, direction, visitedRelationshipTraversalStrategy, stopTraversingPreCondition, stopTraversingPostCondition);
-                }
-                return;
+                return step.mergeTreeSides()
+                        ? mergeTreeSides(visitedPersons, step, stopTraversingPostCondition)
+                        : List.of();
             }
-        } else if (onlyPropagateTreeSides) {
+        } else if (step.onlyPropagateTreeSides()) {
             // It should never enter this path
-            throw new UnsupportedOperationException("Unsupported onlyPropagateTreeSides: " + onlyPropagateTreeSides);
+            throw new UnsupportedOperationException("Unsupported onlyPropagateTreeSides: " + step.onlyPropagateTreeSides());
         }
 
         Relationships merged = visitedPersons.merge(
@@ -210,48 +248,28 @@ public class PersonService {
                 (r1, r2) -> r1.merge(r2, visitedRelationshipTraversalStrategy));
 
         if (toVisitRelationship.getDistance() == 32) {
-            // If max level or recursion is reached, stop the search
-            return;
+            // If max level is reached, stop the search
+            return List.of();
         }
 
-        resolveRelativesToTraverse(
-                person,
-                toVisitRelationship.getDistance(),
-                direction,
+        return resolveNextSteps(
+                step,
                 merged.getTreeSides(),
-                previousPersonId,
-                stopTraversingPostCondition)
-                .forEach(relativeAndDirection -> traversePeopleInTree(
-                        toVisitRelationship.increaseWithPerson(
-                                relativeAndDirection.person,
-                                relativeAndDirection.direction,
-                                relativeAndDirection.isHalf,
-                                relativeAndDirection.adoptionType,
-                                relativeAndDirection.treeSides,
-                                relativeAndDirection.relatedPersonIds),
-                        person.getId(),
-                        visitedPersons,
-                        relativeAndDirection.direction,
-                        visitedRelationshipTraversalStrategy,
-                        stopTraversingPreCondition,
-                        stopTraversingPostCondition,
-                        mergeTreeSides,
-                        onlyPropagateTreeSides));
+                stopTraversingPostCondition,
+                step.mergeTreeSides(),
+                step.onlyPropagateTreeSides());
     }
 
-    private static void mergeTreeSides(
+    private static List<TraversalStep> mergeTreeSides(
             @NonNull Map<Integer, Relationships> visitedPersons,
-            @NonNull Relationship toVisitRelationship,
-            @Nullable Integer previousPersonId,
-            @NonNull TreeTraversalDirection direction,
-            @NonNull Relationships.VisitedRelationshipTraversalStrategy visitedRelationshipTraversalStrategy,
-            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPreCondition,
+            @NonNull TraversalStep step,
             @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition) {
 
+        Relationship toVisitRelationship = step.toVisitRelationship();
         Relationships relationships = visitedPersons.get(toVisitRelationship.person().getId());
 
         if (SetUtils.containsAll(relationships.getTreeSides(), toVisitRelationship.treeSides())) {
-            return;
+            return List.of();
         }
 
         Relationships merged = visitedPersons.merge(
@@ -260,14 +278,32 @@ public class PersonService {
                 Relationships::mergeTreeSides);
 
         // Propagate merged tree sides to relatives
-        resolveRelativesToTraverse(
-                toVisitRelationship.person(),
-                toVisitRelationship.getDistance(),
-                direction,
+        return resolveNextSteps(
+                step,
                 merged.getTreeSides(),
-                previousPersonId,
+                stopTraversingPostCondition,
+                true,
+                true);
+    }
+
+    private static List<TraversalStep> resolveNextSteps(
+            @NonNull TraversalStep step,
+            @Nullable Set<TreeSideType> treeSides,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition,
+            boolean mergeTreeSides,
+            boolean onlyPropagateTreeSides) {
+
+        Relationship toVisitRelationship = step.toVisitRelationship();
+        EnrichedPerson person = toVisitRelationship.person();
+
+        return resolveRelativesToTraverse(
+                person,
+                toVisitRelationship.getDistance(),
+                step.direction(),
+                treeSides,
+                step.previousPersonId(),
                 stopTraversingPostCondition)
-                .forEach(relativeAndDirection -> traversePeopleInTree(
+                .map(relativeAndDirection -> new TraversalStep(
                         toVisitRelationship.increaseWithPerson(
                                 relativeAndDirection.person,
                                 relativeAndDirection.direction,
@@ -275,14 +311,11 @@ public class PersonService {
                                 relativeAndDirection.adoptionType,
                                 relativeAndDirection.treeSides,
                                 relativeAndDirection.relatedPersonIds),
-                        toVisitRelationship.person().getId(),
-                        visitedPersons,
+                        person.getId(),
                         relativeAndDirection.direction,
-                        visitedRelationshipTraversalStrategy,
-                        stopTraversingPreCondition,
-                        stopTraversingPostCondition,
-                        true,
-                        true));
+                        mergeTreeSides,
+                        onlyPropagateTreeSides))
+                .toList();
     }
 
     /**
@@ -308,7 +341,7 @@ public class PersonService {
      *     </li>
      * </ul>
      */
-    private static Stream<RelativeAndDirection> resolveRelativesToTraverse(
+    static Stream<RelativeAndDirection> resolveRelativesToTraverse(
             @NonNull EnrichedPerson person,
             int distance,
             @NonNull TreeTraversalDirection direction,
@@ -619,7 +652,15 @@ public class PersonService {
             boolean isHalf) {
     }
 
-    private record RelativeAndDirection(
+    private record TraversalStep(
+            @NonNull Relationship toVisitRelationship,
+            @Nullable Integer previousPersonId,
+            @NonNull TreeTraversalDirection direction,
+            boolean mergeTreeSides,
+            boolean onlyPropagateTreeSides) {
+    }
+
+    record RelativeAndDirection(
             @NonNull EnrichedPerson person,
             @NonNull TreeTraversalDirection direction,
             boolean isHalf,
@@ -0,0 +1,202 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchConnectionDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchConnectionResultDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyResultDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchPersonDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchResultCacheStatsDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SexType;
+import com.geneaazul.gedcomanalyzer.utils.NameUtils;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import jakarta.annotation.Nullable;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Results of the family and connection searches, so repeated searches (retries, shared links, page reloads) are not
+ * searched again. Searches are keyed by the values they actually search by, so the ones differing only in case,
+ * accents or spaces share their result, and by the version of the gedcom they were searched in. The cached results
+ * are cleared when a reloaded gedcom is first searched.
+ * <p>
+ * The caches are bounded by the weight of their results, the count of people or connections, and the eviction keeps
+ * the most frequently repeated searches. Cached results are shared, they must not be modified.
+ */
+@Slf4j
+@Service
+public class SearchResultCache {
+
+    private final GedcomAnalyzerProperties properties;
+    private final Cache<FamilySearchKey, SearchFamilyResultDto> familyResults;
+    private final Cache<ConnectionSearchKey, SearchConnectionResultDto> connectionResults;
+    // Latest gedcom version searched
+    private final AtomicLong gedcomVersion = new AtomicLong();
+
+    public SearchResultCache(GedcomAnalyzerProperties properties) {
+        this.properties = properties;
+        this.familyResults = Caffeine.newBuilder()
+                .maximumWeight(properties.getSearchResultCacheMaxWeight())
+                .weigher((FamilySearchKey _, SearchFamilyResultDto result) -> 1 + result.getPeople().size())
+                .recordStats()
+                .build();
+        this.connectionResults = Caffeine.newBuilder()
+                .maximumWeight(properties.getSearchResultCacheMaxWeight())
+                .weigher((ConnectionSearchKey _, SearchConnectionResultDto result) -> 1 + result.getConnections().size())
+                .recordStats()
+                .build();
+    }
+
+    public SearchFamilyResultDto getFamilyResult(
+            SearchFamilyDto searchFamilyDto,
+            long gedcomVersion,
+            Supplier<SearchFamilyResultDto> search) {
+        if (!properties.isSearchResultCacheEnabled()) {
+            return search.get();
+        }
+        clearIfReloaded(gedcomVersion);
+
+        FamilySearchKey key = FamilySearchKey.of(searchFamilyDto, gedcomVersion, properties);
+        SearchFamilyResultDto result = familyResults.getIfPresent(key);
+        if (result != null) {
+            return result;
+        }
+
+        // The search is kept out of get(key, mappingFunction) to avoid locking other keys while searching
+        result = search.get();
+        familyResults.put(key, result);
+        return result;
+    }
+
+    public SearchConnectionResultDto getConnectionResult(
+            SearchConnectionDto searchConnectionDto,
+            long gedcomVersion,
+            Supplier<SearchConnectionResultDto> search) {
+        if (!properties.isSearchResultCacheEnabled()) {
+            return search.get();
+        }
+        clearIfReloaded(gedcomVersion);
+
+        ConnectionSearchKey key = ConnectionSearchKey.of(searchConnectionDto, gedcomVersion);
+        SearchConnectionResultDto result = connectionResults.getIfPresent(key);
+        if (result != null) {
+            return result;
+        }
+
+        result = search.get();
+        connectionResults.put(key, result);
+        return result;
+    }
+
+    public SearchResultCacheStatsDto getStats() {
+        CacheStats familyStats = familyResults.stats();
+        CacheStats connectionStats = connectionResults.stats();
+        return SearchResultCacheStatsDto.builder()
+                .gedcomVersion(gedcomVersion.get())
+                .familyEntries(familyResults.estimatedSize())
+                .familyHits(familyStats.hitCount())
+                .familyMisses(familyStats.missCount())
+                .familyEvictions(familyStats.evictionCount())
+                .connectionEntries(connectionResults.estimatedSize())
+                .connectionHits(connectionStats.hitCount())
+                .connectionMisses(connectionStats.missCount())
+                .connectionEvictions(connectionStats.evictionCount())
+                .build();
+    }
+
+    private void clearIfReloaded(long version) {
+        long previousVersion = gedcomVersion.getAndAccumulate(version, Math::max);
+        if (version > previousVersion) {
+            // Results of a previous version are never hit again
+            familyResults.invalidateAll();
+            connectionResults.invalidateAll();
+            log.info("Search result cache cleared - gedcom version: {} - stats: {}", version, getStats());
+        }
+    }
+
+    /**
+     * Values of a searched person the searches match by. Given names and surnames are simplified, and a blank given
+     * name is searched the same as a missing one. Missing surnames are kept apart from blank ones, as only missing
+     * surnames are taken from the relatives.
+     */
+    private record SearchPersonKey(
+            @Nullable String givenName,
+            @Nullable String surname,
+            @Nullable SexType sex,
+            @Nullable Integer yearOfBirth,
+            @Nullable Integer yearOfDeath) {
+
+        @Nullable
+        static SearchPersonKey of(@Nullable SearchPersonDto searchPerson) {
+            if (searchPerson == null) {
+                return null;
+            }
+            return new SearchPersonKey(
+                    StringUtils.isBlank(searchPerson.getGivenName())
+                            ? null
+                            : Objects.toString(NameUtils.simplifyName(searchPerson.getGivenName()), ""),
+                    searchPerson.getSurname() == null
+                            ? null
+                            : Objects.toString(NameUtils.simplifyName(searchPerson.getSurname()), ""),
+                    searchPerson.getSex(),
+                    searchPerson.getYearOfBirth(),
+                    searchPerson.getYearOfDeath());
+        }
+
+    }
+
+    private record FamilySearchKey(
+            long gedcomVersion,
+            boolean obfuscateLiving,
+            @Nullable SearchPersonKey individual,
+            @Nullable SearchPersonKey spouse,
+            @Nullable SearchPersonKey father,
+            @Nullable SearchPersonKey mother,
+            @Nullable SearchPersonKey paternalGrandfather,
+            @Nullable SearchPersonKey paternalGrandmother,
+            @Nullable SearchPersonKey maternalGrandfather,
+            @Nullable SearchPersonKey maternalGrandmother) {
+
+        static FamilySearchKey of(SearchFamilyDto searchFamilyDto, long gedcomVersion, GedcomAnalyzerProperties properties) {
+            return new FamilySearchKey(
+                    gedcomVersion,
+                    !properties.isDisableObfuscateLiving() && BooleanUtils.isNotFalse(searchFamilyDto.getObfuscateLiving()),
+                    SearchPersonKey.of(searchFamilyDto.getIndividual()),
+                    SearchPersonKey.of(searchFamilyDto.getSpouse()),
+                    SearchPersonKey.of(searchFamilyDto.getFather()),
+                    SearchPersonKey.of(searchFamilyDto.getMother()),
+                    SearchPersonKey.of(searchFamilyDto.getPaternalGrandfather()),
+                    SearchPersonKey.of(searchFamilyDto.getPaternalGrandmother()),
+                    SearchPersonKey.of(searchFamilyDto.getMaternalGrandfather()),
+                    SearchPersonKey.of(searchFamilyDto.getMaternalGrandmother()));
+        }
+
+    }
+
+    private record ConnectionSearchKey(
+            long gedcomVersion,
+            @Nullable SearchPersonKey person1,
+            @Nullable SearchPersonKey person2) {
+
+        static ConnectionSearchKey of(SearchConnectionDto searchConnectionDto, long gedcomVersion) {
+            return new ConnectionSearchKey(
+                    gedcomVersion,
+                    SearchPersonKey.of(searchConnectionDto.getPerson1()),
+                    SearchPersonKey.of(searchConnectionDto.getPerson2()));
+        }
+
+    }
+
+}
@@ -27,17 +27,18 @@ import java.time.Month;
 import java.time.Year;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import jakarta.annotation.Nullable;
@@ -127,9 +128,8 @@ public class SearchService {
                 .stream()
                 .filter(person -> sex == null || sex == person.getSex())
                 .filter(person -> person.getDateOfBirth()
-                        .filter(Date::isFullDate)
-                        .map(dob -> dob.getMonth().equals(month) && dob.getDay().equals(day))
-                        .orElse(false))
+                        .filter(dob -> dob.isMonthAndDay(month, day))
+                        .isPresent())
                 .toList();
     }
 
@@ -146,9 +146,8 @@ public class SearchService {
                 .filter(person -> !person.isAlive())
                 .filter(person -> sex == null || sex == person.getSex())
                 .filter(person -> person.getDateOfDeath()
-                        .filter(Date::isFullDate)
-                        .map(dob -> dob.getMonth().equals(month) && dob.getDay().equals(day))
-                        .orElse(false))
+                        .filter(dob -> dob.isMonthAndDay(month, day))
+                        .isPresent())
                 .toList();
     }
 
@@ -164,8 +163,8 @@ public class SearchService {
                 .filter(person -> !person.isAlive())
                 .filter(person -> sex == null || sex == person.getSex())
                 .filter(person -> person.getDateOfDeath()
-                        .map(dob -> dob.getYear().equals(year))
-                        .orElse(false))
+                        .filter(dod -> dod.isYear(year))
+                        .isPresent())
                 .filter(person -> person.getParents().isEmpty())
                 .toList();
     }
@@ -328,22 +327,38 @@ public class SearchService {
     }
 
     public List<PersonComparisonResults> findDuplicatedPersons(EnrichedGedcom gedcom) {
-        Set<Integer> comparedIds = new HashSet<>();
+        return findDuplicatedPersons(gedcom, properties.getDuplicatedPersonsParallelism());
+    }
 
-        List<PersonComparisonResults> results = gedcom.getPeople()
-                .stream()
-                .filter(person -> person.getSurname().isPresent())
-                .filter(person -> person.getSex() != SexType.U)
-                .map(person -> {
-                    comparedIds.add(person.getId());
-
-                    List<PersonComparisonResult> comparisonResults = gedcom
-                            .getPersonsBySurnameMainWordAndSex(
-                                    person.getSurname().get(),
-                                    person.getSex())
-                            .stream()
-                            .filter(compare -> !compare.getId().equals(person.getId()))
-                            .filter(compare -> !comparedIds.contains(compare.getId()))
+    /**
+     * Each person is only compared with the people after it in the people list which could be a duplicate of it, see
+     * {@link EnrichedGedcom#getDuplicateCandidatePositions(int)}, so every pair is compared once without keeping the
+     * compared people. The people are compared in a pool of the given parallelism and the results keep the order of
+     * the people list before being sorted by score, so they are the same whatever the parallelism is. With a
+     * parallelism of 1 the people are compared one after another in the calling thread.
+     */
+    public List<PersonComparisonResults> findDuplicatedPersons(EnrichedGedcom gedcom, int parallelism) {
+        if (parallelism <= 1) {
+            return compareDuplicateCandidates(gedcom, false);
+        }
+        try (ForkJoinPool duplicatedPersonsPool = new ForkJoinPool(parallelism)) {
+            // The parallel stream runs in the pool it is submitted to, not in the common pool
+            return duplicatedPersonsPool
+                    .submit(() -> compareDuplicateCandidates(gedcom, true))
+                    .join();
+        }
+    }
+
+    private List<PersonComparisonResults> compareDuplicateCandidates(EnrichedGedcom gedcom, boolean parallel) {
+        List<EnrichedPerson> people = gedcom.getPeople();
+        IntStream positions = IntStream.range(0, people.size());
+
+        List<PersonComparisonResults> results = (parallel ? positions.parallel() : positions)
+                .mapToObj(position -> {
+                    EnrichedPerson person = people.get(position);
+
+                    List<PersonComparisonResult> comparisonResults = Arrays.stream(gedcom.getDuplicateCandidatePositions(position))
+                            .mapToObj(people::get)
                             .map(compare -> {
                                 int duplicateScore = getDuplicateScore(person, compare);
 
@@ -501,7 +516,7 @@ public class SearchService {
 
     private List<EnrichedPerson> findPersonsByName(
             Supplier<GivenNameAndSurname> givenNameAndSurnameSupplier,
-            Function<Surname, List<EnrichedPerson>> personsSupplier) {
+            Function<GivenNameAndSurname, List<EnrichedPerson>> personsSupplier) {
         return findPersonsByNameAndAnyRelative(
                 givenNameAndSurnameSupplier,
                 personsSupplier,
@@ -512,7 +527,7 @@ public class SearchService {
 
     private List<EnrichedPerson> findPersonsByNameAndAnyRelative(
             Supplier<GivenNameAndSurname> personGivenNameAndSurnameToCompareSupplier,
-            Function<Surname, List<EnrichedPerson>> personsSupplier,
+            Function<GivenNameAndSurname, List<EnrichedPerson>> personsSupplier,
             Supplier<Optional<List<GivenNameAndSurname>>> relativesGivenNameAndSurnamesToCompareSupplier,
             Function<EnrichedPerson, List<EnrichedPerson>> relativesSupplier,
             boolean isAllRelativesGivenNameAndSurnamesToCompareMatch) {
@@ -522,7 +537,7 @@ public class SearchService {
             return List.of();
         }
 
-        List<EnrichedPerson> persons = personsSupplier.apply(personGivenNameAndSurnameToCompare.surname());
+        List<EnrichedPerson> persons = personsSupplier.apply(personGivenNameAndSurnameToCompare);
         if (persons.isEmpty()) {
             return persons;
         }
@@ -586,7 +601,7 @@ public class SearchService {
                 .stream()
                 .map(pSex -> findPersonsByName(
                         () -> GivenNameAndSurname.of(givenName, surname, pSex, properties),
-                        s -> gedcom.getPersonsBySurnameMainWordAndSex(s, pSex)))
+                        nameAndSurname -> gedcom.getPersonsBySurnameMainWordAndSexAndGivenName(nameAndSurname, pSex)))
                 .flatMap(List::stream)
                 .toList();
     }
@@ -608,7 +623,7 @@ public class SearchService {
                 .stream()
                 .map(pSex -> findPersonsByName(
                         () -> GivenNameAndSurname.of(givenName, surname, pSex, properties),
-                        s -> gedcom.getPersonsBySurnameMainWordAndSexAndYearOfBirthIndex(s, pSex, Year.of(yearOfBirth))))
+                        nameAndSurname -> gedcom.getPersonsBySurnameMainWordAndSexAndYearOfBirthIndex(nameAndSurname.surname(), pSex, Year.of(yearOfBirth))))
                 .flatMap(List::stream)
                 .toList();
     }
@@ -630,7 +645,7 @@ public class SearchService {
                 .stream()
                 .map(pSex -> findPersonsByName(
                         () -> GivenNameAndSurname.of(givenName, surname, pSex, properties),
-                        s -> gedcom.getPersonsBySurnameMainWordAndSexAndYearOfDeathIndex(s, pSex, Year.of(yearOfDeath))))
+                        nameAndSurname -> gedcom.getPersonsBySurnameMainWordAndSexAndYearOfDeathIndex(nameAndSurname.surname(), pSex, Year.of(yearOfDeath))))
                 .flatMap(List::stream)
                 .toList();
     }
@@ -652,7 +667,7 @@ public class SearchService {
                 .stream()
                 .map(pSex -> findPersonsByNameAndAnyRelative(
                         () -> GivenNameAndSurname.of(personGivenName, personSurname, pSex, properties),
-                        surname -> gedcom.getPersonsBySurnameMainWordAndSex(surname, pSex),
+                        nameAndSurname -> gedcom.getPersonsBySurnameMainWordAndSexAndGivenName(nameAndSurname, pSex),
                         () -> Optional.of(List.of(
                                 GivenNameAndSurname.of(parent1GivenName, parent1Surname, parent1Sex, properties),
                                 GivenNameAndSurname.of(parent2GivenName, parent2Surname, parent2Sex, properties))),
@@ -678,7 +693,7 @@ public class SearchService {
                 .stream()
                 .map(pSex -> findPersonsByNameAndAnyRelative(
                         () -> GivenNameAndSurname.of(personGivenName, personSurname, pSex, properties),
-                        surname -> gedcom.getPersonsBySurnameMainWordAndSex(surname, pSex),
+                        nameAndSurname -> gedcom.getPersonsBySurnameMainWordAndSexAndGivenName(nameAndSurname, pSex),
                         () -> Optional.of(spouseSexes
                                 .stream()
                                 .map(sSex -> GivenNameAndSurname.of(spouseGivenName, spouseSurname, sSex, properties))
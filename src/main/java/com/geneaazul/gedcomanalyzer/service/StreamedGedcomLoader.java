@@ -0,0 +1,276 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.GedcomRecords;
+
+import org.folg.gedcom.model.Family;
+import org.folg.gedcom.model.Gedcom;
+import org.folg.gedcom.model.Person;
+import org.folg.gedcom.parser.ModelParser;
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Loads the people of a gedcom file record by record, see {@link GedcomParsingService#parseStreamed}.
+ * <p>
+ * Records are parsed and enriched in parallel batches, and added in file order. When the records of a previous load
+ * are given, the people and families whose record digest did not change are copied from it instead.
+ */
+class StreamedGedcomLoader {
+
+    private static final String PERSON_RECORD_TAG = "INDI";
+    private static final String FAMILY_RECORD_TAG = "FAM";
+    private static final Set<String> RECORD_TAGS = Set.of(PERSON_RECORD_TAG, FAMILY_RECORD_TAG);
+    private static final int RECORDS_BATCH_SIZE = 4_096;
+
+    private final Path gedcomPath;
+    private final EnrichedGedcom gedcom;
+    @Nullable
+    private final EnrichedGedcom previousGedcom;
+    @Nullable
+    private final GedcomRecords previousRecords;
+    private final boolean keepRecords;
+
+    private final List<EnrichedPerson> enrichedPeople = new ArrayList<>();
+    private final Gedcom skeletonGedcom = new Gedcom();
+    private final Map<String, GedcomRecords.PersonRecord> personRecords = new HashMap<>();
+    private final Map<String, GedcomRecords.FamilyRecord> familyRecords = new HashMap<>();
+    private final DeltaCounter peopleDeltaCounter = new DeltaCounter();
+    private final DeltaCounter familiesDeltaCounter = new DeltaCounter();
+
+    StreamedGedcomLoader(
+            Path gedcomPath,
+            EnrichedGedcom gedcom,
+            @Nullable EnrichedGedcom previousGedcom,
+            boolean keepRecords) {
+        this.gedcomPath = gedcomPath;
+        this.gedcom = gedcom;
+        this.previousGedcom = previousGedcom;
+        this.previousRecords = previousGedcom == null ? null : previousGedcom.getRecords().orElse(null);
+        this.keepRecords = keepRecords;
+    }
+
+    List<EnrichedPerson> load() {
+        try (GedcomRecordReader recordReader = GedcomRecordReader.open(gedcomPath, RECORD_TAGS)) {
+            List<GedcomRecordReader.GedcomRecord> records = new ArrayList<>(RECORDS_BATCH_SIZE);
+            GedcomRecordReader.GedcomRecord record;
+            while ((record = recordReader.nextRecord()) != null) {
+                records.add(record);
+                if (records.size() == RECORDS_BATCH_SIZE) {
+                    addRecords(records);
+                    records.clear();
+                }
+            }
+            addRecords(records);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        skeletonGedcom.createIndexes();
+        skeletonGedcom.updateReferences();
+
+        Map<Integer, EnrichedPerson> enrichedPeopleIndex = enrichedPeople
+                .parallelStream()
+                .collect(Collectors.toUnmodifiableMap(EnrichedPerson::getId, Function.identity()));
+
+        // Relatives are people of the new gedcom, so the family links of all the people are resolved again
+        enrichedPeople
+                .parallelStream()
+                .forEach(person -> person.enrichFamily(skeletonGedcom, enrichedPeopleIndex));
+
+        if (keepRecords) {
+            gedcom.setRecords(new GedcomRecords(
+                    personRecords,
+                    familyRecords,
+                    peopleDeltaCounter.toDelta(previousRecords == null ? 0 : previousRecords.people().size()),
+                    familiesDeltaCounter.toDelta(previousRecords == null ? 0 : previousRecords.families().size())));
+        }
+
+        return List.copyOf(enrichedPeople);
+    }
+
+    private void addRecords(List<GedcomRecordReader.GedcomRecord> records) {
+        records
+                .parallelStream()
+                .map(this::toStreamedRecord)
+                .toList()
+                .forEach(this::addRecord);
+    }
+
+    private void addRecord(StreamedRecord streamedRecord) {
+        String recordId = streamedRecord.record().id();
+
+        if (streamedRecord.person() != null) {
+            enrichedPeople.add(streamedRecord.person());
+            skeletonGedcom.addPerson(toSkeletonPerson(streamedRecord.skeletonPerson()));
+            if (keepRecords && recordId != null) {
+                personRecords.put(recordId, new GedcomRecords.PersonRecord(
+                        streamedRecord.digest(),
+                        streamedRecord.person().getId(),
+                        streamedRecord.skeletonPerson()));
+            }
+            peopleDeltaCounter.count(streamedRecord, previousRecords == null ? Map.of() : previousRecords.people());
+        }
+
+        if (streamedRecord.skeletonFamily() != null) {
+            skeletonGedcom.addFamily(toSkeletonFamily(streamedRecord.skeletonFamily()));
+            if (keepRecords && recordId != null) {
+                familyRecords.put(recordId, new GedcomRecords.FamilyRecord(
+                        streamedRecord.digest(),
+                        streamedRecord.skeletonFamily()));
+            }
+            familiesDeltaCounter.count(streamedRecord, previousRecords == null ? Map.of() : previousRecords.families());
+        }
+    }
+
+    private StreamedRecord toStreamedRecord(GedcomRecordReader.GedcomRecord record) {
+        long digest = digest(record.text());
+
+        if (previousGedcom != null && previousRecords != null && record.id() != null) {
+            if (record.tag().equals(PERSON_RECORD_TAG)) {
+                GedcomRecords.PersonRecord previousRecord = previousRecords.people().get(record.id());
+                EnrichedPerson previousPerson = previousRecord != null && previousRecord.digest() == digest
+                        ? previousGedcom.getPersonById(previousRecord.personId())
+                        : null;
+                if (previousPerson != null) {
+                    return new StreamedRecord(
+                            record,
+                            digest,
+                            true,
+                            EnrichedPerson.copyOf(previousPerson, gedcom),
+                            previousRecord.skeletonPerson(),
+                            null);
+                }
+            } else {
+                GedcomRecords.FamilyRecord previousRecord = previousRecords.families().get(record.id());
+                if (previousRecord != null && previousRecord.digest() == digest) {
+                    return new StreamedRecord(record, digest, true, null, null, previousRecord.skeletonFamily());
+                }
+            }
+        }
+
+        Gedcom recordGedcom;
+        try {
+            // A record without header is parsed the same as inside the whole file, and it is discarded right after
+            recordGedcom = new ModelParser().parseGedcom(new StringReader(record.text()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SAXParseException e) {
+            throw new UncheckedIOException(new IOException("Invalid gedcom record: " + e.getMessage(), e));
+        }
+
+        Person person = recordGedcom.getPeople().isEmpty() ? null : recordGedcom.getPeople().getFirst();
+        Family family = recordGedcom.getFamilies().isEmpty() ? null : recordGedcom.getFamilies().getFirst();
+
+        return new StreamedRecord(
+                record,
+                digest,
+                false,
+                person == null ? null : EnrichedPerson.of(person, gedcom),
+                person == null ? null : toSkeletonPerson(person),
+                family == null ? null : toSkeletonFamily(family));
+    }
+
+    /**
+     * Keeps what {@link Gedcom#updateReferences} and the family enrichment need: the id, the sex and the family refs.
+     * Refs are copied, so the given person is not modified when missing references are added to the skeleton.
+     */
+    private static Person toSkeletonPerson(Person person) {
+        Person skeletonPerson = new Person();
+        skeletonPerson.setId(person.getId());
+        person
+                .getEventsFacts()
+                .stream()
+                .filter(eventFact -> "SEX".equals(eventFact.getTag()))
+                .findFirst()
+                .ifPresent(skeletonPerson::addEventFact);
+        // Empty refs are kept unset, so missing references can still be added to them
+        if (!person.getParentFamilyRefs().isEmpty()) {
+            skeletonPerson.setParentFamilyRefs(new ArrayList<>(person.getParentFamilyRefs()));
+        }
+        if (!person.getSpouseFamilyRefs().isEmpty()) {
+            skeletonPerson.setSpouseFamilyRefs(new ArrayList<>(person.getSpouseFamilyRefs()));
+        }
+        return skeletonPerson;
+    }
+
+    /**
+     * Keeps the id, the events and the refs of the family, refs are copied the same as in {@link #toSkeletonPerson}.
+     */
+    private static Family toSkeletonFamily(Family family) {
+        Family skeletonFamily = new Family();
+        skeletonFamily.setId(family.getId());
+        skeletonFamily.setEventsFacts(family.getEventsFacts());
+        if (!family.getHusbandRefs().isEmpty()) {
+            skeletonFamily.setHusbandRefs(new ArrayList<>(family.getHusbandRefs()));
+        }
+        if (!family.getWifeRefs().isEmpty()) {
+            skeletonFamily.setWifeRefs(new ArrayList<>(family.getWifeRefs()));
+        }
+        if (!family.getChildRefs().isEmpty()) {
+            skeletonFamily.setChildRefs(new ArrayList<>(family.getChildRefs()));
+        }
+        return skeletonFamily;
+    }
+
+    private static long digest(String recordText) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(recordText.getBytes(StandardCharsets.UTF_8));
+            // A record is only compared against the previous record with the same id, 64 bits are enough
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class DeltaCounter {
+
+        private int added;
+        private int changed;
+        private int unchanged;
+
+        void count(StreamedRecord streamedRecord, Map<String, ?> previousRecordsById) {
+            if (streamedRecord.isReused()) {
+                unchanged++;
+            } else if (streamedRecord.record().id() != null && previousRecordsById.containsKey(streamedRecord.record().id())) {
+                changed++;
+            } else {
+                added++;
+            }
+        }
+
+        GedcomRecords.Delta toDelta(int previousCount) {
+            // Previous records that were neither changed nor kept unchanged were removed
+            return new GedcomRecords.Delta(added, changed, previousCount - changed - unchanged, unchanged);
+        }
+
+    }
+
+    private record StreamedRecord(
+            GedcomRecordReader.GedcomRecord record,
+            long digest,
+            boolean isReused,
+            @Nullable EnrichedPerson person,
+            @Nullable Person skeletonPerson,
+            @Nullable Family skeletonFamily) {
+    }
+
+}
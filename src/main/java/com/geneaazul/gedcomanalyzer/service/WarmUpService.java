@@ -0,0 +1,186 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.Surname;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchConnectionDetailsDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchConnectionDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyDetailsDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchPersonDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchSurnamesDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SexType;
+import com.geneaazul.gedcomanalyzer.service.familytree.PlainFamilyTreePdfService;
+import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
+import com.geneaazul.gedcomanalyzer.utils.PersonUtils;
+
+import org.springframework.stereotype.Service;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms up the loaded gedcom before users hit it: recent searches are replayed, the tree summaries of the people
+ * with the most searched surnames are calculated, and the fonts used by the PDF family trees are loaded. The
+ * health check reports the app as ready only once the warm-up is over, whether it succeeded or not.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmUpService {
+
+    private final GedcomHolder gedcomHolder;
+    private final FamilyService familyService;
+    private final ConnectionService connectionService;
+    private final SurnameService surnameService;
+    private final PersonService personService;
+    private final PlainFamilyTreePdfService plainFamilyTreePdfService;
+    private final GedcomAnalyzerProperties properties;
+
+    private volatile boolean isReady;
+
+    public boolean isReady() {
+        return isReady;
+    }
+
+    public void warmUp() {
+        if (!properties.isWarmUpEnabled()) {
+            isReady = true;
+            return;
+        }
+
+        Instant start = Instant.now();
+        // The warm-up stops replaying once over its max duration, so it ends within the health check grace period
+        Instant deadline = start.plus(properties.getWarmUpMaxDuration());
+
+        try {
+            EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+
+            List<SearchFamilyDetailsDto> recentFamilySearches = familyService
+                    .getLatest(null, null, null, null, 0, properties.getWarmUpRecentSearches(), null);
+            long replayedSearches = recentFamilySearches
+                    .stream()
+                    .filter(searchFamily -> replay(searchFamily, deadline, () -> familyService.search(toSearchFamilyDto(searchFamily))))
+                    .count();
+
+            replayedSearches += connectionService
+                    .getLatest(null, null, null, 0, properties.getWarmUpRecentSearches(), null)
+                    .stream()
+                    .filter(searchConnection -> replay(searchConnection, deadline, () -> connectionService.search(toSearchConnectionDto(searchConnection))))
+                    .count();
+
+            List<String> topSurnames = getTopSurnames(recentFamilySearches);
+            if (!topSurnames.isEmpty()) {
+                surnameService.search(SearchSurnamesDto.builder()
+                        .surnames(topSurnames)
+                        .build());
+                topSurnames.forEach(surname -> precomputeTreeSummaries(surname, gedcom, deadline));
+            }
+
+            Files.createDirectories(properties.getTempDir().resolve("family-trees"));
+            plainFamilyTreePdfService.warmUp();
+
+            log.info("Warm-up completed - replayed searches: {} - top surnames: {} - time: {}",
+                    replayedSearches, topSurnames, Duration.between(start, Instant.now()));
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("Error when warming up, the app is ready anyway", e);
+        } finally {
+            isReady = true;
+        }
+    }
+
+    private boolean replay(Object search, Instant deadline, Runnable searchRunnable) {
+        if (Instant.now().isAfter(deadline)) {
+            return false;
+        }
+        try {
+            searchRunnable.run();
+            return true;
+        } catch (RuntimeException e) {
+            // A single invalid search must not stop the warm-up
+            log.debug("Error when replaying search: {}", search, e);
+            return false;
+        }
+    }
+
+    private List<String> getTopSurnames(List<SearchFamilyDetailsDto> searchFamilies) {
+        return searchFamilies
+                .stream()
+                .flatMap(searchFamily -> Stream.of(
+                        searchFamily.getIndividual(),
+                        searchFamily.getSpouse(),
+                        searchFamily.getFather(),
+                        searchFamily.getMother(),
+                        searchFamily.getPaternalGrandfather(),
+                        searchFamily.getPaternalGrandmother(),
+                        searchFamily.getMaternalGrandfather(),
+                        searchFamily.getMaternalGrandmother()))
+                .map(searchPerson -> Optional.ofNullable(searchPerson)
+                        .map(SearchPersonDto::getSurname)
+                        .map(StringUtils::trimToNull)
+                        .map(String::toLowerCase)
+                        .orElse(null))
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(properties.getWarmUpTopSurnames())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void precomputeTreeSummaries(String surname, EnrichedGedcom gedcom, Instant deadline) {
+        Optional<Surname> maybeSurname = PersonUtils.getShortenedSurnameMainWord(surname, properties.getNormalizedSurnamesMap());
+        if (maybeSurname.isEmpty()) {
+            return;
+        }
+
+        Stream.of(SexType.M, SexType.F)
+                .map(sex -> gedcom.getPersonsBySurnameMainWordAndSex(maybeSurname.get(), sex))
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(EnrichedPerson::getId))
+                .limit(properties.getWarmUpTreeSummariesPerSurname())
+                .takeWhile(_ -> !Instant.now().isAfter(deadline))
+                .forEach(personService::getPersonTreeStats);
+    }
+
+    private static SearchFamilyDto toSearchFamilyDto(SearchFamilyDetailsDto searchFamily) {
+        return SearchFamilyDto.builder()
+                .individual(searchFamily.getIndividual())
+                .spouse(searchFamily.getSpouse())
+                .father(searchFamily.getFather())
+                .mother(searchFamily.getMother())
+                .paternalGrandfather(searchFamily.getPaternalGrandfather())
+                .paternalGrandmother(searchFamily.getPaternalGrandmother())
+                .maternalGrandfather(searchFamily.getMaternalGrandfather())
+                .maternalGrandmother(searchFamily.getMaternalGrandmother())
+                .build();
+    }
+
+    private static SearchConnectionDto toSearchConnectionDto(SearchConnectionDetailsDto searchConnection) {
+        return SearchConnectionDto.builder()
+                .person1(searchConnection.getPerson1())
+                .person2(searchConnection.getPerson2())
+                .build();
+    }
+
+}
@@ -2,6 +2,7 @@ package com.geneaazul.gedcomanalyzer.service.familytree;
 
 import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
 import com.geneaazul.gedcomanalyzer.model.GivenName;
+import com.geneaazul.gedcomanalyzer.model.PersonTreeStats;
 import com.geneaazul.gedcomanalyzer.model.Relationship;
 import com.geneaazul.gedcomanalyzer.model.Relationships;
 import com.geneaazul.gedcomanalyzer.model.Surname;
@@ -9,10 +10,10 @@ import com.geneaazul.gedcomanalyzer.service.PersonService;
 
 import org.springframework.stereotype.Service;
 
-import org.apache.commons.lang3.mutable.MutableInt;
-
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -39,9 +40,7 @@ public class FamilyTreeHelper {
     }
 
     public List<List<Relationship>> getRelationshipsWithNotInLawPriority(EnrichedPerson person) {
-        List<Relationships> relationshipsList = personService.setTransientProperties(person, false);
-
-        MutableInt orderKey = new MutableInt(1);
+        List<Relationships> relationshipsList = personService.getPeopleInTree(person, false, false, true);
 
         return relationshipsList
                 .stream()
@@ -61,8 +60,28 @@ public class FamilyTreeHelper {
                     return List.copyOf(relationships.getOrderedRelationships());
                 })
                 .sorted(Comparator.comparing(List::getFirst))
-                .peek(relationships -> relationships.getFirst().person().setOrderKey(orderKey.getAndIncrement()))
                 .toList();
     }
 
+    /**
+     * Stats of the tree of the root person, taking the prioritized (not-in-law) relationship of each group.
+     */
+    public PersonTreeStats getPersonTreeStats(List<List<Relationship>> relationshipsWithNotInLawPriority) {
+        return personService.getPersonTreeStats(relationshipsWithNotInLawPriority
+                .stream()
+                .map(List::getFirst)
+                .toList());
+    }
+
+    /**
+     * The order key of each person is its 1-based position in the given relationships.
+     */
+    public Map<Integer, Integer> getOrderKeysByPersonId(List<Relationship> relationships) {
+        Map<Integer, Integer> orderKeysByPersonId = new HashMap<>(relationships.size() * 2);
+        for (int i = 0; i < relationships.size(); i++) {
+            orderKeysByPersonId.put(relationships.get(i).person().getId(), i + 1);
+        }
+        return orderKeysByPersonId;
+    }
+
 }
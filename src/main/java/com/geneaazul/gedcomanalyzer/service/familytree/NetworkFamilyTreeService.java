@@ -176,13 +176,16 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
                 .map(List::getFirst)
                 .toList();
 
+        Map<Integer, Integer> orderKeysByPersonId = familyTreeHelper.getOrderKeysByPersonId(peopleToExport);
+
         try {
             generateNetworkHTML(
                     htmlPyvisNetworkFilePath,
                     csvPyvisNetworkNodesFilePath,
                     csvPyvisNetworkEdgesFilePath,
                     obfuscateLiving,
-                    peopleToExport);
+                    peopleToExport,
+                    orderKeysByPersonId);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -193,7 +196,8 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
             Path csvPyvisNetworkNodesFilePath,
             Path csvPyvisNetworkEdgesFilePath,
             boolean obfuscateLiving,
-            List<Relationship> relationships) throws IOException {
+            List<Relationship> relationships,
+            Map<Integer, Integer> orderKeysByPersonId) throws IOException {
 
         // Make sure target directory exists
         Files.createDirectories(htmlPyvisNetworkFilePath.getParent());
@@ -221,12 +225,12 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
                 .collect(Collectors.toMap(
                         r -> r.person().getId(),
                         r -> relationshipMapper.formatInSpanish(
-                                relationshipMapper.toRelationshipDto(r, false), false)));
+                                relationshipMapper.toRelationshipDto(r, orderKeysByPersonId.get(r.person().getId()), false), false)));
 
         // Generate files
         EnrichedPerson rootPerson = relationships.getFirst().person();
-        exportToPyvisNodesCSV(csvPyvisNetworkNodesFilePath, peopleInTree, obfuscateLiving, rootPerson, countryColorsMap, relationshipToRoot);
-        exportToPyvisEdgesCSV(csvPyvisNetworkEdgesFilePath, peopleInTree);
+        exportToPyvisNodesCSV(csvPyvisNetworkNodesFilePath, peopleInTree, obfuscateLiving, rootPerson, countryColorsMap, relationshipToRoot, orderKeysByPersonId);
+        exportToPyvisEdgesCSV(csvPyvisNetworkEdgesFilePath, peopleInTree, orderKeysByPersonId);
         exportToPyvisNetworkHTML(htmlPyvisNetworkFilePath, csvPyvisNetworkNodesFilePath, csvPyvisNetworkEdgesFilePath, rootPerson.getDisplayName(), countryToColorForLegend);
     }
 
@@ -281,7 +285,8 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
             boolean obfuscateLiving,
             EnrichedPerson rootPerson,
             Map<String, String[]> countryColorsMap,
-            Map<Integer, FormattedRelationship> relationshipToRoot) throws IOException {
+            Map<Integer, FormattedRelationship> relationshipToRoot,
+            Map<Integer, Integer> orderKeysByPersonId) throws IOException {
 
         String[] HEADERS = {"id", "label", "title", "shape", "borderWidth", "color", "size"};
 
@@ -325,7 +330,7 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
                             .stream()
                             .filter(swc -> swc.getSpouse().isPresent())
                             .filter(swc -> idsToExport.contains(swc.getSpouse().get().getId()))
-                            .filter(swc -> person.getOrderKey().compareTo(swc.getSpouse().get().getOrderKey()) < 0)
+                            .filter(swc -> orderKeysByPersonId.get(person.getId()) < orderKeysByPersonId.get(swc.getSpouse().get().getId()))
                             .filter(swc -> hasChildrenToExport(swc.getChildren(), idsToExport))
                             .forEach(swc -> {
                                 try {
@@ -333,6 +338,7 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
                                             person,
                                             swc.getSpouse().get(),
                                             false,
+                                            orderKeysByPersonId,
                                             obfuscateLiving,
                                             defaultLabel,
                                             coupleNodeBorderWidth,
@@ -350,7 +356,10 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
         }
     }
 
-    public void exportToPyvisEdgesCSV(Path path, List<EnrichedPerson> people) throws IOException {
+    public void exportToPyvisEdgesCSV(
+            Path path,
+            List<EnrichedPerson> people,
+            Map<Integer, Integer> orderKeysByPersonId) throws IOException {
 
         String[] HEADERS = {"source", "target", "title", "weight", "width", "color", "dashes"};
 
@@ -389,13 +398,14 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
                         .filter(swc -> swc.getSpouse().isPresent())
                         .filter(swc -> idsToExport.contains(swc.getSpouse().get().getId()))
                         .filter(swc -> hasChildrenToExport(swc.getChildren(), idsToExport)
-                                || person.getOrderKey().compareTo(swc.getSpouse().get().getOrderKey()) < 0)
+                                || orderKeysByPersonId.get(person.getId()) < orderKeysByPersonId.get(swc.getSpouse().get().getId()))
                         .forEach(swc -> {
                             try {
                                 String[] coupleCsvRecord = pyvisNetworkMapper.toPyvisSpouseEdgeCsvRecord(
                                         person,
                                         swc.getSpouse().get(),
                                         !hasChildrenToExport(swc.getChildren(), idsToExport),
+                                        orderKeysByPersonId,
                                         swc.isSeparated(),
                                         defaultSpouseTitle,
                                         separatedTitle,
@@ -417,7 +427,7 @@ public class NetworkFamilyTreeService implements FamilyTreeService {
                         .forEach(swc -> {
                             String sourceId = swc.getSpouse().isEmpty()
                                     ? person.getId().toString()
-                                    : pyvisNetworkMapper.buildCoupleNodeId(person, swc.getSpouse().get(), false);
+                                    : pyvisNetworkMapper.buildCoupleNodeId(person, swc.getSpouse().get(), false, orderKeysByPersonId);
                             swc.getChildrenWithReference()
                                     .stream()
                                     .filter(cwr -> idsToExport.contains(cwr.person().getId()))
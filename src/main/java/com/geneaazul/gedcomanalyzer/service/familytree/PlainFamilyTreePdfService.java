@@ -8,7 +8,10 @@ import com.geneaazul.gedcomanalyzer.model.FormattedRelationship;
 import com.geneaazul.gedcomanalyzer.model.FormattedShortestPathDistance;
 import com.geneaazul.gedcomanalyzer.model.FormattedShortestPathRelationship;
 import com.geneaazul.gedcomanalyzer.model.GivenName;
+import com.geneaazul.gedcomanalyzer.model.LandmarkPathIndex;
+import com.geneaazul.gedcomanalyzer.model.PersonTreeStats;
 import com.geneaazul.gedcomanalyzer.model.Relationship;
+import com.geneaazul.gedcomanalyzer.model.ShortestPathTree;
 import com.geneaazul.gedcomanalyzer.model.Surname;
 import com.geneaazul.gedcomanalyzer.model.dto.RelationshipDto;
 import com.geneaazul.gedcomanalyzer.service.PersonService;
@@ -99,9 +102,6 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
     private static final int MAX_DISTINGUISHED_PERSONS_TO_DISPLAY = 92;
     private static final String DATE_TIME_PATTERN = "EEEE d 'de' MMMM 'de' yyyy 'a las' HH:mm:ss 'hs.'";
 
-    // Cacique Cipriano Catriel, Manuel Belgrano, Papa Francisco, Pedro Burgos, Rubén De Paula, Justo José de Urquiza
-    private static final List<Integer> SHORTEST_PATH_TARGET_PERSON_IDS = List.of(511668, 543016, 525113, 518817, 505424, 545653);
-
     private final PersonService personService;
     private final RelationshipMapper relationshipMapper;
     private final Map<EmbeddedFontsConfig.Font, String> embeddedFonts;
@@ -133,6 +133,12 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
             List<List<Relationship>> peopleInTree) {
         log.info("Generating plain family tree PDF");
 
+        PersonTreeStats treeStats = familyTreeHelper.getPersonTreeStats(peopleInTree);
+        Map<Integer, Integer> orderKeysByPersonId = familyTreeHelper.getOrderKeysByPersonId(peopleInTree
+                .stream()
+                .map(List::getFirst)
+                .toList());
+
         Set<Integer> distinguishedRelatives = new HashSet<>();
         List<FormattedRelationship> formattedRelationships = peopleInTree
                 .stream()
@@ -145,6 +151,7 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
                         .stream()
                         .map(relationship -> relationshipMapper.toRelationshipDto(
                                 relationship,
+                                orderKeysByPersonId.get(relationship.person().getId()),
                                 getObfuscateCondition(obfuscateLiving, person, relationship)))
                         .map(relationship -> relationshipMapper.formatInSpanish(relationship, onlySecondaryDescription))
                         .toList())
@@ -165,6 +172,7 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
             exportToPDF(
                     exportFilePath,
                     person,
+                    treeStats,
                     formattedRelationships,
                     formattedShortestPath.getLeft(),
                     formattedShortestPath.getRight());
@@ -176,6 +184,7 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
     private void exportToPDF(
             Path exportFilePath,
             EnrichedPerson person,
+            PersonTreeStats treeStats,
             List<FormattedRelationship> peopleInTree,
             List<FormattedShortestPathDistance> distances,
             List<List<FormattedShortestPathRelationship>> relationshipsList) throws IOException {
@@ -202,6 +211,7 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
             writeFirstPage(
                     document,
                     person,
+                    treeStats,
                     peopleInTree,
                     maxPersonsInFirstPage,
                     isAnyPersonObfuscated,
@@ -289,6 +299,7 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
     private void writeFirstPage(
             PDDocument document,
             EnrichedPerson person,
+            PersonTreeStats treeStats,
             List<FormattedRelationship> peopleInTree,
             int maxPersonsInFirstPage,
             boolean isAnyPersonObfuscated,
@@ -318,12 +329,12 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
             float textSepY = 70f;
 
             writeText(stream, light, 11f, 1.3f, textPosX, textPosY,
-                    "Personas:  " + person.getPersonsCountInTree(),
-                    "Apellidos (en caso de apellidos compuestos sólo se considera el primero):  " + person.getSurnamesCountInTree(),
-                    "Generaciones:  " + person.getAncestryGenerations().getTotalGenerations()
-                            + "  (ascendencia directa: " + person.getAncestryGenerations().ascending()
-                            + ", descendencia directa: " + person.getAncestryGenerations().directDescending() + ")",
-                    "Países en su ascendencia:  " + (person.getAncestryCountries().isEmpty() ? "-" : String.join(", ", person.getAncestryCountries())));
+                    "Personas:  " + treeStats.personsCountInTree(),
+                    "Apellidos (en caso de apellidos compuestos sólo se considera el primero):  " + treeStats.surnamesCountInTree(),
+                    "Generaciones:  " + treeStats.ancestryGenerations().getTotalGenerations()
+                            + "  (ascendencia directa: " + treeStats.ancestryGenerations().ascending()
+                            + ", descendencia directa: " + treeStats.ancestryGenerations().directDescending() + ")",
+                    "Países en su ascendencia:  " + (treeStats.ancestryCountries().isEmpty() ? "-" : String.join(", ", treeStats.ancestryCountries())));
 
             writePeopleInPage(
                     stream,
@@ -648,13 +659,14 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
             boolean onlySecondaryDescription) {
         long startTime = System.currentTimeMillis();
 
-        var shortestPathFromSource = PathUtils.calculateShortestPathFromSource(
+        // Only the nearest distinguished persons are displayed, so the search stops once they are reached
+        ShortestPathTree shortestPathTree = PathUtils.calculateShortestPathFromSource(
                 person.getGedcom(),
                 person,
                 true,
-                true);
-        Map<Integer, Integer> shortestDistancesByPersonId = shortestPathFromSource.getLeft();
-        Map<Integer, List<Integer>> shortestPathsByPersonId = shortestPathFromSource.getRight();
+                EnrichedPerson::isDistinguishedPerson,
+                MAX_DISTINGUISHED_PERSONS_TO_DISPLAY);
+        LandmarkPathIndex landmarkPathIndex = person.getGedcom().getLandmarkPathIndex();
 
         List<FormattedShortestPathDistance> formattedShortestPathDistances = person.getGedcom()
                 .getPeople()
@@ -666,7 +678,7 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
                         distinguished.getSurname().map(Surname::simplified).orElseThrow(),
                         distinguished.getDisplayName(),
                         distinguishedRelatives.contains(distinguished.getId()),
-                        shortestDistancesByPersonId.get(distinguished.getId())))
+                        shortestPathTree.getDistance(distinguished.getId())))
                 .filter(distance -> distance.distance() != null)
                 .sorted(Comparator.comparing(FormattedShortestPathDistance::distance)
                         .thenComparing(FormattedShortestPathDistance::isRelative, Comparator.reverseOrder())
@@ -676,11 +688,12 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
                 .limit(MAX_DISTINGUISHED_PERSONS_TO_DISPLAY)
                 .toList();
 
-        List<List<FormattedShortestPathRelationship>> formattedShortestPathRelationshipsList = SHORTEST_PATH_TARGET_PERSON_IDS
+        List<List<FormattedShortestPathRelationship>> formattedShortestPathRelationshipsList = landmarkPathIndex
+                .getLandmarkIds()
                 .stream()
-                .map(shortestPathPersonId -> {
+                .map(landmarkId -> {
                     List<FormattedShortestPathRelationship> formattedShortestPathRelationships = new ArrayList<>();
-                    List<Integer> shortestPath = shortestPathsByPersonId.getOrDefault(shortestPathPersonId, List.of());
+                    List<Integer> shortestPath = landmarkPathIndex.pathToLandmark(person.getId(), landmarkId);
                     if (shortestPath.size() > 1) {
                         for (int i = 0; i < shortestPath.size(); i++) {
                             EnrichedPerson personA = Objects.requireNonNull(person.getGedcom().getPersonById(shortestPath.get(i)));
@@ -933,6 +946,17 @@ public class PlainFamilyTreePdfService extends PlainFamilyTreeService {
         stream.endText();
     }
 
+    /**
+     * Loads every embedded font into an empty document, so the first exported PDF does not pay for loading them.
+     */
+    public void warmUp() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (EmbeddedFontsConfig.Font font : EmbeddedFontsConfig.Font.values()) {
+                loadFont(document, font);
+            }
+        }
+    }
+
     @SuppressWarnings("SameParameterValue")
     private PDFont loadFont(PDDocument document, EmbeddedFontsConfig.Font font) throws IOException {
         PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
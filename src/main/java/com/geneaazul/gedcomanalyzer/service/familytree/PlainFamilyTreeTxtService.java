@@ -4,6 +4,7 @@ import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
 import com.geneaazul.gedcomanalyzer.mapper.RelationshipMapper;
 import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
 import com.geneaazul.gedcomanalyzer.model.FormattedRelationship;
+import com.geneaazul.gedcomanalyzer.model.PersonTreeStats;
 import com.geneaazul.gedcomanalyzer.model.Relationship;
 import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
 import com.geneaazul.gedcomanalyzer.utils.PlaceUtils;
@@ -19,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
@@ -52,11 +54,20 @@ public class PlainFamilyTreeTxtService extends PlainFamilyTreeService {
             List<List<Relationship>> peopleInTree) {
         log.info("Generating plain family tree TXT");
 
+        PersonTreeStats treeStats = familyTreeHelper.getPersonTreeStats(peopleInTree);
+        Map<Integer, Integer> orderKeysByPersonId = familyTreeHelper.getOrderKeysByPersonId(peopleInTree
+                .stream()
+                .map(List::getFirst)
+                .toList());
+
         List<FormattedRelationship> formattedRelationships = peopleInTree
                 .stream()
                 .map(relationships -> relationships
                         .stream()
-                        .map(relationship -> relationshipMapper.toRelationshipDto(relationship, obfuscateLiving))
+                        .map(relationship -> relationshipMapper.toRelationshipDto(
+                                relationship,
+                                orderKeysByPersonId.get(relationship.person().getId()),
+                                obfuscateLiving))
                         .map(relationship -> relationshipMapper.formatInSpanish(relationship, onlySecondaryDescription))
                         .toList())
                 .map(frs -> frs
@@ -66,7 +77,7 @@ public class PlainFamilyTreeTxtService extends PlainFamilyTreeService {
                 .toList();
 
         try {
-            exportToTXT(exportFilePath, person, formattedRelationships);
+            exportToTXT(exportFilePath, person, treeStats, formattedRelationships);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -75,17 +86,18 @@ public class PlainFamilyTreeTxtService extends PlainFamilyTreeService {
     private void exportToTXT(
             Path exportFilePath,
             EnrichedPerson person,
+            PersonTreeStats treeStats,
             List<FormattedRelationship> peopleInTree) throws IOException {
 
         Stream<String> header = Stream.of(
                 "Árbol genealógico de " + person.getDisplayName(),
                 "",
-                "Personas:  " + person.getPersonsCountInTree(),
-                "Apellidos (en caso de apellidos compuestos sólo se considera el primero):  " + person.getSurnamesCountInTree(),
-                "Generaciones:  " + person.getAncestryGenerations().getTotalGenerations()
-                        + "  (ascendencia directa: " + person.getAncestryGenerations().ascending()
-                        + ", descendencia directa: " + person.getAncestryGenerations().directDescending() + ")",
-                "Países en su ascendencia:  " + (person.getAncestryCountries().isEmpty() ? "-" : String.join(", ", person.getAncestryCountries())),
+                "Personas:  " + treeStats.personsCountInTree(),
+                "Apellidos (en caso de apellidos compuestos sólo se considera el primero):  " + treeStats.surnamesCountInTree(),
+                "Generaciones:  " + treeStats.ancestryGenerations().getTotalGenerations()
+                        + "  (ascendencia directa: " + treeStats.ancestryGenerations().ascending()
+                        + ", descendencia directa: " + treeStats.ancestryGenerations().directDescending() + ")",
+                "Países en su ascendencia:  " + (treeStats.ancestryCountries().isEmpty() ? "-" : String.join(", ", treeStats.ancestryCountries())),
                 "");
 
         Stream<String> people = peopleInTree
@@ -0,0 +1,624 @@
+package com.geneaazul.gedcomanalyzer.service.storage;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.Aka;
+import com.geneaazul.gedcomanalyzer.model.Date;
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPersonWithReference;
+import com.geneaazul.gedcomanalyzer.model.EnrichedSpouseWithChildren;
+import com.geneaazul.gedcomanalyzer.model.GedcomInterner;
+import com.geneaazul.gedcomanalyzer.model.GivenName;
+import com.geneaazul.gedcomanalyzer.model.Place;
+import com.geneaazul.gedcomanalyzer.model.PlaceAndDate;
+import com.geneaazul.gedcomanalyzer.model.ProfilePicture;
+import com.geneaazul.gedcomanalyzer.model.Surname;
+import com.geneaazul.gedcomanalyzer.model.dto.ReferenceType;
+import com.geneaazul.gedcomanalyzer.model.dto.SexType;
+import com.geneaazul.gedcomanalyzer.utils.PersonUtils;
+
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import jakarta.annotation.Nullable;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Versioned binary snapshot of an {@link EnrichedGedcom}, written next to its gedcom file after it is parsed. On the
+ * next load, when the size, modified time and digest of the gedcom file still match, the snapshot is memory-mapped and
+ * the people are restored from it, so the gedcom is neither parsed nor enriched again.
+ * <p>
+ * Layout: header, people, family of each person (as indexes of the people), places table, strings table, and a
+ * trailer with the offsets of both tables. Every string is written once in the strings table and referenced by index.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BinarySnapshotService {
+
+    public static final String SNAPSHOT_FILE_EXTENSION = ".snapshot";
+
+    private static final int MAGIC_NUMBER = 0x47415A53; // GAZS
+    // Must be increased whenever the layout or the enrichment of people changes
+    private static final int FORMAT_VERSION = 3;
+
+    private static final SexType[] SEX_TYPES = SexType.values();
+    private static final Date.Operator[] DATE_OPERATORS = Date.Operator.values();
+    private static final ReferenceType[] REFERENCE_TYPES = ReferenceType.values();
+
+    private final GedcomAnalyzerProperties properties;
+
+    public record SourceFingerprint(long size, Instant lastModified, String digest) {
+    }
+
+    public boolean isEnabled() {
+        // Restored people have no reference to their legacy person
+        return properties.isBinarySnapshotEnabled() && !properties.isKeepReferenceToLegacyGedcom();
+    }
+
+    public static Path getSnapshotPath(Path gedcomPath) {
+        return gedcomPath.resolveSibling(gedcomPath.getFileName() + SNAPSHOT_FILE_EXTENSION);
+    }
+
+    /**
+     * The digest covers the content of the gedcom file and the name settings used to enrich its people.
+     */
+    public SourceFingerprint fingerprint(Path gedcomPath) throws IOException {
+        long size = Files.size(gedcomPath);
+        Instant lastModified = Files.getLastModifiedTime(gedcomPath).toInstant();
+
+        MessageDigest digest = newDigest();
+        try (InputStream is = Files.newInputStream(gedcomPath)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        Stream
+                .<Map<?, ?>>of(
+                        properties.getNormalizedGivenNamesMap(),
+                        properties.getNormalizedSurnamesMap(),
+                        properties.getNamePrefixesMap(),
+                        Map.of("zoneId", properties.getZoneId()))
+                .flatMap(map -> map
+                        .entrySet()
+                        .stream()
+                        .map(entry -> entry.getKey() + "=" + entry.getValue() + "\n")
+                        .sorted())
+                .forEach(line -> digest.update(line.getBytes(StandardCharsets.UTF_8)));
+
+        return new SourceFingerprint(size, lastModified, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Returns the restored gedcom, or empty when there is no snapshot, it cannot be read or it does not match the
+     * fingerprint.
+     */
+    public Optional<EnrichedGedcom> read(Path gedcomPath, SourceFingerprint fingerprint) {
+        Path snapshotPath = getSnapshotPath(gedcomPath);
+        if (Files.notExists(snapshotPath)) {
+            return Optional.empty();
+        }
+
+        Instant start = Instant.now();
+
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ);
+                Arena arena = Arena.ofShared()) {
+            // People are decoded in the enrichment pool, not by this thread. Restored values are copied to the heap, so
+            // the file is unmapped as soon as it is decoded
+            ByteBuffer buffer = channel
+                    .map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena)
+                    .asByteBuffer();
+
+            SnapshotReader reader = new SnapshotReader(buffer);
+            if (!reader.readHeader(fingerprint, getUuidCheck())) {
+                log.info("Binary snapshot is outdated: {}", snapshotPath);
+                return Optional.empty();
+            }
+
+            ZonedDateTime modifiedDateTime = fingerprint.lastModified().atZone(properties.getZoneId());
+            EnrichedGedcom gedcom = EnrichedGedcom.load(gedcomPath.toString(), modifiedDateTime, properties, reader::readPeople);
+
+            log.info("Binary snapshot loaded: {} - people: {} - time: {}",
+                    snapshotPath, gedcom.getPeople().size(), Duration.between(start, Instant.now()));
+            return Optional.of(gedcom);
+
+        } catch (IOException | BufferUnderflowException e) {
+            // Only an unreadable or truncated snapshot is a miss, any other error is a bug and is propagated
+            log.warn("Error when reading binary snapshot: {}", snapshotPath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot of a gedcom parsed from the fingerprinted gedcom file. Errors are only logged, as the
+     * snapshot is just an optimization for the next load.
+     */
+    public void write(EnrichedGedcom gedcom, Path gedcomPath, SourceFingerprint fingerprint) {
+        Path snapshotPath = getSnapshotPath(gedcomPath);
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath), 64 * 1024))) {
+                new SnapshotWriter(out).write(gedcom, fingerprint, getUuidCheck());
+            }
+            // Readers never see a partially written snapshot
+            Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Binary snapshot written: {}", snapshotPath);
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("Error when writing binary snapshot: {}", snapshotPath, e);
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException ex) {
+                // do nothing
+            }
+        }
+    }
+
+    /**
+     * Uuid of a fixed id, person uuids restored from a snapshot written with another uuid secret would be wrong.
+     */
+    private UUID getUuidCheck() {
+        return PersonUtils.getUuid(0, properties.getPersonUuidSecret());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class SnapshotWriter {
+
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<Place, Integer> placeIndexes = new HashMap<>();
+        private final List<Place> places = new ArrayList<>();
+        private final Map<Integer, Integer> personIndexes = new HashMap<>();
+
+        SnapshotWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void write(EnrichedGedcom gedcom, SourceFingerprint fingerprint, UUID uuidCheck) throws IOException {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(fingerprint.size());
+            out.writeLong(fingerprint.lastModified().getEpochSecond());
+            out.writeInt(fingerprint.lastModified().getNano());
+            writeBytes(fingerprint.digest().getBytes(StandardCharsets.UTF_8));
+            out.writeLong(uuidCheck.getMostSignificantBits());
+            out.writeLong(uuidCheck.getLeastSignificantBits());
+
+            List<EnrichedPerson> people = gedcom.getPeople();
+            for (int i = 0; i < people.size(); i++) {
+                personIndexes.put(people.get(i).getId(), i);
+            }
+
+            out.writeInt(people.size());
+            for (EnrichedPerson person : people) {
+                writePerson(person);
+            }
+            for (EnrichedPerson person : people) {
+                writeFamily(person);
+            }
+
+            long placesOffset = out.size();
+            out.writeInt(places.size());
+            for (Place place : places) {
+                writeString(place.name());
+                writeString(place.forSearch());
+                writeString(place.country());
+            }
+
+            long stringsOffset = out.size();
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                writeBytes(string.getBytes(StandardCharsets.UTF_8));
+            }
+
+            // The size of the stream saturates at Integer.MAX_VALUE, and a mapped buffer can not be larger anyway
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Binary snapshot is too large");
+            }
+
+            out.writeLong(placesOffset);
+            out.writeLong(stringsOffset);
+        }
+
+        private void writePerson(EnrichedPerson person) throws IOException {
+            out.writeInt(person.getId());
+            out.writeLong(person.getUuid().getMostSignificantBits());
+            out.writeLong(person.getUuid().getLeastSignificantBits());
+            out.writeByte(person.getSex().ordinal());
+            writeGivenName(person.getGivenName().orElse(null));
+            writeSurname(person.getSurname().orElse(null));
+            writeString(person.getDisplayName());
+            writeAka(person.getAka().orElse(null));
+            writeProfilePicture(person.getProfilePicture().orElse(null));
+            writeDate(person.getDateOfBirth().orElse(null));
+            writeDate(person.getDateOfDeath().orElse(null));
+            writePlace(person.getPlaceOfBirth().orElse(null));
+            writePlace(person.getPlaceOfDeath().orElse(null));
+            out.writeBoolean(person.isAlive());
+            writePlacesAndDates(person.getResidences());
+            writePlacesAndDates(person.getImmigrations());
+            out.writeBoolean(person.isDistinguishedPerson());
+            out.writeBoolean(person.isNativePerson());
+            out.writeBoolean(person.isDisappearedPerson());
+
+            out.writeInt(person.getEmails().size());
+            for (String email : person.getEmails()) {
+                writeString(email);
+            }
+
+            ZonedDateTime updateDate = person.getUpdateDate().orElse(null);
+            out.writeBoolean(updateDate != null);
+            if (updateDate != null) {
+                out.writeLong(updateDate.toEpochSecond());
+                out.writeInt(updateDate.getNano());
+                writeString(updateDate.getZone().getId());
+            }
+        }
+
+        private void writeFamily(EnrichedPerson person) throws IOException {
+            writePeopleWithReference(person.getParentsWithReference());
+
+            out.writeInt(person.getSpousesWithChildren().size());
+            for (EnrichedSpouseWithChildren spouseWithChildren : person.getSpousesWithChildren()) {
+                writePersonIndex(spouseWithChildren.getSpouse().orElse(null));
+                writePeopleWithReference(spouseWithChildren.getChildrenWithReference());
+                out.writeBoolean(spouseWithChildren.isSeparated());
+                writeDate(spouseWithChildren.getDateOfPartners().orElse(null));
+                writeDate(spouseWithChildren.getDateOfSeparation().orElse(null));
+                writePlace(spouseWithChildren.getPlaceOfPartners().orElse(null));
+                writePlace(spouseWithChildren.getPlaceOfSeparation().orElse(null));
+            }
+
+            out.writeInt(person.getAllSiblings().size());
+            for (EnrichedPerson sibling : person.getAllSiblings()) {
+                writePersonIndex(sibling);
+            }
+        }
+
+        private void writePeopleWithReference(List<EnrichedPersonWithReference> peopleWithReference) throws IOException {
+            out.writeInt(peopleWithReference.size());
+            for (EnrichedPersonWithReference personWithReference : peopleWithReference) {
+                writePersonIndex(personWithReference.person());
+                out.writeByte(personWithReference.referenceType().map(Enum::ordinal).orElse(-1));
+            }
+        }
+
+        private void writePersonIndex(@Nullable EnrichedPerson person) throws IOException {
+            out.writeInt(person == null ? -1 : personIndexes.get(person.getId()));
+        }
+
+        private void writeGivenName(@Nullable GivenName givenName) throws IOException {
+            out.writeBoolean(givenName != null);
+            if (givenName != null) {
+                writeString(givenName.value());
+                writeString(givenName.simplified());
+                writeString(givenName.normalized());
+            }
+        }
+
+        private void writeSurname(@Nullable Surname surname) throws IOException {
+            out.writeBoolean(surname != null);
+            if (surname != null) {
+                writeString(surname.value());
+                writeString(surname.simplified());
+                writeString(surname.normalizedMainWord());
+                writeString(surname.shortenedMainWord());
+            }
+        }
+
+        private void writeAka(@Nullable Aka aka) throws IOException {
+            out.writeBoolean(aka != null);
+            if (aka != null) {
+                writeString(aka.value());
+                writeString(aka.simplified());
+                writeGivenName(aka.tentativeGivenName().orElse(null));
+            }
+        }
+
+        private void writeProfilePicture(@Nullable ProfilePicture profilePicture) throws IOException {
+            out.writeBoolean(profilePicture != null);
+            if (profilePicture != null) {
+                writeString(profilePicture.type());
+                writeString(profilePicture.file());
+            }
+        }
+
+        private void writeDate(@Nullable Date date) throws IOException {
+            out.writeBoolean(date != null);
+            if (date != null) {
+                out.writeInt(date.getYear().getValue());
+                out.writeByte(date.getMonth() == null ? 0 : date.getMonth().getValue());
+                // A day of an unknown month may be 0
+                out.writeByte(date.getDay() == null ? -1 : date.getDay());
+                out.writeByte(date.getOperator() == null ? -1 : date.getOperator().ordinal());
+                writeDate(date.getSecondary());
+            }
+        }
+
+        private void writePlacesAndDates(List<PlaceAndDate> placesAndDates) throws IOException {
+            out.writeInt(placesAndDates.size());
+            for (PlaceAndDate placeAndDate : placesAndDates) {
+                writePlace(placeAndDate.place());
+                writeDate(placeAndDate.date());
+            }
+        }
+
+        private void writePlace(@Nullable Place place) throws IOException {
+            out.writeInt(place == null ? -1 : placeIndexes.computeIfAbsent(place, p -> {
+                places.add(p);
+                return places.size() - 1;
+            }));
+        }
+
+        private void writeString(@Nullable String string) throws IOException {
+            out.writeInt(string == null ? -1 : stringIndexes.computeIfAbsent(string, s -> {
+                strings.add(s);
+                return strings.size() - 1;
+            }));
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+    }
+
+    private static class SnapshotReader {
+
+        private final ByteBuffer buffer;
+
+        private String[] strings;
+        private Place[] places;
+        // People with the same names and dates share the same instances, as when the gedcom is parsed
+        private GedcomInterner interner;
+
+        SnapshotReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean readHeader(SourceFingerprint fingerprint, UUID uuidCheck) {
+            if (buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION) {
+                return false;
+            }
+            long size = buffer.getLong();
+            Instant lastModified = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            String digest = readBytesAsString();
+            UUID snapshotUuidCheck = new UUID(buffer.getLong(), buffer.getLong());
+
+            return size == fingerprint.size()
+                    && lastModified.equals(fingerprint.lastModified())
+                    && digest.equals(fingerprint.digest())
+                    && snapshotUuidCheck.equals(uuidCheck);
+        }
+
+        List<EnrichedPerson> readPeople(EnrichedGedcom gedcom) {
+            int peoplePosition = buffer.position();
+            int placesOffset = (int) buffer.getLong(buffer.limit() - 16);
+            int stringsOffset = (int) buffer.getLong(buffer.limit() - 8);
+            interner = gedcom.getInterner();
+
+            buffer.position(stringsOffset);
+            strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readBytesAsString();
+            }
+
+            buffer.position(placesOffset);
+            places = new Place[buffer.getInt()];
+            for (int i = 0; i < places.length; i++) {
+                places[i] = new Place(readString(), readString(), readString());
+                gedcom.getPlaces().put(places[i].name(), places[i]);
+            }
+
+            buffer.position(peoplePosition);
+            int peopleCount = buffer.getInt();
+            List<EnrichedPerson> people = new ArrayList<>(peopleCount);
+            for (int i = 0; i < peopleCount; i++) {
+                people.add(readPerson(gedcom));
+            }
+            for (EnrichedPerson person : people) {
+                readFamily(person, people);
+            }
+
+            return Collections.unmodifiableList(people);
+        }
+
+        private EnrichedPerson readPerson(EnrichedGedcom gedcom) {
+            // Values are read in the same order they were written
+            return EnrichedPerson.restoreBuilder()
+                    .gedcom(gedcom)
+                    .id(buffer.getInt())
+                    .uuid(new UUID(buffer.getLong(), buffer.getLong()))
+                    .sex(SEX_TYPES[buffer.get()])
+                    .givenName(Optional.ofNullable(readGivenName()))
+                    .surname(Optional.ofNullable(readSurname()))
+                    .displayName(readString())
+                    .aka(Optional.ofNullable(readAka()))
+                    .profilePicture(Optional.ofNullable(readProfilePicture()))
+                    .dateOfBirth(Optional.ofNullable(readDate()))
+                    .dateOfDeath(Optional.ofNullable(readDate()))
+                    .placeOfBirth(Optional.ofNullable(readPlace()))
+                    .placeOfDeath(Optional.ofNullable(readPlace()))
+                    .isAlive(readBoolean())
+                    .residences(readList(this::readPlaceAndDate))
+                    .immigrations(readList(this::readPlaceAndDate))
+                    .isDistinguishedPerson(readBoolean())
+                    .isNativePerson(readBoolean())
+                    .isDisappearedPerson(readBoolean())
+                    .emails(readList(this::readString))
+                    .updateDate(Optional.ofNullable(readZonedDateTime()))
+                    .build();
+        }
+
+        private void readFamily(EnrichedPerson person, List<EnrichedPerson> people) {
+            List<EnrichedPersonWithReference> parentsWithReference = readList(() -> readPersonWithReference(people));
+            List<EnrichedSpouseWithChildren> spousesWithChildren = readList(() -> EnrichedSpouseWithChildren.of(
+                    Optional.ofNullable(readRelative(people)),
+                    readList(() -> readPersonWithReference(people)),
+                    readBoolean(),
+                    Optional.ofNullable(readDate()),
+                    Optional.ofNullable(readDate()),
+                    Optional.ofNullable(readPlace()),
+                    Optional.ofNullable(readPlace())));
+            List<EnrichedPerson> allSiblings = readList(() -> readRelative(people));
+
+            person.restoreFamily(parentsWithReference, spousesWithChildren, allSiblings);
+        }
+
+        private EnrichedPersonWithReference readPersonWithReference(List<EnrichedPerson> people) {
+            EnrichedPerson person = readRelative(people);
+            byte referenceType = buffer.get();
+            return new EnrichedPersonWithReference(
+                    person,
+                    referenceType == -1 ? Optional.empty() : Optional.of(REFERENCE_TYPES[referenceType]));
+        }
+
+        @Nullable
+        private EnrichedPerson readRelative(List<EnrichedPerson> people) {
+            int index = buffer.getInt();
+            return index == -1 ? null : people.get(index);
+        }
+
+        @Nullable
+        private GivenName readGivenName() {
+            if (!readBoolean()) {
+                return null;
+            }
+            return interner.givenName(readString(), readString(), readString());
+        }
+
+        @Nullable
+        private Surname readSurname() {
+            if (!readBoolean()) {
+                return null;
+            }
+            return interner.intern(Surname.of(readString(), readString(), readString(), readString()));
+        }
+
+        @Nullable
+        private Aka readAka() {
+            if (!readBoolean()) {
+                return null;
+            }
+            return interner.intern(Aka.of(readString(), readString(), Optional.ofNullable(readGivenName())));
+        }
+
+        @Nullable
+        private ProfilePicture readProfilePicture() {
+            if (!readBoolean()) {
+                return null;
+            }
+            return new ProfilePicture(readString(), readString());
+        }
+
+        @Nullable
+        private Date readDate() {
+            if (!readBoolean()) {
+                return null;
+            }
+            int year = buffer.getInt();
+            byte month = buffer.get();
+            byte day = buffer.get();
+            byte operator = buffer.get();
+            return interner.intern(Date.of(
+                    Year.of(year),
+                    month == 0 ? null : Month.of(month),
+                    day == -1 ? null : (int) day,
+                    operator == -1 ? null : DATE_OPERATORS[operator],
+                    readDate()));
+        }
+
+        private PlaceAndDate readPlaceAndDate() {
+            return new PlaceAndDate(readPlace(), readDate());
+        }
+
+        @Nullable
+        private Place readPlace() {
+            int index = buffer.getInt();
+            return index == -1 ? null : places[index];
+        }
+
+        @Nullable
+        private ZonedDateTime readZonedDateTime() {
+            if (!readBoolean()) {
+                return null;
+            }
+            Instant instant = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            return instant.atZone(ZoneId.of(readString()));
+        }
+
+        private <T> List<T> readList(Supplier<T> elementReader) {
+            int size = buffer.getInt();
+            List<T> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(elementReader.get());
+            }
+            return Collections.unmodifiableList(list);
+        }
+
+        private boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        @Nullable
+        private String readString() {
+            int index = buffer.getInt();
+            return index == -1 ? null : strings[index];
+        }
+
+        private String readBytesAsString() {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+    }
+
+}
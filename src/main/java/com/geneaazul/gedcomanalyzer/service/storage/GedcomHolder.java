@@ -6,8 +6,11 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import jakarta.annotation.PreDestroy;
 
@@ -21,41 +24,69 @@ public class GedcomHolder {
 
     private final StorageService storageService;
 
-    private final LinkedBlockingQueue<EnrichedGedcom> gedcomQueue = new LinkedBlockingQueue<>();
+    // Readers only read this reference, so they never block once the first gedcom is loaded
+    private final AtomicReference<GedcomSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final CountDownLatch firstLoadLatch = new CountDownLatch(1);
+    // Only serializes concurrent reloads, readers don't use it
+    private final ReentrantLock reloadLock = new ReentrantLock();
 
     public EnrichedGedcom getGedcom() {
-        try {
-            EnrichedGedcom gedcom = gedcomQueue.poll(30, TimeUnit.SECONDS);
+        return getSnapshot().gedcom();
+    }
 
-            if (gedcom != null) {
-                gedcomQueue.offer(gedcom);
-                return gedcom;
-            }
+    public GedcomSnapshot getSnapshot() {
+        GedcomSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
 
+        try {
+            // Only waits while the first gedcom is being loaded
+            if (firstLoadLatch.await(30, TimeUnit.SECONDS)) {
+                current = snapshot.get();
+                if (current != null) {
+                    return current;
+                }
+            }
         } catch (InterruptedException e) {
-            // do nothing
+            Thread.currentThread().interrupt();
         }
 
         throw new IllegalStateException("Server is starting, please try again.");
     }
 
+    /**
+     * Builds the new gedcom while the current one keeps being served, and then swaps it in.
+     * When the load fails the current gedcom is kept.
+     */
     public void reloadFromStorage(boolean refreshCachedGedcom) {
+        reloadLock.lock();
         try {
             Instant start = Instant.now();
-            gedcomQueue.clear();
-            EnrichedGedcom gedcom = storageService.getGedcom(refreshCachedGedcom);
-            gedcomQueue.offer(gedcom);
-
-            log.info("Gedcom file loaded: {} - total time: {}", storageService.getGedcomName(), Duration.between(start, Instant.now()));
+            GedcomSnapshot previous = snapshot.get();
+            EnrichedGedcom gedcom = storageService.getGedcom(refreshCachedGedcom, previous == null ? null : previous.gedcom());
+            GedcomSnapshot loaded = new GedcomSnapshot(gedcom, lastVersion.incrementAndGet(), Instant.now());
+            snapshot.set(loaded);
+            firstLoadLatch.countDown();
+
+            log.info("Gedcom file loaded: {} - version: {} - total time: {}",
+                    storageService.getGedcomName(), loaded.version(), Duration.between(start, loaded.loadedAt()));
+            gedcom
+                    .getRecords()
+                    .ifPresent(records -> log.info("Gedcom records delta - people: {} - families: {}",
+                            records.peopleDelta(), records.familiesDelta()));
 
         } catch (Throwable e) {
             log.error("Error when loading gedcom file: {}", storageService.getGedcomName(), e);
+        } finally {
+            reloadLock.unlock();
         }
     }
 
     @PreDestroy
     public void preDestroy() {
-        gedcomQueue.clear();
+        snapshot.set(null);
     }
 
 }
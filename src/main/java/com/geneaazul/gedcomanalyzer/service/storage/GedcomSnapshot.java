@@ -0,0 +1,14 @@
+package com.geneaazul.gedcomanalyzer.service.storage;
+
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+
+import java.time.Instant;
+
+/**
+ * A loaded gedcom as published by {@link GedcomHolder}. Versions start at 1 and increase with each successful reload.
+ */
+public record GedcomSnapshot(
+        EnrichedGedcom gedcom,
+        long version,
+        Instant loadedAt) {
+}
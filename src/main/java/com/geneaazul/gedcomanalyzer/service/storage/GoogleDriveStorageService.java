@@ -4,22 +4,23 @@ import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
 import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
 
+import com.google.api.client.http.HttpResponse;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.drive.Drive;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 
+import jakarta.annotation.Nullable;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,7 +32,7 @@ public class GoogleDriveStorageService implements StorageService {
     private final GedcomAnalyzerProperties properties;
 
     @Override
-    public EnrichedGedcom getGedcom(boolean refreshCachedGedcom) throws Exception {
+    public EnrichedGedcom getGedcom(boolean refreshCachedGedcom, @Nullable EnrichedGedcom previousGedcom) throws Exception {
 
         if (refreshCachedGedcom
                 || Files.notExists(properties.getGedcomStorageLocalPath())
@@ -40,7 +41,7 @@ public class GoogleDriveStorageService implements StorageService {
             downloadDriveFileToLocalFile();
         }
 
-        return localStorageService.getGedcom();
+        return localStorageService.getGedcom(previousGedcom);
     }
 
     private void downloadDriveFileToLocalFile() throws IOException {
@@ -55,51 +56,50 @@ public class GoogleDriveStorageService implements StorageService {
                 .setApplicationName("gedcom-analyzer")
                 .build();
 
-        String mediaType = service
+        // Media type and content are taken from the same response, so the file is downloaded once
+        HttpResponse response = service
                 .files()
                 .get(properties.getGedcomStorageGoogleDriveFileId())
-                .executeMedia()
-                .getMediaType()
-                .build();
+                .executeMedia();
 
-        // Note: Google Drive considers .ged files media-type as: 'application/octet-stream'
-        boolean isCompressed = GedcomParsingService.ZIP_FILE_CONTENT_TYPES.contains(mediaType);
+        try {
+            String mediaType = response
+                    .getMediaType()
+                    .build();
 
-        Path downloadFilePath = isCompressed
-                ? Paths.get(replaceFirst(
-                        properties.getGedcomStorageLocalPath().toString(),
-                        GedcomParsingService.GEDCOM_FILE_EXTENSION,
-                        GedcomParsingService.ZIP_FILE_EXTENSION))
-                : properties.getGedcomStorageLocalPath();
+            // Note: Google Drive considers .ged files media-type as: 'application/octet-stream'
+            boolean isCompressed = GedcomParsingService.ZIP_FILE_CONTENT_TYPES.contains(mediaType);
 
-        log.info("Downloaded file [ mediaType={}, path={} ]", mediaType, downloadFilePath);
+            log.info("Downloading file [ mediaType={}, path={} ]", mediaType, properties.getGedcomStorageLocalPath());
 
-        try (FileOutputStream outputStream = new FileOutputStream(downloadFilePath.toFile())) {
-            service
-                    .files()
-                    .get(properties.getGedcomStorageGoogleDriveFileId())
-                    .executeMediaAndDownloadTo(outputStream);
-        }
+            if (!isCompressed) {
+                try (InputStream is = response.getContent()) {
+                    Files.copy(is, properties.getGedcomStorageLocalPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                return;
+            }
 
-        if (isCompressed) {
-            try (FileInputStream fis = new FileInputStream(downloadFilePath.toFile());
-                    ZipInputStream zis = new ZipInputStream(fis)) {
+            // The first entry is decompressed while it is downloaded, the zip file is never written to disk
+            try (ZipInputStream zis = new ZipInputStream(response.getContent())) {
                 ZipEntry zipEntry = zis.getNextEntry();
 
                 if (zipEntry == null) {
-                    throw new ZipException("zip file is empty: " + downloadFilePath);
+                    throw new ZipException("zip file is empty: " + properties.getGedcomStorageGoogleDriveFileId());
                 }
                 if (StringUtils.isBlank(zipEntry.getName())
                         || !zipEntry.getName().endsWith(GedcomParsingService.GEDCOM_FILE_EXTENSION)) {
                     throw new ZipException("zip content is invalid: " + zipEntry.getName());
                 }
 
-                Path gedcomPath = downloadFilePath.getParent().resolve(zipEntry.getName());
+                Path gedcomPath = properties.getGedcomStorageLocalPath().resolveSibling(zipEntry.getName());
                 Files.copy(zis, gedcomPath, StandardCopyOption.REPLACE_EXISTING);
                 log.info("Decompressed file [ path={} ]", gedcomPath);
 
                 zis.closeEntry();
             }
+
+        } finally {
+            response.disconnect();
         }
     }
 
@@ -108,9 +108,4 @@ public class GoogleDriveStorageService implements StorageService {
         return "Google Drive file " + properties.getGedcomStorageGoogleDriveFileId();
     }
 
-    private static String replaceFirst(String str, String search, String replacement) {
-        int i = str.indexOf(search);
-        return i >= 0 ? str.substring(0, i) + replacement + str.substring(i + search.length()) : str;
-    }
-
 }
@@ -4,6 +4,11 @@ import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
 import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
+import jakarta.annotation.Nullable;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,15 +17,31 @@ import lombok.extern.slf4j.Slf4j;
 public class LocalStorageService implements StorageService {
 
     private final GedcomParsingService gedcomParsingService;
+    private final BinarySnapshotService binarySnapshotService;
     private final GedcomAnalyzerProperties properties;
 
-    public EnrichedGedcom getGedcom() throws Exception {
-        return gedcomParsingService.parse(properties.getGedcomStorageLocalPath());
+    public EnrichedGedcom getGedcom(@Nullable EnrichedGedcom previousGedcom) throws Exception {
+        Path gedcomPath = properties.getGedcomStorageLocalPath();
+
+        if (!binarySnapshotService.isEnabled()) {
+            return gedcomParsingService.parse(gedcomPath, previousGedcom);
+        }
+
+        // Fingerprint is taken before parsing, so a gedcom file modified meanwhile invalidates the written snapshot
+        BinarySnapshotService.SourceFingerprint fingerprint = binarySnapshotService.fingerprint(gedcomPath);
+        Optional<EnrichedGedcom> restoredGedcom = binarySnapshotService.read(gedcomPath, fingerprint);
+        if (restoredGedcom.isPresent()) {
+            return restoredGedcom.get();
+        }
+
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath, previousGedcom);
+        binarySnapshotService.write(gedcom, gedcomPath, fingerprint);
+        return gedcom;
     }
 
     @Override
-    public EnrichedGedcom getGedcom(boolean refreshCachedGedcom) throws Exception {
-        return getGedcom();
+    public EnrichedGedcom getGedcom(boolean refreshCachedGedcom, @Nullable EnrichedGedcom previousGedcom) throws Exception {
+        return getGedcom(previousGedcom);
     }
 
     @Override
@@ -2,9 +2,14 @@ package com.geneaazul.gedcomanalyzer.service.storage;
 
 import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 
+import jakarta.annotation.Nullable;
+
 public interface StorageService {
 
-    EnrichedGedcom getGedcom(boolean refreshCachedGedcom) throws Exception;
+    /**
+     * The previous gedcom, when given, is used to reuse the people whose record did not change.
+     */
+    EnrichedGedcom getGedcom(boolean refreshCachedGedcom, @Nullable EnrichedGedcom previousGedcom) throws Exception;
 
     String getGedcomName();
 
@@ -2,116 +2,311 @@ package com.geneaazul.gedcomanalyzer.utils;
 
 import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
-
-import org.apache.commons.lang3.tuple.Pair;
+import com.geneaazul.gedcomanalyzer.model.PersonGraph;
+import com.geneaazul.gedcomanalyzer.model.ShortestPathTree;
 
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Set;
-import java.util.stream.Stream;
+import java.util.function.Predicate;
+
+import jakarta.annotation.Nullable;
 
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
 public class PathUtils {
 
-    public static Pair<Map<Integer, Integer>, Map<Integer, List<Integer>>> calculateShortestPathFromSource(
+    private static final PersonGraph.EdgeType[] EDGE_TYPES_WITH_SIBLINGS = {
+            PersonGraph.EdgeType.PARENT,
+            PersonGraph.EdgeType.SIBLING,
+            PersonGraph.EdgeType.SPOUSE,
+            PersonGraph.EdgeType.CHILD
+    };
+
+    private static final PersonGraph.EdgeType[] EDGE_TYPES_WITHOUT_SIBLINGS = {
+            PersonGraph.EdgeType.PARENT,
+            PersonGraph.EdgeType.SPOUSE,
+            PersonGraph.EdgeType.CHILD
+    };
+
+    /**
+     * Point-to-point shortest path, using a bidirectional breadth-first search over the gedcom person graph.
+     * It stops as soon as both search frontiers meet, so only the people around both ends are visited.
+     *
+     * @return the person ids of the path, from source to target both inclusive, or an empty list when not connected
+     */
+    public static List<Integer> calculateShortestPath(
             EnrichedGedcom gedcom,
             EnrichedPerson source,
-            boolean isSiblingDirectRel,
-            boolean includePaths) {
+            EnrichedPerson target,
+            boolean isSiblingDirectRel) {
+
+        PersonGraph graph = gedcom.getPersonGraph();
+        int sourceIndex = graph.indexOf(source.getId());
+        int targetIndex = graph.indexOf(target.getId());
+
+        if (sourceIndex == -1 || targetIndex == -1) {
+            return List.of();
+        }
+        if (sourceIndex == targetIndex) {
+            return List.of(source.getId());
+        }
 
-        Map<Integer, Integer> distances = new HashMap<>(gedcom.getPeople().size());
-        Map<Integer, List<Integer>> shortestPaths = new HashMap<>(gedcom.getPeople().size());
+        PersonGraph.EdgeType[] edgeTypes = isSiblingDirectRel ? EDGE_TYPES_WITH_SIBLINGS : EDGE_TYPES_WITHOUT_SIBLINGS;
+        // Sparse visits, so only the people reached by the frontiers are touched instead of arrays of the whole graph
+        SearchFrontier forward = new SearchFrontier(new SparseVisits(), sourceIndex);
+        SearchFrontier backward = new SearchFrontier(new SparseVisits(), targetIndex);
 
-        distances.put(source.getId(), 0);
-        if (includePaths) {
-            shortestPaths.put(source.getId(), new ArrayList<>());
+        int meetingIndex = -1;
+        while (meetingIndex == -1 && !forward.isEmpty() && !backward.isEmpty()) {
+            // Always expand the smaller frontier
+            meetingIndex = (forward.levelSize() <= backward.levelSize())
+                    ? forward.expandLevel(graph, edgeTypes, backward)
+                    : backward.expandLevel(graph, edgeTypes, forward);
         }
 
-        Queue<Pair<Integer, Integer>> unsettledNodes = new PriorityQueue<>(
-                gedcom.getPeople().size(),
-                Comparator.comparing(Pair::getRight));
-        Set<Integer> settledNodes = new HashSet<>(gedcom.getPeople().size());
+        if (meetingIndex == -1) {
+            return List.of();
+        }
 
-        unsettledNodes.add(Pair.of(source.getId(), 0));
+        List<Integer> path = new ArrayList<>(forward.visits.distanceOf(meetingIndex) + backward.visits.distanceOf(meetingIndex) + 1);
+        for (int index = meetingIndex; index != -1; index = forward.visits.predecessorOf(index)) {
+            path.add(graph.idOf(index));
+        }
+        Collections.reverse(path);
+        for (int index = backward.visits.predecessorOf(meetingIndex); index != -1; index = backward.visits.predecessorOf(index)) {
+            path.add(graph.idOf(index));
+        }
+        return path;
+    }
 
-        while (!unsettledNodes.isEmpty()) {
-            Pair<Integer, Integer> currentData = unsettledNodes.remove();
-            Integer currentNodeId = currentData.getLeft();
+    /**
+     * Single-source shortest paths, using a breadth-first search over the gedcom person graph.
+     */
+    public static ShortestPathTree calculateShortestPathFromSource(
+            EnrichedGedcom gedcom,
+            EnrichedPerson source,
+            boolean isSiblingDirectRel) {
+        return calculateShortestPathFromSource(gedcom, source, isSiblingDirectRel, person -> false, Integer.MAX_VALUE);
+    }
 
-            // Unsettled nodes can contain repeated node ids, cause it adds many distances to it before processing it
-            if (settledNodes.contains(currentNodeId)) {
-                continue;
+    /**
+     * Single-source shortest paths, using a breadth-first search over the gedcom person graph which stops at the end
+     * of the level where {@code maxTargets} persons matching the filter were reached (source excluded). All the people
+     * up to that distance are visited, the farther ones are returned as not reachable.
+     */
+    public static ShortestPathTree calculateShortestPathFromSource(
+            EnrichedGedcom gedcom,
+            EnrichedPerson source,
+            boolean isSiblingDirectRel,
+            Predicate<EnrichedPerson> targetFilter,
+            int maxTargets) {
+
+        PersonGraph graph = gedcom.getPersonGraph();
+        int sourceIndex = graph.indexOf(source.getId());
+
+        PersonGraph.EdgeType[] edgeTypes = isSiblingDirectRel ? EDGE_TYPES_WITH_SIBLINGS : EDGE_TYPES_WITHOUT_SIBLINGS;
+        DenseVisits visits = new DenseVisits(graph.size());
+        SearchFrontier frontier = new SearchFrontier(visits, sourceIndex);
+
+        int targetsCount = 0;
+        while (!frontier.isEmpty() && targetsCount < maxTargets) {
+            int levelStart = frontier.tail;
+            frontier.expandLevel(graph, edgeTypes, null);
+            for (int i = levelStart; i < frontier.tail; i++) {
+                if (targetFilter.test(graph.personOf(frontier.queue[i]))) {
+                    targetsCount++;
+                }
             }
+        }
+
+        return new ShortestPathTree(graph, sourceIndex, visits.distances, visits.predecessors);
+    }
+
+    /**
+     * Breadth-first search state over dense person indexes. The bidirectional search uses one for each side.
+     */
+    private static final class SearchFrontier {
+
+        private final Visits visits;
+        private int[] queue = new int[64];
+        private int head;
+        private int tail;
+
+        private SearchFrontier(Visits visits, int rootIndex) {
+            this.visits = visits;
+            visits.visit(rootIndex, 0, -1);
+            queue[tail++] = rootIndex;
+        }
+
+        private boolean isEmpty() {
+            return head == tail;
+        }
+
+        private int levelSize() {
+            return tail - head;
+        }
+
+        /**
+         * Visits all the relatives of the current level. The whole level is expanded, so the returned meeting
+         * person is the one with the minimum total distance.
+         *
+         * @return the index of the person reached by both frontiers, or -1 when they didn't meet yet
+         */
+        private int expandLevel(PersonGraph graph, PersonGraph.EdgeType[] edgeTypes, @Nullable SearchFrontier other) {
+            int levelEnd = tail;
+            int meetingIndex = -1;
+            int meetingDistance = Integer.MAX_VALUE;
 
-            Integer sourceDistance = currentData.getRight();
-            EnrichedPerson currentNode = Objects.requireNonNull(gedcom.getPersonById(currentNodeId));
-
-            List<EnrichedPerson> directRelatives = Stream
-                    .of(
-                            currentNode.getParents(),
-                            (isSiblingDirectRel ? currentNode.getAllSiblings() : List.<EnrichedPerson>of()),
-                            currentNode.getSpouses(),
-                            currentNode.getChildren())
-                    .flatMap(List::stream)
-                    .toList();
-
-            for (EnrichedPerson adjacentNode : directRelatives) {
-                if (!settledNodes.contains(adjacentNode.getId())) {
-                    Integer adjacentDistance = calculateMinimumDistance(
-                            adjacentNode.getId(),
-                            1,
-                            currentNodeId,
-                            sourceDistance,
-                            distances,
-                            shortestPaths,
-                            includePaths);
-                    unsettledNodes.add(Pair.of(adjacentNode.getId(), adjacentDistance));
+            while (head < levelEnd) {
+                int current = queue[head++];
+                int distance = visits.distanceOf(current) + 1;
+                for (PersonGraph.EdgeType edgeType : edgeTypes) {
+                    int[] offsets = graph.offsets(edgeType);
+                    int[] targets = graph.targets(edgeType);
+                    for (int edge = offsets[current]; edge < offsets[current + 1]; edge++) {
+                        int adjacent = targets[edge];
+                        if (visits.distanceOf(adjacent) != -1) {
+                            continue;
+                        }
+                        visits.visit(adjacent, distance, current);
+                        enqueue(adjacent);
+
+                        if (other != null) {
+                            int otherDistance = other.visits.distanceOf(adjacent);
+                            if (otherDistance != -1 && distance + otherDistance < meetingDistance) {
+                                meetingIndex = adjacent;
+                                meetingDistance = distance + otherDistance;
+                            }
+                        }
+                    }
                 }
             }
 
-            settledNodes.add(currentNodeId);
-            if (includePaths) {
-                shortestPaths.get(currentNodeId).add(currentNodeId);
+            return meetingIndex;
+        }
+
+        private void enqueue(int index) {
+            if (tail == queue.length) {
+                queue = Arrays.copyOf(queue, queue.length * 2);
             }
+            queue[tail++] = index;
+        }
+
+    }
+
+    /**
+     * Distance and predecessor of the people visited by a search.
+     */
+    private interface Visits {
+
+        /**
+         * Returns -1 when the person was not visited yet.
+         */
+        int distanceOf(int index);
+
+        int predecessorOf(int index);
+
+        void visit(int index, int distance, int predecessor);
+
+    }
+
+    /**
+     * Visits in arrays of the whole graph, for the searches which visit most of it and return them.
+     */
+    private static final class DenseVisits implements Visits {
+
+        private final int[] distances;
+        private final int[] predecessors;
+
+        private DenseVisits(int size) {
+            this.distances = new int[size];
+            this.predecessors = new int[size];
+            Arrays.fill(distances, -1);
+        }
+
+        @Override
+        public int distanceOf(int index) {
+            return distances[index];
+        }
+
+        @Override
+        public int predecessorOf(int index) {
+            return predecessors[index];
+        }
+
+        @Override
+        public void visit(int index, int distance, int predecessor) {
+            distances[index] = distance;
+            predecessors[index] = predecessor;
         }
 
-        return Pair.of(distances, shortestPaths);
     }
 
-    private static Integer calculateMinimumDistance(
-            Integer evaluationNodeId,
-            @SuppressWarnings("SameParameterValue") Integer edgeWeigh,
-            Integer sourceNodeId,
-            Integer sourceDistance,
-            Map<Integer, Integer> distances,
-            Map<Integer, List<Integer>> shortestPaths,
-            boolean includePaths) {
-
-        Integer newDistance = sourceDistance + edgeWeigh;
-        Integer evaluationNodeDistance = distances.getOrDefault(evaluationNodeId, Integer.MAX_VALUE);
-
-        if (newDistance < evaluationNodeDistance) {
-            distances.put(evaluationNodeId, newDistance);
-
-            if (includePaths) {
-                List<Integer> shortestPath = new ArrayList<>(shortestPaths.getOrDefault(sourceNodeId, List.of()));
-                shortestPath.add(sourceNodeId);
-                shortestPaths.put(evaluationNodeId, shortestPath);
+    /**
+     * Visits in an open addressing hash map sized to the visited people, for the searches which stop early.
+     */
+    private static final class SparseVisits implements Visits {
+
+        // Person index + 1, so 0 is an empty slot
+        private int[] keys = new int[64];
+        // Distance in the high int and predecessor in the low int
+        private long[] values = new long[64];
+        private int size;
+
+        @Override
+        public int distanceOf(int index) {
+            int slot = slotOf(index);
+            return keys[slot] == 0 ? -1 : (int) (values[slot] >>> 32);
+        }
+
+        @Override
+        public int predecessorOf(int index) {
+            int slot = slotOf(index);
+            return keys[slot] == 0 ? -1 : (int) values[slot];
+        }
+
+        @Override
+        public void visit(int index, int distance, int predecessor) {
+            // Load factor kept at or below 1/2
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int slot = slotOf(index);
+            if (keys[slot] == 0) {
+                keys[slot] = index + 1;
+                size++;
+            }
+            values[slot] = (long) distance << 32 | (predecessor & 0xFFFFFFFFL);
+        }
+
+        private int slotOf(int index) {
+            int key = index + 1;
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
             }
+            return slot;
+        }
 
-            return newDistance;
+        private void resize() {
+            int[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new long[oldValues.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = slotOf(oldKeys[i] - 1);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
         }
 
-        return evaluationNodeDistance;
     }
 
 }
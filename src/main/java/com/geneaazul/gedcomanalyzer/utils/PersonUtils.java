@@ -4,6 +4,7 @@ import com.geneaazul.gedcomanalyzer.model.Age;
 import com.geneaazul.gedcomanalyzer.model.Aka;
 import com.geneaazul.gedcomanalyzer.model.Date;
 import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.GedcomInterner;
 import com.geneaazul.gedcomanalyzer.model.GivenName;
 import com.geneaazul.gedcomanalyzer.model.NameAndSex;
 import com.geneaazul.gedcomanalyzer.model.Place;
@@ -28,6 +29,10 @@ import org.folg.gedcom.model.Name;
 import org.folg.gedcom.model.ParentFamilyRef;
 import org.folg.gedcom.model.Person;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -49,6 +54,9 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
 import jakarta.annotation.Nullable;
 
 import lombok.experimental.UtilityClass;
@@ -90,6 +98,7 @@ public class PersonUtils {
     public static final DateTimeFormatter UPDATE_DATE_FORMATTER = DateTimeFormatter.ofPattern("d MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
 
     private static final UniformRandomProvider RNG = RandomSource.JDK.create();
+    private static final String PERSON_UUID_MAC_ALGORITHM = "HmacSHA256";
 
     public static Integer getId(Person person) {
         return Optional.of(person.getId())
@@ -99,14 +108,52 @@ public class PersonUtils {
                 .orElseGet(RNG::nextInt);
     }
 
-    public static UUID getUuid(
+    /**
+     * Keyed hash of the person uuids. A {@link Mac} is not thread safe, so each thread initializes its own from the key
+     * built here once, instead of looking up the algorithm and initializing the key for every person.
+     */
+    public static ThreadLocal<Mac> getPersonUuidMac(String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), PERSON_UUID_MAC_ALGORITHM);
+        return ThreadLocal.withInitial(() -> newPersonUuidMac(key));
+    }
+
+    /**
+     * Stable uuid of a person: a keyed hash of the person id, so it does not change across reloads of the gedcom and
+     * it can't be derived from the id without the secret. Version and variant bits are set as a custom (version 8) uuid.
+     */
+    public static UUID getUuid(Integer id, String secret) {
+        return getUuid(id, newPersonUuidMac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), PERSON_UUID_MAC_ALGORITHM)));
+    }
+
+    /**
+     * Stable uuid of a person, hashed with a {@link Mac} of {@link #getPersonUuidMac(String)}.
+     */
+    public static UUID getUuid(Integer id, Mac personUuidMac) {
+        // doFinal resets the mac, so it is reused for the next person
+        ByteBuffer hash = ByteBuffer.wrap(personUuidMac.doFinal(ByteBuffer.allocate(Integer.BYTES).putInt(id).array()));
+        long mostSigBits = hash.getLong() & ~0xF000L | 0x8000L;
+        long leastSigBits = hash.getLong() & ~(0xC000L << 48) | 0x8000L << 48;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static Mac newPersonUuidMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(PERSON_UUID_MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Uuid of a person before uuids were stable: it changed whenever the modified time of the gedcom changed.
+     */
+    public static UUID getLegacyUuid(
             Integer id,
             @Nullable ZonedDateTime modifiedDateTime) {
 
-        long offset = Optional.ofNullable(modifiedDateTime)
-                .filter(mdt -> mdt.getNano() != 0)
-                .map(mdt -> mdt.getNano() / 1_000L)
-                .orElse(1L);
+        long offset = getLegacyUuidOffset(modifiedDateTime);
         long personId = id * offset;
 
         long timestamp = Optional.ofNullable(modifiedDateTime)
@@ -116,6 +163,30 @@ public class PersonUtils {
         return new UUID(personId, timestamp);
     }
 
+    /**
+     * The person id a legacy uuid was calculated from, when it was calculated with the given modified time.
+     */
+    public static Optional<Integer> getPersonIdOfLegacyUuid(UUID legacyUuid, ZonedDateTime modifiedDateTime) {
+        long offset = getLegacyUuidOffset(modifiedDateTime);
+        long personId = legacyUuid.getMostSignificantBits();
+
+        if (legacyUuid.getLeastSignificantBits() != modifiedDateTime.toEpochSecond() || personId % offset != 0) {
+            return Optional.empty();
+        }
+
+        long id = personId / offset;
+        return id < Integer.MIN_VALUE || id > Integer.MAX_VALUE
+                ? Optional.empty()
+                : Optional.of((int) id);
+    }
+
+    private static long getLegacyUuidOffset(@Nullable ZonedDateTime modifiedDateTime) {
+        return Optional.ofNullable(modifiedDateTime)
+                .filter(mdt -> mdt.getNano() != 0)
+                .map(mdt -> mdt.getNano() / 1_000L)
+                .orElse(1L);
+    }
+
     public static boolean isAlive(Person person) {
         return !isDead(person);
     }
@@ -623,7 +694,11 @@ public class PersonUtils {
                 .toList();
     }
 
-    public static List<SpouseWithChildren> getSpousesWithChildren(Person legacyPerson, Gedcom legacyGedcom, Map<String, Place> places) {
+    public static List<SpouseWithChildren> getSpousesWithChildren(
+            Person legacyPerson,
+            Gedcom legacyGedcom,
+            Map<String, Place> places,
+            GedcomInterner interner) {
         return legacyPerson
                 .getSpouseFamilies(legacyGedcom)
                 .stream()
@@ -643,9 +718,9 @@ public class PersonUtils {
                             .toList();
                     boolean isSeparated = FamilyUtils.isSeparated(family);
                     Optional<Date> dateOfPartners = FamilyUtils.getDateOfPartners(family)
-                            .flatMap(Date::parse);
+                            .flatMap(interner::parseDate);
                     Optional<Date> dateOfSeparation = FamilyUtils.getDateOfSeparation(family)
-                            .flatMap(Date::parse);
+                            .flatMap(interner::parseDate);
                     Optional<Place> placeOfPartners = FamilyUtils.getPlaceOfPartners(family)
                             .map(place -> Place.of(place, places));
                     Optional<Place> placeOfSeparation = FamilyUtils.getPlaceOfSeparation(family)
@@ -1,11 +1,25 @@
 package com.geneaazul.gedcomanalyzer.controller;
 
+import com.geneaazul.gedcomanalyzer.domain.SearchConnection;
+import com.geneaazul.gedcomanalyzer.domain.SearchFamily;
+import com.geneaazul.gedcomanalyzer.domain.SearchPerson;
+import com.geneaazul.gedcomanalyzer.domain.SearchPersonSimple;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.dto.SexType;
 import com.geneaazul.gedcomanalyzer.repository.projection.SearchConnectionProjection;
 import com.geneaazul.gedcomanalyzer.repository.projection.SearchFamilyProjection;
+import com.geneaazul.gedcomanalyzer.service.ConnectionService;
+import com.geneaazul.gedcomanalyzer.service.FamilyService;
+import com.geneaazul.gedcomanalyzer.service.PersonService;
+import com.geneaazul.gedcomanalyzer.service.WarmUpService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -20,7 +34,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
@@ -33,6 +51,15 @@ public class GedcomAnalyzerControllerIT extends AbstractControllerIT {
     @Autowired
     private MockMvc mvc;
 
+    @MockitoSpyBean
+    private WarmUpService warmUpService;
+    @MockitoSpyBean
+    private FamilyService familyService;
+    @MockitoSpyBean
+    private ConnectionService connectionService;
+    @MockitoSpyBean
+    private PersonService personService;
+
     @Test
     public void testAnalyzeGedcom() throws Exception {
         URL gedcomFile = getClass().getClassLoader().getResource("gedcom/test-gedcom-001.ged");
@@ -164,4 +191,64 @@ public class GedcomAnalyzerControllerIT extends AbstractControllerIT {
         log.info("{} response:\n{}", url, result.getResponse().getContentAsString(StandardCharsets.UTF_8));
     }
 
+    @Test
+    public void testHealthCheck() throws Exception {
+        String url = "/api/gedcom-analyzer/health";
+
+        doReturn(false).when(warmUpService).isReady();
+        mvc.perform(get(url))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status", is("starting")));
+
+        // The test profile loads the gedcom and warms up synchronously on startup
+        doCallRealMethod().when(warmUpService).isReady();
+        mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("ok")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWarmUpReplaysLatestSearches() {
+
+        // Only women are searched, so the tree stats of Father A (I8) are only computed for the top surnames
+        doReturn(new PageImpl<>(
+                List.of(
+                        SearchFamily.builder()
+                                .id(1L)
+                                .individualSex(SexType.F)
+                                .individual(SearchPerson.builder()
+                                        .givenName("Unknown")
+                                        .surname("A")
+                                        .build())
+                                .build()
+                )))
+                .when(searchFamilyRepository)
+                .findAll(any(Specification.class), any(Pageable.class));
+
+        doReturn(new PageImpl<>(
+                List.of(
+                        SearchConnection.builder()
+                                .id(1L)
+                                .person1(SearchPersonSimple.builder()
+                                        .givenName("Mother")
+                                        .surname("B")
+                                        .build())
+                                .person2(SearchPersonSimple.builder()
+                                        .givenName("Son")
+                                        .surname("B&A")
+                                        .build())
+                                .build()
+                )))
+                .when(searchConnectionRepository)
+                .findAll(any(Specification.class), any(Pageable.class));
+
+        warmUpService.warmUp();
+
+        verify(familyService).search(argThat(searchFamily -> "A".equals(searchFamily.getIndividual().getSurname())));
+        verify(connectionService).search(argThat(searchConnection -> "B".equals(searchConnection.getPerson1().getSurname())
+                && "B&A".equals(searchConnection.getPerson2().getSurname())));
+        verify(personService).getPersonTreeStats(argThat((EnrichedPerson person) -> person.getId() == 8));
+    }
+
 }
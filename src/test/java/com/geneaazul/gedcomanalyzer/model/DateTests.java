@@ -2,12 +2,19 @@ package com.geneaazul.gedcomanalyzer.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.Month;
 import java.time.Period;
 import java.time.Year;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class DateTests {
 
@@ -113,9 +120,162 @@ class DateTests {
         assertThat(d1.isCloseToByYear(d2, Period.ofYears(1))).isFalse();
     }
 
+    @Test
+    void compareTo_missingMonthOrDay_ordersAfterSetOnes() {
+        Date yearOnly = Date.parse("1987").orElseThrow();
+        Date partial = Date.parse("DEC 1987").orElseThrow();
+        Date full = Date.parse("31 DEC 1987").orElseThrow();
+        assertThat(full.compareTo(partial)).isLessThan(0);
+        assertThat(partial.compareTo(yearOnly)).isLessThan(0);
+        assertThat(Date.parse("ABT 1987").orElseThrow().compareTo(yearOnly)).isZero();
+        assertThat(Date.parse("1986").orElseThrow().compareTo(full)).isLessThan(0);
+    }
+
+    @Test
+    void isCloseToByDay_acrossLeapYears_matchesLocalDate() {
+        LocalDate start = LocalDate.of(1895, 12, 1);
+        Date d1 = Date.from(start);
+        for (int days = 1; days < 3_000; days += 7) {
+            Date d2 = Date.from(start.plusDays(days));
+            assertThat(d1.isCloseToByDay(d2, Period.ofDays(days))).isTrue();
+            assertThat(d2.isCloseToByDay(d1, Period.ofDays(days - 1))).isFalse();
+        }
+    }
+
+    @Test
+    void parse_rangeDate_keepsSecondaryDate() {
+        assertThat(Date.parse("BET ABT 1880 AND 3 MAR 1885")).hasValueSatisfying(d -> {
+            assertThat(d.getOperator()).isEqualTo(Date.Operator.ABT);
+            assertThat(d.getSecondary()).isNotNull();
+            assertThat(d.getSecondary().toLocalDate()).isEqualTo(LocalDate.of(1885, 3, 3));
+            assertThat(d.getSecondary().getSecondary()).isNull();
+            assertThat(d.format()).isEqualTo("BET ABT 1880 AND 3 MAR 1885");
+        });
+    }
+
+    @Test
+    void parse_invalidDay_throws() {
+        assertThatThrownBy(() -> Date.parse("29 FEB 1900")).isInstanceOf(DateTimeException.class);
+        assertThat(Date.parse("29 FEB 1904")).isPresent();
+    }
+
+    @Test
+    void parse_dayOfUnknownMonth_isNotChecked() {
+        assertThat(Date.parse("0 XYZ 1900")).hasValueSatisfying(d -> {
+            assertThat(d.getDay()).isZero();
+            assertThat(d.getMonth()).isNull();
+            assertThat(d.isFullDate()).isTrue();
+            assertThat(d.toLocalDate()).isNull();
+            assertThat(d.format()).isEqualTo("0 1900");
+        });
+        assertThat(Date.parse("45 Abc 1900")).hasValueSatisfying(d -> assertThat(d.format()).isEqualTo("45 1900"));
+        assertThat(Date.parse("32 XYZ 1900")).hasValueSatisfying(d -> {
+            assertThat(d.getDay()).isEqualTo(32);
+            assertThat(d.isFullDate()).isTrue();
+        });
+        assertThat(Date.parse("BET 1890 AND 99 XYZ 1900")).hasValueSatisfying(d -> assertThat(d.format()).isEqualTo("BET 1890 AND 99 1900"));
+    }
+
+    @Test
+    void parse_randomDateStrings_matchesRegexParser() {
+        // Fragments of valid and invalid dates, joined with and without spaces
+        String[] fragments = {
+                "", " ", "  ", "BET", "FROM", "AND", "TO", "ABT", "EST", "BEF", "AFT", "abt", "Abt", "BETABT", "JAN", "jan",
+                "Feb", "DEC", "XYZ", "0", "1", "5", "00", "12", "29", "31", "123", "1900", "1904", "0000", "19000", "A", "T", "ANDY"};
+        // Days of an unknown month are not checked
+        for (String value : List.of("0 XYZ 1900", "00 XYZ 1900", "45 Abc 1900", "32 XYZ 1900", "ABT 99 xyz 1900", "BET 31 FEB 1900 AND 0 XYZ 1901")) {
+            assertThat(parseAndFormat(() -> Date.parse(value).map(DateTests::describe)))
+                    .as(value)
+                    .isEqualTo(parseAndFormat(() -> RegexDateParser.parse(value).map(DateTests::describe)));
+        }
+
+        Random random = new Random(11L);
+        int validDates = 0;
+
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder dateStr = new StringBuilder();
+            int fragmentsCount = 1 + random.nextInt(8);
+            for (int j = 0; j < fragmentsCount; j++) {
+                dateStr.append(fragments[random.nextInt(fragments.length)]);
+                if (random.nextInt(3) > 0) {
+                    dateStr.append(' ');
+                }
+            }
+            String value = random.nextBoolean() ? dateStr.toString().trim() : dateStr.toString();
+
+            String expected = parseAndFormat(() -> RegexDateParser.parse(value).map(DateTests::describe));
+            assertThat(parseAndFormat(() -> Date.parse(value).map(DateTests::describe)))
+                    .as(value)
+                    .isEqualTo(expected);
+            if (!expected.isEmpty()) {
+                validDates++;
+            }
+        }
+
+        assertThat(validDates).isGreaterThan(1_000);
+    }
+
+    @Test
+    void comparisons_randomDatePairs_matchObjectDate() {
+        Random random = new Random(13L);
+
+        for (int i = 0; i < 300_000; i++) {
+            Date date1 = randomDate(random);
+            Date date2 = randomDate(random);
+            ObjectDate objectDate1 = ObjectDate.of(date1);
+            ObjectDate objectDate2 = ObjectDate.of(date2);
+            LocalDate localDate = LocalDate.of(1895 + random.nextInt(12), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            Period days = Period.ofDays(random.nextInt(40));
+            Period months = Period.ofMonths(random.nextInt(6));
+            Period years = Period.ofYears(random.nextInt(4));
+            String pair = date1 + " / " + date2;
+
+            assertThat(Integer.signum(date1.compareTo(date2))).as(pair).isEqualTo(Integer.signum(objectDate1.compareTo(objectDate2)));
+            assertThat(date1.isBefore(date2)).as(pair).isEqualTo(objectDate1.isBefore(objectDate2));
+            assertThat(date1.isBefore(localDate)).as(pair).isEqualTo(objectDate1.isBefore(localDate));
+            assertThat(date1.isCloseToByDay(date2, days)).as(pair).isEqualTo(objectDate1.isCloseToByDay(objectDate2, days));
+            assertThat(date1.isCloseToByMonth(date2, months)).as(pair).isEqualTo(objectDate1.isCloseToByMonth(objectDate2, months));
+            assertThat(date1.isCloseToByYear(date2, years)).as(pair).isEqualTo(objectDate1.isCloseToByYear(objectDate2, years));
+            assertThat(date1.isFullDate()).as(pair).isEqualTo(objectDate1.isFullDate());
+            assertThat(date1.isPartialDate()).as(pair).isEqualTo(objectDate1.isPartialDate());
+            assertThat(date1.isOnlyYearDate()).as(pair).isEqualTo(objectDate1.isOnlyYearDate());
+            assertThat(date1.isYear(date2.getYear())).as(pair).isEqualTo(objectDate1.isYear(date2.getYear()));
+            assertThat(date1.isMonthAndDay(localDate.getMonth(), localDate.getDayOfMonth()))
+                    .as(pair)
+                    .isEqualTo(objectDate1.isMonthAndDay(localDate.getMonth(), localDate.getDayOfMonth()));
+        }
+    }
+
     @Test
     void now_returnsCurrentDateInZone() {
         Date d = Date.now(ZoneId.of("UTC"));
         assertThat(d.getYear().getValue()).isEqualTo(LocalDate.now(ZoneId.of("UTC")).getYear());
     }
+
+    private static String parseAndFormat(Supplier<Optional<String>> parser) {
+        try {
+            return parser.get()
+                    .orElse("");
+        } catch (DateTimeException e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    private static String describe(Date date) {
+        return date.format() + " " + date.isFullDate() + " " + date.isPartialDate();
+    }
+
+    private static String describe(ObjectDate date) {
+        return date.format() + " " + date.isFullDate() + " " + date.isPartialDate();
+    }
+
+    private static Date randomDate(Random random) {
+        // Few years, so the pairs are often close by day, month or year
+        Year year = Year.of(1895 + random.nextInt(12));
+        Month month = random.nextInt(4) == 0 ? null : Month.of(1 + random.nextInt(12));
+        Integer day = month == null || random.nextInt(3) == 0 ? null : 1 + random.nextInt(year.atMonth(month).lengthOfMonth());
+        Date.Operator operator = random.nextInt(4) == 0 ? Date.Operator.values()[random.nextInt(Date.Operator.values().length)] : null;
+        return Date.of(year, month, day, operator, null);
+    }
+
 }
@@ -0,0 +1,66 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import java.util.List;
+import java.util.Optional;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class EnrichedPersonTestUtils {
+
+    /**
+     * Every enriched value of the person, relatives as ids, so two enriched gedcoms can be compared person by person.
+     */
+    public static List<Object> describe(EnrichedPerson person) {
+        return List.of(
+                person.format(),
+                person.getUuid(),
+                person.getSex(),
+                String.valueOf(person.getGivenName()),
+                person.getSurname(),
+                String.valueOf(person.getAka()),
+                person.getProfilePicture(),
+                String.valueOf(person.getDateOfBirth()),
+                String.valueOf(person.getDateOfDeath()),
+                person.getAge(),
+                String.valueOf(person.getResidences()),
+                String.valueOf(person.getImmigrations()),
+                List.of(person.isDistinguishedPerson(), person.isNativePerson(), person.isDisappearedPerson()),
+                person.getEmails(),
+                person.getUpdateDate(),
+                describeRelatives(person.getParentsWithReference()),
+                person
+                        .getSpousesWithChildren()
+                        .stream()
+                        .map(spouseWithChildren -> List.of(
+                                spouseWithChildren.getSpouse().map(EnrichedPerson::getId),
+                                describeRelatives(spouseWithChildren.getChildrenWithReference()),
+                                spouseWithChildren.isSeparated(),
+                                String.valueOf(spouseWithChildren.getDateOfPartners()),
+                                String.valueOf(spouseWithChildren.getDateOfSeparation()),
+                                spouseWithChildren.getPlaceOfPartners(),
+                                spouseWithChildren.getPlaceOfSeparation()))
+                        .toList(),
+                ids(person.getAllSiblings()),
+                ids(person.getParents()),
+                ids(person.getSpouses()),
+                ids(person.getChildren()));
+    }
+
+    private static List<List<Object>> describeRelatives(List<EnrichedPersonWithReference> relatives) {
+        return relatives
+                .stream()
+                .map(relative -> List.<Object>of(
+                        Optional.ofNullable(relative.person()).map(EnrichedPerson::getId),
+                        relative.referenceType()))
+                .toList();
+    }
+
+    private static List<Integer> ids(List<EnrichedPerson> people) {
+        return people
+                .stream()
+                .map(EnrichedPerson::getId)
+                .toList();
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.dto.SexType;
+import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
+import com.geneaazul.gedcomanalyzer.utils.SyntheticGedcomGenerator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnableConfigurationProperties
+@ActiveProfiles("test")
+public class GivenNameIndexTests {
+
+    @Autowired
+    private GedcomParsingService gedcomParsingService;
+    @Autowired
+    private GedcomAnalyzerProperties properties;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void getPersonsBySurnameMainWordAndSexAndGivenName_syntheticGedcom_matchesSurnameAndSexSearch() throws Exception {
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(2_000)
+                .seed(23L)
+                .build();
+
+        Path gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+
+        List<EnrichedPerson> people = gedcom
+                .getPeople()
+                .stream()
+                .filter(person -> person.getGivenName().isPresent() && person.getSurname().isPresent())
+                .toList();
+        assertThat(people).isNotEmpty();
+
+        int searchesWithResults = 0;
+        for (int i = 0; i < people.size(); i += 7) {
+            EnrichedPerson person = people.get(i);
+            String givenName = person.getGivenName().get().value();
+            String otherGivenName = people.get((i + 1) % people.size()).getGivenName().get().value();
+            String surname = person.getSurname().get().value();
+
+            // The given name, a two words given name containing it, and with an a.k.a. name
+            List<GivenNameAndSurname> searches = Stream.of(
+                            GivenNameAndSurname.of(givenName, surname, person.getSex(), properties),
+                            GivenNameAndSurname.of(otherGivenName + " " + givenName, surname, person.getSex(), properties),
+                            GivenNameAndSurname.of(givenName, surname, givenName, person.getSex(), properties))
+                    .filter(GivenNameAndSurname::areAllValuesNotEmpty)
+                    .toList();
+
+            for (GivenNameAndSurname search : searches) {
+                List<EnrichedPerson> expected = gedcom
+                        .getPersonsBySurnameMainWordAndSex(search.surname(), person.getSex())
+                        .stream()
+                        .filter(candidate -> candidate.matchesGivenNameAndSurname(search))
+                        .toList();
+                List<EnrichedPerson> result = gedcom
+                        .getPersonsBySurnameMainWordAndSexAndGivenName(search, person.getSex())
+                        .stream()
+                        .filter(candidate -> candidate.matchesGivenNameAndSurname(search))
+                        .toList();
+
+                assertThat(result).containsExactlyElementsOf(expected);
+                searchesWithResults += expected.isEmpty() ? 0 : 1;
+            }
+        }
+        assertThat(searchesWithResults).isPositive();
+    }
+
+    @Test
+    public void getDuplicateCandidatePositions_syntheticGedcom_containsAllLaterMatchingPeople() throws Exception {
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(2_000)
+                .seed(31L)
+                .build();
+
+        Path gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+
+        List<EnrichedPerson> people = gedcom.getPeople();
+        Map<Integer, Integer> positionsById = IntStream.range(0, people.size())
+                .boxed()
+                .collect(Collectors.toMap(position -> people.get(position).getId(), Function.identity()));
+
+        int candidatesCount = 0;
+        int surnameAndSexPairsCount = 0;
+        for (int position = 0; position < people.size(); position++) {
+            int personPosition = position;
+            EnrichedPerson person = people.get(position);
+            List<Integer> candidatePositions = Arrays.stream(gedcom.getDuplicateCandidatePositions(position))
+                    .boxed()
+                    .toList();
+
+            assertThat(candidatePositions)
+                    .isSorted()
+                    .allMatch(candidatePosition -> candidatePosition > personPosition);
+            candidatesCount += candidatePositions.size();
+
+            if (person.getSurname().isEmpty() || person.getSex() == SexType.U) {
+                assertThat(candidatePositions).isEmpty();
+                continue;
+            }
+
+            List<EnrichedPerson> laterPeople = gedcom
+                    .getPersonsBySurnameMainWordAndSex(person.getSurname().get(), person.getSex())
+                    .stream()
+                    .filter(compare -> positionsById.get(compare.getId()) > personPosition)
+                    .toList();
+            surnameAndSexPairsCount += laterPeople.size();
+
+            assertThat(candidatePositions).containsAll(laterPeople
+                    .stream()
+                    .filter(person::matchesGivenNameAndSurname)
+                    .map(compare -> positionsById.get(compare.getId()))
+                    .toList());
+        }
+        // People not sharing a given name word are not compared
+        assertThat(candidatesCount).isPositive().isLessThan(surnameAndSexPairsCount);
+    }
+
+    @Test
+    public void getPersonsBySurnameMainWordAndSexAndGivenName_notSharingWords_onlyAkaCandidates() throws Exception {
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(500)
+                .seed(29L)
+                .build();
+
+        Path gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+
+        EnrichedPerson person = gedcom
+                .getPeople()
+                .stream()
+                .filter(p -> p.getSurname().isPresent() && p.getSex() != SexType.U)
+                .findFirst()
+                .orElseThrow();
+        GivenNameAndSurname search = GivenNameAndSurname.of(
+                Optional.of(GivenName.of("Qwzxk", "qwzxk", "qwzxk")),
+                person.getSurname(),
+                Optional.empty());
+
+        assertThat(gedcom.getPersonsBySurnameMainWordAndSex(person.getSurname().get(), person.getSex())).isNotEmpty();
+        // Only the people with an a.k.a. name may match any given name
+        assertThat(gedcom.getPersonsBySurnameMainWordAndSexAndGivenName(search, person.getSex()))
+                .allMatch(candidate -> candidate.getAka().isPresent());
+    }
+
+}
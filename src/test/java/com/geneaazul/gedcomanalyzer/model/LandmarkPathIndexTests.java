@@ -0,0 +1,69 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
+import com.geneaazul.gedcomanalyzer.utils.PathUtils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnableConfigurationProperties
+@ActiveProfiles("test")
+public class LandmarkPathIndexTests {
+
+    @Autowired
+    private GedcomHolder gedcomHolder;
+
+    @Test
+    public void testPathsMatchPointToPointSearch() {
+        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+        LandmarkPathIndex landmarkPathIndex = gedcom.getLandmarkPathIndex();
+
+        // Landmarks are configured in the test properties
+        assertThat(landmarkPathIndex.getLandmarkIds()).containsExactly(15, 22);
+
+        // The family references of the I6..I22 sub-tree are complete, the rest of the test gedcom has missing references on purpose
+        List<EnrichedPerson> people = gedcom
+                .getPeople()
+                .stream()
+                .filter(person -> person.getId() >= 6)
+                .toList();
+
+        for (Integer landmarkId : landmarkPathIndex.getLandmarkIds()) {
+            EnrichedPerson landmark = Objects.requireNonNull(gedcom.getPersonById(landmarkId));
+            for (EnrichedPerson person : people) {
+                List<Integer> expectedPath = PathUtils.calculateShortestPath(gedcom, person, landmark, true);
+                List<Integer> path = landmarkPathIndex.pathToLandmark(person.getId(), landmarkId);
+
+                assertThat(path).hasSize(expectedPath.size());
+                assertThat(path.getFirst()).isEqualTo(person.getId());
+                assertThat(path.getLast()).isEqualTo(landmarkId);
+                assertThat(landmarkPathIndex.getDistance(person.getId(), landmarkId)).isEqualTo(expectedPath.size() - 1);
+            }
+        }
+    }
+
+    @Test
+    public void testNotConnectedAndMissingLandmarks() {
+        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+        LandmarkPathIndex landmarkPathIndex = LandmarkPathIndex.of(gedcom, List.of(15, Integer.MAX_VALUE));
+
+        assertThat(landmarkPathIndex.getLandmarkIds()).containsExactly(15, Integer.MAX_VALUE);
+        assertThat(landmarkPathIndex.pathToLandmark(15, 15)).containsExactly(15);
+        // Test Mother (I2) is not connected to Father B (I15)
+        assertThat(landmarkPathIndex.pathToLandmark(2, 15)).isEmpty();
+        assertThat(landmarkPathIndex.getDistance(2, 15)).isNull();
+        assertThat(landmarkPathIndex.pathToLandmark(15, Integer.MAX_VALUE)).isEmpty();
+        assertThat(landmarkPathIndex.getDistance(15, Integer.MAX_VALUE)).isNull();
+    }
+
+}
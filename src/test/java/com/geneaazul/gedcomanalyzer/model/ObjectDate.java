@@ -0,0 +1,174 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * The object based date replaced by the packed {@link Date}, kept as the reference of its differential tests. Only
+ * the construction rules, the format and the comparisons are kept.
+ */
+public class ObjectDate implements Comparable<ObjectDate> {
+
+    private final Year year;
+    private final Month month;
+    private final Integer day;
+    private final Date.Operator operator;
+    private final ObjectDate secondary;
+
+    // Only set when day is not null
+    private final LocalDate localDate;
+
+    // Only set when month is not null
+    private final YearMonth yearMonth;
+
+    private ObjectDate(Year year, @Nullable Month month, @Nullable Integer day, @Nullable Date.Operator operator, @Nullable ObjectDate secondary) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+        this.operator = operator;
+        this.secondary = secondary;
+        // The day is only checked when the month is set
+        this.localDate = day != null && month != null ? LocalDate.of(year.getValue(), month, day) : null;
+        this.yearMonth = month != null ? YearMonth.of(year.getValue(), month) : null;
+    }
+
+    public static ObjectDate of(Year year, @Nullable Month month, @Nullable Integer day, @Nullable Date.Operator operator, @Nullable ObjectDate secondary) {
+        return new ObjectDate(year, month, day, operator, secondary);
+    }
+
+    public static ObjectDate of(Date date) {
+        return new ObjectDate(
+                date.getYear(),
+                date.getMonth(),
+                date.getDay(),
+                date.getOperator(),
+                date.getSecondary() == null ? null : of(date.getSecondary()));
+    }
+
+    public boolean isFullDate() {
+        return day != null;
+    }
+
+    public boolean isPartialDate() {
+        return day == null && month != null;
+    }
+
+    public boolean isOnlyYearDate() {
+        return day == null && month == null;
+    }
+
+    public boolean isYear(Year year) {
+        return this.year.equals(year);
+    }
+
+    public boolean isMonthAndDay(Month month, int day) {
+        return isFullDate() && this.month.equals(month) && this.day.equals(day);
+    }
+
+    public boolean isBefore(ObjectDate other) {
+        if (other.day != null) {
+            return isBefore(other.localDate);
+        }
+        if (other.month != null) {
+            return isBefore(LocalDate.of(other.year.getValue(), other.month, 1));
+        }
+        return isBefore(LocalDate.of(other.year.getValue(), 1, 1));
+    }
+
+    public boolean isBefore(LocalDate date) {
+        if (day != null) {
+            return localDate.isBefore(date);
+        }
+        if (month != null) {
+            return !LocalDate.of(year.getValue(), month, 1).isAfter(date);
+        }
+        return !LocalDate.of(year.getValue(), 1, 1).isAfter(date);
+    }
+
+    public boolean isCloseToByDay(ObjectDate other, Period delta) {
+        if (!this.isFullDate() || !other.isFullDate()) {
+            return false;
+        }
+        LocalDate ym1 = this.localDate;
+        LocalDate ym2 = other.localDate;
+        if (delta.isZero()) {
+            return ym1.isEqual(ym2);
+        }
+        if (ym1.isAfter(ym2)) {
+            return ChronoUnit.DAYS.between(ym2, ym1) <= delta.getDays();
+        } else {
+            return ChronoUnit.DAYS.between(ym1, ym2) <= delta.getDays();
+        }
+    }
+
+    public boolean isCloseToByMonth(ObjectDate other, Period delta) {
+        // If both days are set, then it is a "by day" comparison.. so at least one must be partial
+        if (!this.isPartialDate() && !other.isPartialDate()) {
+            return false;
+        }
+        if (this.isOnlyYearDate() || other.isOnlyYearDate()) {
+            return false;
+        }
+        YearMonth ym1 = this.yearMonth;
+        YearMonth ym2 = other.yearMonth;
+        if (delta.isZero()) {
+            return ym1.equals(ym2);
+        }
+        if (ym1.isAfter(ym2)) {
+            return ChronoUnit.MONTHS.between(ym2, ym1) <= delta.getMonths();
+        } else {
+            return ChronoUnit.MONTHS.between(ym1, ym2) <= delta.getMonths();
+        }
+    }
+
+    public boolean isCloseToByYear(ObjectDate other, Period delta) {
+        // If both days or months are set, then it is a "by day" or "by month" comparison
+        if (!this.isOnlyYearDate() && !other.isOnlyYearDate()) {
+            return false;
+        }
+        if (delta.isZero()) {
+            return this.year.equals(other.year);
+        }
+        if (this.year.isAfter(other.year)) {
+            return ChronoUnit.YEARS.between(other.year, this.year) <= delta.getYears();
+        } else {
+            return ChronoUnit.YEARS.between(this.year, other.year) <= delta.getYears();
+        }
+    }
+
+    public String format() {
+        return (secondary == null ? "" : "BET ")
+                + (operator == null ? "" : operator + " ")
+                + (day == null ? "" : day + " ")
+                + (month == null ? "" : month.toString().substring(0, 3) + " ")
+                + year
+                + (secondary == null ? "" : " AND " + secondary);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    @Override
+    public int compareTo(ObjectDate other) {
+        int cmp = ObjectUtils.compare(this.year, other.year, true);
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = ObjectUtils.compare(this.month, other.month, true);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return ObjectUtils.compare(this.day, other.day, true);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnableConfigurationProperties
+@ActiveProfiles("test")
+public class PersonGraphTests {
+
+    @Autowired
+    private GedcomHolder gedcomHolder;
+
+    @Test
+    public void testIndexesMatchPeople() {
+        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+        PersonGraph graph = gedcom.getPersonGraph();
+
+        assertThat(graph.size()).isEqualTo(gedcom.getPeople().size());
+        assertThat(graph.indexOf(Integer.MAX_VALUE)).isEqualTo(-1);
+
+        for (EnrichedPerson person : gedcom.getPeople()) {
+            int index = graph.indexOf(person.getId());
+            assertThat(graph.idOf(index)).isEqualTo(person.getId());
+            assertThat(graph.personOf(index)).isSameAs(person);
+            assertThat(graph.degree(PersonGraph.EdgeType.PARENT, index)).isEqualTo(person.getParents().size());
+            assertThat(graph.degree(PersonGraph.EdgeType.CHILD, index)).isEqualTo(person.getChildren().size());
+            assertThat(graph.degree(PersonGraph.EdgeType.SPOUSE, index)).isEqualTo(person.getSpouses().size());
+            assertThat(graph.degree(PersonGraph.EdgeType.SIBLING, index)).isEqualTo(person.getAllSiblings().size());
+        }
+    }
+
+    @Test
+    public void testAdoptionAndHalfFlags() {
+        /*
+         * I9 is the biological child of I7 and I6 [F4] and the adopted child of I8 and I6 [F5]
+         */
+        PersonGraph graph = gedcomHolder.getGedcom().getPersonGraph();
+        int index = graph.indexOf(9);
+
+        Map<Integer, Byte> parentFlagsById = getRelativeFlagsById(graph, PersonGraph.EdgeType.PARENT, index);
+        assertThat(parentFlagsById).containsOnlyKeys(6, 7, 8);
+        assertThat(parentFlagsById.get(6)).isEqualTo((byte) 0);
+        assertThat(parentFlagsById.get(7)).isEqualTo((byte) 0);
+        assertThat(parentFlagsById.get(8)).isEqualTo(PersonGraph.FLAG_ADOPTED);
+
+        // Child edges keep the same flag as the parent edges
+        assertThat(getRelativeFlagsById(graph, PersonGraph.EdgeType.CHILD, graph.indexOf(7)).get(9)).isEqualTo((byte) 0);
+        assertThat(getRelativeFlagsById(graph, PersonGraph.EdgeType.CHILD, graph.indexOf(8)).get(9)).isEqualTo(PersonGraph.FLAG_ADOPTED);
+
+        // I10 and I11 only share I7 and I6 with I9, I17 only shares I6
+        Map<Integer, Byte> siblingFlagsById = getRelativeFlagsById(graph, PersonGraph.EdgeType.SIBLING, index);
+        assertThat(siblingFlagsById.get(10)).isEqualTo(PersonGraph.FLAG_HALF);
+        assertThat(siblingFlagsById.get(17)).isEqualTo(PersonGraph.FLAG_HALF);
+
+        // I10 and I11 share both parents
+        Map<Integer, Byte> fullSiblingFlagsById = getRelativeFlagsById(graph, PersonGraph.EdgeType.SIBLING, graph.indexOf(11));
+        assertThat(fullSiblingFlagsById.get(10)).isEqualTo((byte) 0);
+    }
+
+    private static Map<Integer, Byte> getRelativeFlagsById(PersonGraph graph, PersonGraph.EdgeType edgeType, int index) {
+        int[] offsets = graph.offsets(edgeType);
+        int[] targets = graph.targets(edgeType);
+        byte[] flags = graph.flags(edgeType);
+
+        Map<Integer, Byte> relativeFlagsById = new HashMap<>();
+        for (int edge = offsets[index]; edge < offsets[index + 1]; edge++) {
+            relativeFlagsById.put(graph.idOf(targets[edge]), flags[edge]);
+        }
+        return relativeFlagsById;
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
+import com.geneaazul.gedcomanalyzer.utils.PersonUtils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.context.ActiveProfiles;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnableConfigurationProperties
+@ActiveProfiles("test")
+public class PersonUuidAliasesTests {
+
+    @Autowired
+    private GedcomParsingService gedcomParsingService;
+    @Autowired
+    private GedcomAnalyzerProperties properties;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void getUuid_modifiedGedcomFile_keepsUuids() throws Exception {
+        Path gedcomPath = tempDir.resolve("test.ged");
+        Files.copy(properties.getGedcomStorageLocalPath(), gedcomPath);
+        Files.setLastModifiedTime(gedcomPath, FileTime.from(Instant.parse("2024-01-01T10:00:00.123456Z")));
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+
+        Files.setLastModifiedTime(gedcomPath, FileTime.from(Instant.parse("2024-02-01T10:00:00.654321Z")));
+        EnrichedGedcom reloadedGedcom = gedcomParsingService.parse(gedcomPath);
+
+        assertThat(reloadedGedcom.getModifiedDateTime()).isNotEqualTo(gedcom.getModifiedDateTime());
+        for (EnrichedPerson person : gedcom.getPeople()) {
+            assertThat(reloadedGedcom.getPersonById(person.getId()).getUuid()).isEqualTo(person.getUuid());
+            assertThat(person.getUuid().version()).isEqualTo(8);
+            assertThat(person.getUuid()).isEqualTo(PersonUtils.getUuid(person.getId(), properties.getPersonUuidSecret()));
+        }
+        assertThat(PersonUtils.getUuid(1, "another-secret")).isNotEqualTo(PersonUtils.getUuid(1, properties.getPersonUuidSecret()));
+    }
+
+    @Test
+    public void personUuidSecret_missing_failsStartup() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(PropertiesConfiguration.class)
+                .run(context -> {
+                    assertThat(context).hasFailed();
+                    assertThat(context.getStartupFailure()).rootCause().hasMessageContaining("personUuidSecret");
+                });
+    }
+
+    @Test
+    public void getPersonByUuid_legacyUuid_resolvedOnlyForConfiguredModifiedTime() throws Exception {
+        ZonedDateTime legacyModifiedDateTime = ZonedDateTime.ofInstant(properties.getPersonUuidLegacyModifiedTime(), ZoneOffset.UTC);
+        Path gedcomPath = tempDir.resolve("test.ged");
+        Files.copy(properties.getGedcomStorageLocalPath(), gedcomPath);
+        // Reloaded after the stable uuids, its own legacy uuids were never published
+        Files.setLastModifiedTime(gedcomPath, FileTime.from(Instant.parse("2024-02-01T10:00:00.654321Z")));
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+        EnrichedPerson person = gedcom.getPeople().getLast();
+
+        assertThat(gedcom.getPersonByUuid(PersonUtils.getLegacyUuid(person.getId(), legacyModifiedDateTime))).isSameAs(person);
+        assertThat(gedcom.getPersonByUuid(person.getUuid())).isSameAs(person);
+        assertThat(gedcom.getPersonByUuid(PersonUtils.getLegacyUuid(person.getId(), gedcom.getModifiedDateTime()))).isNull();
+        assertThat(gedcom.getPersonByUuid(PersonUtils.getLegacyUuid(person.getId(), legacyModifiedDateTime.plusSeconds(1)))).isNull();
+    }
+
+    @Test
+    public void getPersonId_expiredOrNotConfigured_notResolved() {
+        ZonedDateTime legacyModifiedDateTime = ZonedDateTime.parse("2024-01-01T10:00:00.123456Z");
+        Instant expiresAt = Instant.parse("2024-03-01T00:00:00Z");
+        PersonUuidAliases personUuidAliases = new PersonUuidAliases(legacyModifiedDateTime, expiresAt);
+        UUID legacyUuid = PersonUtils.getLegacyUuid(15, legacyModifiedDateTime);
+
+        assertThat(personUuidAliases.getPersonId(legacyUuid, expiresAt.minusSeconds(1))).contains(15);
+        // The expiry is fixed, it is not extended by restarts or reloads
+        assertThat(personUuidAliases.getPersonId(legacyUuid, expiresAt)).isEmpty();
+        assertThat(PersonUuidAliases.EMPTY.getPersonId(legacyUuid, expiresAt.minusSeconds(1))).isEmpty();
+    }
+
+    @EnableConfigurationProperties(GedcomAnalyzerProperties.class)
+    static class PropertiesConfiguration {
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.geneaazul.gedcomanalyzer.model;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Month;
+import java.time.Year;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The regex based date parser replaced by the tokenizer of {@link Date#parse}, kept as the reference of its
+ * differential tests and benchmarks. Dates are built as the former object based dates, see {@link ObjectDate}.
+ */
+@UtilityClass
+public class RegexDateParser {
+
+    private static final String LOCAL_DATE_REGEX = " ?(ABT|EST|BEF|AFT)?(?:(?: ?(\\d{1,2}))? ?([A-Za-z]{3}))? ?(\\d{4})";
+    private static final Pattern DATE_REGEX = Pattern.compile("(BET|FROM)?" + LOCAL_DATE_REGEX + "(?: ?(AND|TO)" + LOCAL_DATE_REGEX + ")?");
+
+    private static final Map<String, String> MONTHS_MAPPING = Map.ofEntries(
+            Map.entry("JAN", Month.JANUARY.name()),
+            Map.entry("FEB", Month.FEBRUARY.name()),
+            Map.entry("MAR", Month.MARCH.name()),
+            Map.entry("APR", Month.APRIL.name()),
+            Map.entry("MAY", Month.MAY.name()),
+            Map.entry("JUN", Month.JUNE.name()),
+            Map.entry("JUL", Month.JULY.name()),
+            Map.entry("AUG", Month.AUGUST.name()),
+            Map.entry("SEP", Month.SEPTEMBER.name()),
+            Map.entry("OCT", Month.OCTOBER.name()),
+            Map.entry("NOV", Month.NOVEMBER.name()),
+            Map.entry("DEC", Month.DECEMBER.name())
+    );
+
+    public static Optional<ObjectDate> parse(String dateStr) {
+        Matcher matcher = DATE_REGEX.matcher(dateStr);
+
+        if (matcher.matches()) {
+            Optional<String> operator = trimToNull(matcher, 2);
+            Optional<String> day = trimToNull(matcher, 3);
+            Optional<String> month = trimToNull(matcher, 4);
+            Optional<String> year = trimToNull(matcher, 5);
+            Optional<String> secKey = trimToNull(matcher, 6);
+            Optional<String> secOperator = trimToNull(matcher, 7);
+            Optional<String> secDay = trimToNull(matcher, 8);
+            Optional<String> secMonth = trimToNull(matcher, 9);
+            Optional<String> secYear = trimToNull(matcher, 10);
+
+            Optional<ObjectDate> secondary = secKey
+                    .map(key -> ObjectDate.of(
+                            secYear
+                                    .map(Year::parse)
+                                    .orElse(null),
+                            secMonth
+                                    .map(String::toUpperCase)
+                                    .map(MONTHS_MAPPING::get)
+                                    .map(Month::valueOf)
+                                    .orElse(null),
+                            secDay
+                                    .map(Integer::parseInt)
+                                    .orElse(null),
+                            secOperator
+                                    .map(Date.Operator::valueOf)
+                                    .orElse(null),
+                            null));
+
+            return Optional.of(
+                    ObjectDate.of(
+                            year
+                                    .map(Year::parse)
+                                    .orElse(null),
+                            month
+                                    .map(String::toUpperCase)
+                                    .map(MONTHS_MAPPING::get)
+                                    .map(Month::valueOf)
+                                    .orElse(null),
+                            day
+                                    .map(Integer::parseInt)
+                                    .orElse(null),
+                            operator
+                                    .map(Date.Operator::valueOf)
+                                    .orElse(null),
+                            secondary
+                                    .orElse(null)));
+        }
+
+        return Optional.empty();
+    }
+
+    private static Optional<String> trimToNull(Matcher matcher, int group) {
+        return Optional.ofNullable(StringUtils.trimToNull(matcher.group(group)));
+    }
+
+}
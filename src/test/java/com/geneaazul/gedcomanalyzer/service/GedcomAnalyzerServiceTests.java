@@ -6,10 +6,12 @@ import com.geneaazul.gedcomanalyzer.model.Date;
 import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
 import com.geneaazul.gedcomanalyzer.model.EnrichedSpouseWithChildren;
+import com.geneaazul.gedcomanalyzer.model.PersonComparisonResults;
 import com.geneaazul.gedcomanalyzer.model.Surname;
 import com.geneaazul.gedcomanalyzer.model.dto.SexType;
 import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
 import com.geneaazul.gedcomanalyzer.utils.DateUtils.AstrologicalSign;
+import com.geneaazul.gedcomanalyzer.utils.SyntheticGedcomGenerator;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -20,7 +22,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.Year;
@@ -34,6 +38,8 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @EnableConfigurationProperties
 @ActiveProfiles("test")
@@ -47,6 +53,11 @@ public class GedcomAnalyzerServiceTests {
     private SearchService searchService;
     @Autowired
     private GedcomAnalyzerProperties properties;
+    @Autowired
+    private GedcomParsingService gedcomParsingService;
+
+    @TempDir
+    private Path tempDir;
 
     private EnrichedGedcom gedcom;
 
@@ -424,6 +435,37 @@ public class GedcomAnalyzerServiceTests {
                 });
     }
 
+    @Test
+    public void findDuplicatedPersons_parallel_matchesSequential() throws Exception {
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(3_000)
+                .seed(37L)
+                .build();
+
+        Path gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+        EnrichedGedcom syntheticGedcom = gedcomParsingService.parse(gedcomPath);
+
+        List<String> sequentialResults = describe(searchService.findDuplicatedPersons(syntheticGedcom, 1));
+        assertThat(sequentialResults).isNotEmpty();
+
+        for (int parallelism : List.of(2, 4, 8)) {
+            assertThat(describe(searchService.findDuplicatedPersons(syntheticGedcom, parallelism)))
+                    .containsExactlyElementsOf(sequentialResults);
+        }
+    }
+
+    private static List<String> describe(List<PersonComparisonResults> duplicatedPersons) {
+        return duplicatedPersons
+                .stream()
+                .map(personResults -> personResults.person().getId() + " -> " + personResults
+                        .results()
+                        .stream()
+                        .map(comparisonResult -> comparisonResult.getCompare().getId() + ":" + comparisonResult.getScore())
+                        .toList())
+                .toList();
+    }
+
     @Test
     public void findNativePeople() {
         System.out.println("findNativePeople:");
@@ -0,0 +1,187 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.Date;
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPersonTestUtils;
+import com.geneaazul.gedcomanalyzer.model.GedcomRecords;
+import com.geneaazul.gedcomanalyzer.model.Surname;
+import com.geneaazul.gedcomanalyzer.utils.PersonUtils;
+import com.geneaazul.gedcomanalyzer.utils.SyntheticGedcomGenerator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import org.folg.gedcom.model.Family;
+import org.folg.gedcom.model.Gedcom;
+import org.folg.gedcom.model.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@EnableConfigurationProperties
+@ActiveProfiles("test")
+public class GedcomParsingServiceTests {
+
+    @Autowired
+    private GedcomParsingService gedcomParsingService;
+    @Autowired
+    private GedcomAnalyzerProperties properties;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void parseStreamed_testGedcom_matchesParse() throws Exception {
+        // The test gedcom has missing family references on purpose, they must be resolved the same way
+        assertParseStreamedMatchesParse(properties.getGedcomStorageLocalPath());
+    }
+
+    @Test
+    public void parseStreamed_syntheticGedcom_matchesParse() throws Exception {
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(2_000)
+                .seed(13L)
+                .adoptionRate(0.1)
+                .updateTagRate(0.5)
+                .distinguishedPersonRate(0.05)
+                .build();
+
+        Path gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+
+        assertParseStreamedMatchesParse(gedcomPath);
+    }
+
+    @Test
+    public void gedcomRecordReader_returnsOnlyRecordsWithTags() throws Exception {
+        try (GedcomRecordReader recordReader = GedcomRecordReader.open(properties.getGedcomStorageLocalPath(), Set.of("FAM"))) {
+            int families = 0;
+            GedcomRecordReader.GedcomRecord record;
+            while ((record = recordReader.nextRecord()) != null) {
+                assertThat(record.tag()).isEqualTo("FAM");
+                assertThat(record.text()).startsWith("0 @" + record.id() + "@ FAM\n");
+                families++;
+            }
+            assertThat(families).isEqualTo(gedcomParsingService.parseGedcom(properties.getGedcomStorageLocalPath()).getFamilies().size());
+        }
+    }
+
+    @Test
+    public void parseGedcom_mappedFile_matchesInputStream() throws Exception {
+        Path gedcomPath = properties.getGedcomStorageLocalPath();
+        Gedcom mappedGedcom = gedcomParsingService.parseGedcom(gedcomPath);
+        Gedcom gedcom;
+        try (InputStream gedcomIs = Files.newInputStream(gedcomPath)) {
+            gedcom = gedcomParsingService.parseGedcom(gedcomIs);
+        }
+
+        assertThat(mappedGedcom.getHeader().getCharacterSet().getValue()).isEqualTo(gedcom.getHeader().getCharacterSet().getValue());
+        assertThat(mappedGedcom.getPeople())
+                .extracting(Person::getId, PersonUtils::getDisplayName)
+                .containsExactlyElementsOf(gedcom.getPeople()
+                        .stream()
+                        .map(person -> tuple(person.getId(), PersonUtils.getDisplayName(person)))
+                        .toList());
+        assertThat(mappedGedcom.getFamilies())
+                .extracting(Family::getId)
+                .containsExactlyElementsOf(gedcom.getFamilies()
+                        .stream()
+                        .map(Family::getId)
+                        .toList());
+    }
+
+    @Test
+    public void parse_repeatedNamesAndDates_shareInstances() throws Exception {
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(2_000)
+                .seed(19L)
+                .build();
+
+        Path gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+
+        Map<String, Surname> surnames = new HashMap<>();
+        Map<String, Date> datesOfBirth = new HashMap<>();
+        for (EnrichedPerson person : gedcom.getPeople()) {
+            person.getSurname()
+                    .ifPresent(surname -> assertThat(surnames.computeIfAbsent(surname.value(), value -> surname)).isSameAs(surname));
+            person.getDateOfBirth()
+                    .ifPresent(date -> assertThat(datesOfBirth.computeIfAbsent(date.format(), value -> date)).isSameAs(date));
+        }
+        assertThat(surnames).hasSizeLessThan(gedcom.getPeople().size() / 2);
+        assertThat(datesOfBirth).hasSizeLessThan(gedcom.getPeople().size() / 2);
+        // The interner is dropped once the people are loaded
+        assertThatThrownBy(gedcom::getInterner).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void parseStreamed_previousGedcom_reusesUnchangedRecords() throws Exception {
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(2_000)
+                .seed(17L)
+                .build();
+
+        Path gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+        EnrichedGedcom previousGedcom = gedcomParsingService.parseStreamed(gedcomPath);
+
+        assertThat(previousGedcom.getRecords()).isPresent();
+        assertThat(previousGedcom.getRecords().get().peopleDelta()).isEqualTo(new GedcomRecords.Delta(2_000, 0, 0, 0));
+
+        // Change the name of the last person
+        byte[] bytes = Files.readAllBytes(gedcomPath);
+        int index = new String(bytes, StandardCharsets.ISO_8859_1).lastIndexOf("1 NAME ") + "1 NAME ".length();
+        bytes[index] = (byte) (bytes[index] == 'X' ? 'Y' : 'X');
+        Files.write(gedcomPath, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+
+        EnrichedGedcom gedcom = gedcomParsingService.parseStreamed(gedcomPath, previousGedcom);
+        EnrichedGedcom fullyParsedGedcom = gedcomParsingService.parseStreamed(gedcomPath);
+
+        GedcomRecords records = gedcom.getRecords().orElseThrow();
+        assertThat(records.peopleDelta()).isEqualTo(new GedcomRecords.Delta(0, 1, 0, 1_999));
+        assertThat(records.familiesDelta().unchanged()).isEqualTo(previousGedcom.getRecords().get().families().size());
+        assertThat(gedcom.getPeople().getLast().getDisplayName()).isNotEqualTo(previousGedcom.getPeople().getLast().getDisplayName());
+        assertThat(gedcom.getPlaces()).isEqualTo(fullyParsedGedcom.getPlaces());
+
+        for (int i = 0; i < gedcom.getPeople().size(); i++) {
+            assertThat(gedcom.getPeople().get(i).getGedcom()).isSameAs(gedcom);
+            assertThat(EnrichedPersonTestUtils.describe(gedcom.getPeople().get(i)))
+                    .isEqualTo(EnrichedPersonTestUtils.describe(fullyParsedGedcom.getPeople().get(i)));
+        }
+    }
+
+    private void assertParseStreamedMatchesParse(Path gedcomPath) throws Exception {
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+        EnrichedGedcom streamedGedcom = gedcomParsingService.parseStreamed(gedcomPath);
+
+        assertThat(streamedGedcom.getGedcomName()).isEqualTo(gedcom.getGedcomName());
+        assertThat(streamedGedcom.getModifiedDateTime()).isEqualTo(gedcom.getModifiedDateTime());
+        assertThat(streamedGedcom.getLegacyGedcom()).isEmpty();
+        assertThat(streamedGedcom.getPlaces()).isEqualTo(gedcom.getPlaces());
+        assertThat(streamedGedcom.getPeople()).hasSameSizeAs(gedcom.getPeople());
+
+        for (int i = 0; i < gedcom.getPeople().size(); i++) {
+            assertThat(EnrichedPersonTestUtils.describe(streamedGedcom.getPeople().get(i)))
+                    .isEqualTo(EnrichedPersonTestUtils.describe(gedcom.getPeople().get(i)));
+        }
+    }
+
+}
@@ -8,8 +8,10 @@ import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
 import com.geneaazul.gedcomanalyzer.model.FormattedRelationship;
 import com.geneaazul.gedcomanalyzer.model.GivenName;
+import com.geneaazul.gedcomanalyzer.model.PersonTreeStats;
 import com.geneaazul.gedcomanalyzer.model.Place;
 import com.geneaazul.gedcomanalyzer.model.Relationship;
+import com.geneaazul.gedcomanalyzer.model.ShortestPathTree;
 import com.geneaazul.gedcomanalyzer.model.Surname;
 import com.geneaazul.gedcomanalyzer.model.dto.RelationshipDto;
 import com.geneaazul.gedcomanalyzer.model.dto.SexType;
@@ -612,13 +614,14 @@ public class HighLoadCalculationsTests {
     public void getPeopleInTree() {
         EnrichedPerson person = Objects.requireNonNull(gedcom.getPersonById(4));
         List<List<Relationship>> relationshipsList = familyTreeHelper.getRelationshipsWithNotInLawPriority(person);
+        PersonTreeStats treeStats = familyTreeHelper.getPersonTreeStats(relationshipsList);
 
-        System.out.println("setTransientProperties (excludeRootPerson = false):");
-        System.out.println("personsCountInTree: " + person.getPersonsCountInTree());
-        System.out.println("surnamesCountInTree: " + person.getSurnamesCountInTree());
-        System.out.println("ancestryCountries: " + person.getAncestryCountries());
-        System.out.println("ancestryGenerations: " + person.getAncestryGenerations());
-        System.out.println("maxDistantRelationship: " + person.getMaxDistantRelationship().orElse(null));
+        System.out.println("getPersonTreeStats (excludeRootPerson = false):");
+        System.out.println("personsCountInTree: " + treeStats.personsCountInTree());
+        System.out.println("surnamesCountInTree: " + treeStats.surnamesCountInTree());
+        System.out.println("ancestryCountries: " + treeStats.ancestryCountries());
+        System.out.println("ancestryGenerations: " + treeStats.ancestryGenerations());
+        System.out.println("maxDistantRelationship: " + treeStats.maxDistantRelationship().orElse(null));
 
         System.out.println("\ngetPeopleInTree:");
         relationshipsList
@@ -639,15 +642,15 @@ public class HighLoadCalculationsTests {
     @SuppressWarnings("DataFlowIssue")
     public void getShortestPathsToPersons() {
         EnrichedPerson person = gedcom.getPersonById(4);
-        Pair<Map<Integer, Integer>, Map<Integer, List<Integer>>> distancesAndPaths = PathUtils.calculateShortestPathFromSource(gedcom, person, true, true);
+        ShortestPathTree shortestPathTree = PathUtils.calculateShortestPathFromSource(gedcom, person, true);
 
         System.out.println("getShortestPathsToPersons:");
-        System.out.println("distance from I4 to I1 (" + gedcom.getPersonById(1).getDisplayName() + "): " + distancesAndPaths.getLeft().get(1));
-        System.out.println("distance from I4 to I2 (" + gedcom.getPersonById(2).getDisplayName() + "): " + distancesAndPaths.getLeft().get(2));
-        System.out.println("distance from I4 to I3 (" + gedcom.getPersonById(3).getDisplayName() + "): " + distancesAndPaths.getLeft().get(3));
-        System.out.println("distance from I4 to I4 (" + gedcom.getPersonById(4).getDisplayName() + "): " + distancesAndPaths.getLeft().get(4));
-        System.out.println("distance from I4 to I5 (" + gedcom.getPersonById(5).getDisplayName() + "): " + distancesAndPaths.getLeft().get(5));
-        System.out.println("distance from I4 to I6 (" + gedcom.getPersonById(6).getDisplayName() + "): " + distancesAndPaths.getLeft().get(6));
+        System.out.println("distance from I4 to I1 (" + gedcom.getPersonById(1).getDisplayName() + "): " + shortestPathTree.getDistance(1));
+        System.out.println("distance from I4 to I2 (" + gedcom.getPersonById(2).getDisplayName() + "): " + shortestPathTree.getDistance(2));
+        System.out.println("distance from I4 to I3 (" + gedcom.getPersonById(3).getDisplayName() + "): " + shortestPathTree.getDistance(3));
+        System.out.println("distance from I4 to I4 (" + gedcom.getPersonById(4).getDisplayName() + "): " + shortestPathTree.getDistance(4));
+        System.out.println("distance from I4 to I5 (" + gedcom.getPersonById(5).getDisplayName() + "): " + shortestPathTree.getDistance(5));
+        System.out.println("distance from I4 to I6 (" + gedcom.getPersonById(6).getDisplayName() + "): " + shortestPathTree.getDistance(6));
 
         System.out.println();
         gedcom
@@ -655,13 +658,13 @@ public class HighLoadCalculationsTests {
                 .stream()
                 .filter(EnrichedPerson::isDistinguishedPerson)
                 .sorted(Comparator
-                        .<EnrichedPerson, Integer>comparing(d -> distancesAndPaths.getLeft().get(d.getId()), Comparator.nullsLast(Comparator.naturalOrder()))
+                        .<EnrichedPerson, Integer>comparing(d -> shortestPathTree.getDistance(d.getId()), Comparator.nullsLast(Comparator.naturalOrder()))
                         .thenComparing(d -> d.getSurname().map(Surname::simplified).orElse(null), Comparator.nullsLast(Comparator.naturalOrder()))
                         .thenComparing(d -> d.getGivenName().map(GivenName::simplified).orElse(null), Comparator.nullsLast(Comparator.naturalOrder())))
-                .forEach(distinguished -> System.out.println(StringUtils.rightPad(distinguished.getId().toString(), 8) + distinguished.getDisplayName() + ": " + distancesAndPaths.getLeft().get(distinguished.getId())));
+                .forEach(distinguished -> System.out.println(StringUtils.rightPad(distinguished.getId().toString(), 8) + distinguished.getDisplayName() + ": " + shortestPathTree.getDistance(distinguished.getId())));
 
         System.out.println();
-        List<Integer> shortestPath = distancesAndPaths.getRight().getOrDefault(525113, List.of());
+        List<Integer> shortestPath = shortestPathTree.pathTo(525113);
         for (int i = 0; i < shortestPath.size() - 1; i++) {
             EnrichedPerson personA = gedcom.getPersonById(shortestPath.get(i));
             EnrichedPerson personB = gedcom.getPersonById(shortestPath.get(i + 1));
@@ -727,60 +730,68 @@ public class HighLoadCalculationsTests {
         List<EnrichedPerson> people = searchService
                 .findPersonsByPlaceOfAnyEvent("Azul, Buenos Aires, Argentina", true, null, true, false, false, gedcom.getPeople());
 
-        people
-                .forEach(person -> personService.setTransientProperties(person, false));
+        Map<Integer, PersonTreeStats> treeStatsByPersonId = people
+                .stream()
+                .collect(Collectors.toMap(
+                        EnrichedPerson::getId,
+                        person -> familyTreeHelper.getPersonTreeStats(familyTreeHelper.getRelationshipsWithNotInLawPriority(person))));
 
-        int maxPersonCountInTree = people
+        int maxPersonCountInTree = treeStatsByPersonId
+                .values()
                 .stream()
-                .mapToInt(EnrichedPerson::getPersonsCountInTree)
+                .mapToInt(PersonTreeStats::personsCountInTree)
                 .max()
                 .orElseThrow();
         List<EnrichedPerson> maxPersonCountInTreePeople = people
                 .stream()
-                .filter(person -> person.getPersonsCountInTree() == maxPersonCountInTree)
+                .filter(person -> treeStatsByPersonId.get(person.getId()).personsCountInTree() == maxPersonCountInTree)
                 .toList();
 
-        int maxAncestryCountries = people
+        int maxAncestryCountries = treeStatsByPersonId
+                .values()
                 .stream()
-                .map(EnrichedPerson::getAncestryCountries)
+                .map(PersonTreeStats::ancestryCountries)
                 .mapToInt(List::size)
                 .max()
                 .orElseThrow();
         List<EnrichedPerson> maxAncestryCountriesPeople = people
                 .stream()
-                .filter(person -> person.getAncestryCountries().size() >= maxAncestryCountries - 1)
+                .filter(person -> treeStatsByPersonId.get(person.getId()).ancestryCountries().size() >= maxAncestryCountries - 1)
                 .toList();
 
-        int maxAncestryGenerationsAscending = people
+        int maxAncestryGenerationsAscending = treeStatsByPersonId
+                .values()
                 .stream()
-                .map(EnrichedPerson::getAncestryGenerations)
+                .map(PersonTreeStats::ancestryGenerations)
                 .mapToInt(AncestryGenerations::ascending)
                 .max()
                 .orElseThrow();
         List<EnrichedPerson> maxAncestryGenerationsAscendingPeople = people
                 .stream()
-                .filter(person -> person.getAncestryGenerations().ascending() == maxAncestryGenerationsAscending)
+                .filter(person -> treeStatsByPersonId.get(person.getId()).ancestryGenerations().ascending() == maxAncestryGenerationsAscending)
                 .toList();
 
-        int maxDistantRelationshipDistance = people
+        int maxDistantRelationshipDistance = treeStatsByPersonId
+                .values()
                 .stream()
-                .mapToInt(p -> p.getMaxDistantRelationship().map(Relationship::getDistance).orElse(0))
+                .mapToInt(treeStats -> treeStats.maxDistantRelationship().map(Relationship::getDistance).orElse(0))
                 .max()
                 .orElseThrow();
         List<EnrichedPerson> maxMaxDistantRelationshipDistancePeople = people
                 .stream()
-                .filter(person -> person.getMaxDistantRelationship().map(Relationship::getDistance).orElse(0) == maxDistantRelationshipDistance)
+                .filter(person -> treeStatsByPersonId.get(person.getId()).maxDistantRelationship().map(Relationship::getDistance).orElse(0) == maxDistantRelationshipDistance)
                 .toList();
 
-        int maxDistinguishedPersonsInTree = people
+        int maxDistinguishedPersonsInTree = treeStatsByPersonId
+                .values()
                 .stream()
-                .map(EnrichedPerson::getDistinguishedPersonsInTree)
+                .map(PersonTreeStats::distinguishedPersonsInTree)
                 .mapToInt(List::size)
                 .max()
                 .orElseThrow();
         List<EnrichedPerson> maxDistinguishedPersonsInTreePeople = people
                 .stream()
-                .filter(person -> person.getDistinguishedPersonsInTree().size() == maxDistinguishedPersonsInTree)
+                .filter(person -> treeStatsByPersonId.get(person.getId()).distinguishedPersonsInTree().size() == maxDistinguishedPersonsInTree)
                 .toList();
 
         System.out.println();
@@ -4,6 +4,7 @@ import com.geneaazul.gedcomanalyzer.mapper.RelationshipMapper;
 import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
 import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
 import com.geneaazul.gedcomanalyzer.model.FormattedRelationship;
+import com.geneaazul.gedcomanalyzer.model.PersonTreeStats;
 import com.geneaazul.gedcomanalyzer.model.Relationship;
 import com.geneaazul.gedcomanalyzer.model.Relationships;
 import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.BiPredicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -327,4 +329,65 @@ public class PersonServiceTests {
 
         assertThat(relationship).isNull();
     }
+
+    @Test
+    public void getPersonTreeStats_calculatedOnce_matchesTreeTraversal() {
+        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+        EnrichedPerson person = Objects.requireNonNull(gedcom.getPersonById(9)); // Son B&A (I9)
+
+        PersonTreeStats treeStats = personService.getPersonTreeStats(person);
+        List<Relationships> relationshipsList = personService.getPeopleInTree(person, true, false, true);
+
+        assertThat(personService.getPersonTreeStats(person)).isSameAs(treeStats);
+        assertThat(gedcom.getTreeSummaryCache().contains(person)).isTrue();
+        assertThat(treeStats.personsCountInTree()).isEqualTo(relationshipsList.size());
+    }
+
+    @Test
+    public void getPeopleInTree_iterativeTraversal_matchesRecursiveTraversal() {
+        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+
+        List<BiPredicate<EnrichedPerson, Integer>> stopConditions = List.of(
+                (_, _) -> false,
+                (_, distance) -> distance >= 2,
+                (person, _) -> person.getId() == 6);
+
+        // The family references of the I6..I22 sub-tree are complete, the rest of the test gedcom has missing references on purpose
+        gedcom
+                .getPeople()
+                .stream()
+                .filter(person -> person.getId() >= 6)
+                .forEach(person -> {
+                    for (boolean onlyAscDirection : new boolean[]{ false, true }) {
+                        for (boolean mergeTreeSides : new boolean[]{ false, true }) {
+                            for (BiPredicate<EnrichedPerson, Integer> preCondition : stopConditions) {
+                                for (BiPredicate<EnrichedPerson, Integer> postCondition : stopConditions) {
+                                    List<Relationships> expected = RecursivePeopleInTreeTestUtils.getPeopleInTree(
+                                            person, false, onlyAscDirection, mergeTreeSides, preCondition, postCondition);
+                                    List<Relationships> actual = personService.getPeopleInTree(
+                                            person, false, onlyAscDirection, mergeTreeSides, preCondition, postCondition);
+                                    assertSameRelationships(actual, expected);
+                                }
+                            }
+                        }
+                    }
+                });
+    }
+
+    private static void assertSameRelationships(List<Relationships> actual, List<Relationships> expected) {
+        assertThat(actual)
+                .map(Relationships::getPersonId)
+                .containsExactlyElementsOf(expected
+                        .stream()
+                        .map(Relationships::getPersonId)
+                        .toList());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getOrderedRelationships()).containsExactlyElementsOf(expected.get(i).getOrderedRelationships());
+            assertThat(actual.get(i).getTreeSides()).isEqualTo(expected.get(i).getTreeSides());
+            assertThat(actual.get(i).isContainsDirect()).isEqualTo(expected.get(i).isContainsDirect());
+            assertThat(actual.get(i).isContainsNotInLaw()).isEqualTo(expected.get(i).isContainsNotInLaw());
+        }
+    }
+
 }
@@ -0,0 +1,207 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.Relationship;
+import com.geneaazul.gedcomanalyzer.model.Relationships;
+import com.geneaazul.gedcomanalyzer.model.TreeTraversalDirection;
+import com.geneaazul.gedcomanalyzer.utils.SetUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+import jakarta.annotation.Nullable;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Former recursive implementation of {@link PersonService#getPeopleInTree}, kept as reference for the golden tests
+ * of the iterative traversal.
+ */
+@UtilityClass
+public class RecursivePeopleInTreeTestUtils {
+
+    public static List<Relationships> getPeopleInTree(
+            @NonNull EnrichedPerson person,
+            boolean excludeRootPerson,
+            boolean onlyAscDirection,
+            boolean mergeTreeSides,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPreCondition,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition) {
+        Map<Integer, Relationships> visitedPersons = new LinkedHashMap<>(128);
+        traversePeopleInTree(
+                Relationship.empty(person),
+                null,
+                visitedPersons,
+                onlyAscDirection ? TreeTraversalDirection.ONLY_ASC : TreeTraversalDirection.ASC,
+                Relationships.VisitedRelationshipTraversalStrategy.CLOSEST_KEEPING_CLOSER_IN_LAW_WHEN_EXISTS_ANY_NOT_IN_LAW,
+                stopTraversingPreCondition,
+                stopTraversingPostCondition,
+                mergeTreeSides,
+                false);
+
+        return visitedPersons
+                .values()
+                .stream()
+                .filter(relationships -> !excludeRootPerson || !relationships.getPersonId().equals(person.getId()))
+                .peek(Relationships::propagateTreeSidesToRelationships)
+                .toList();
+    }
+
+    private static void traversePeopleInTree(
+            @NonNull Relationship toVisitRelationship,
+            @Nullable Integer previousPersonId,
+            @NonNull Map<Integer, Relationships> visitedPersons,
+            @NonNull TreeTraversalDirection direction,
+            @NonNull Relationships.VisitedRelationshipTraversalStrategy visitedRelationshipTraversalStrategy,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPreCondition,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition,
+            boolean mergeTreeSides,
+            boolean onlyPropagateTreeSides) {
+
+        // Make sure these options are correctly set
+        assert mergeTreeSides || !onlyPropagateTreeSides;
+
+        EnrichedPerson person = toVisitRelationship.person();
+
+        if (stopTraversingPreCondition.test(person, toVisitRelationship.getDistance())) {
+            return;
+        }
+
+        boolean visited = visitedPersons.containsKey(person.getId());
+        if (visited) {
+            Relationships visitedRelationships = visitedPersons.get(person.getId());
+
+            // Skip re-visiting root person
+            if (visitedRelationships.findFirst().getDistance() == 0) {
+                return;
+            }
+
+            if (onlyPropagateTreeSides
+                    && !SetUtils.containsAll(visitedRelationships.getTreeSides(), toVisitRelationship.treeSides())) {
+                mergeTreeSides(visitedPersons, toVisitRelationship, previousPersonId, direction, visitedRelationshipTraversalStrategy, stopTraversingPreCondition, stopTraversingPostCondition);
+                return;
+            }
+
+            // Idempotency check for visited person
+            if (visitedRelationships.contains(toVisitRelationship)) {
+                return;
+            }
+
+            // Check traversal strategies for visited in-law relationship
+            if (toVisitRelationship.isInLaw()
+                    && visitedRelationshipTraversalStrategy.getInLawMatching().test(visitedRelationships, toVisitRelationship)) {
+                return;
+            }
+
+            // Check traversal strategies for visited closest distance relationship
+            if (visitedRelationshipTraversalStrategy.isClosestDistance()
+                    && switch (visitedRelationshipTraversalStrategy.getType()) {
+                        case SKIP_IN_LAW_WHEN_EXISTS_SAME_DIST_NOT_IN_LAW
+                                -> (toVisitRelationship.isInLaw() || !visitedRelationships.containsInLawOf(toVisitRelationship))
+                                && toVisitRelationship.compareTo(visitedRelationships.findFirst()) >= 0;
+                        case SKIP_IN_LAW_WHEN_EXISTS_ANY_DIST_NOT_IN_LAW
+                                -> (toVisitRelationship.isInLaw() || visitedRelationships.isContainsNotInLaw())
+                                && toVisitRelationship.compareTo(visitedRelationships.findFirst()) >= 0;
+                        case KEEP_CLOSER_IN_LAW_WHEN_EXISTS_ANY_NOT_IN_LAW
+                                // In this case the comparison for the in-law condition was already performed some lines above
+                                -> !toVisitRelationship.isInLaw()
+                                && visitedRelationships
+                                        .findFirstNotInLaw()
+                                        .map(relationship -> toVisitRelationship.compareTo(relationship) >= 0)
+                                        .orElse(false);
+                    }) {
+                if (mergeTreeSides) {
+                    mergeTreeSides(visitedPersons, toVisitRelationship, previousPersonId, direction, visitedRelationshipTraversalStrategy, stopTraversingPreCondition, stopTraversingPostCondition);
+                }
+                return;
+            }
+        } else if (onlyPropagateTreeSides) {
+            // It should never enter this path
+            throw new UnsupportedOperationException("Unsupported onlyPropagateTreeSides: " + onlyPropagateTreeSides);
+        }
+
+        Relationships merged = visitedPersons.merge(
+                person.getId(),
+                Relationships.from(toVisitRelationship),
+                (r1, r2) -> r1.merge(r2, visitedRelationshipTraversalStrategy));
+
+        if (toVisitRelationship.getDistance() == 32) {
+            // If max level or recursion is reached, stop the search
+            return;
+        }
+
+        PersonService.resolveRelativesToTraverse(
+                person,
+                toVisitRelationship.getDistance(),
+                direction,
+                merged.getTreeSides(),
+                previousPersonId,
+                stopTraversingPostCondition)
+                .forEach(relativeAndDirection -> traversePeopleInTree(
+                        toVisitRelationship.increaseWithPerson(
+                                relativeAndDirection.person(),
+                                relativeAndDirection.direction(),
+                                relativeAndDirection.isHalf(),
+                                relativeAndDirection.adoptionType(),
+                                relativeAndDirection.treeSides(),
+                                relativeAndDirection.relatedPersonIds()),
+                        person.getId(),
+                        visitedPersons,
+                        relativeAndDirection.direction(),
+                        visitedRelationshipTraversalStrategy,
+                        stopTraversingPreCondition,
+                        stopTraversingPostCondition,
+                        mergeTreeSides,
+                        onlyPropagateTreeSides));
+    }
+
+    private static void mergeTreeSides(
+            @NonNull Map<Integer, Relationships> visitedPersons,
+            @NonNull Relationship toVisitRelationship,
+            @Nullable Integer previousPersonId,
+            @NonNull TreeTraversalDirection direction,
+            @NonNull Relationships.VisitedRelationshipTraversalStrategy visitedRelationshipTraversalStrategy,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPreCondition,
+            @NonNull BiPredicate<EnrichedPerson, Integer> stopTraversingPostCondition) {
+
+        Relationships relationships = visitedPersons.get(toVisitRelationship.person().getId());
+
+        if (SetUtils.containsAll(relationships.getTreeSides(), toVisitRelationship.treeSides())) {
+            return;
+        }
+
+        Relationships merged = visitedPersons.merge(
+                toVisitRelationship.person().getId(),
+                Relationships.from(toVisitRelationship),
+                Relationships::mergeTreeSides);
+
+        // Propagate merged tree sides to relatives
+        PersonService.resolveRelativesToTraverse(
+                toVisitRelationship.person(),
+                toVisitRelationship.getDistance(),
+                direction,
+                merged.getTreeSides(),
+                previousPersonId,
+                stopTraversingPostCondition)
+                .forEach(relativeAndDirection -> traversePeopleInTree(
+                        toVisitRelationship.increaseWithPerson(
+                                relativeAndDirection.person(),
+                                relativeAndDirection.direction(),
+                                relativeAndDirection.isHalf(),
+                                relativeAndDirection.adoptionType(),
+                                relativeAndDirection.treeSides(),
+                                relativeAndDirection.relatedPersonIds()),
+                        toVisitRelationship.person().getId(),
+                        visitedPersons,
+                        relativeAndDirection.direction(),
+                        visitedRelationshipTraversalStrategy,
+                        stopTraversingPreCondition,
+                        stopTraversingPostCondition,
+                        true,
+                        true));
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchConnectionDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchConnectionResultDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyResultDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchPersonDto;
+import com.geneaazul.gedcomanalyzer.model.dto.SexType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    private GedcomAnalyzerProperties properties;
+    private SearchResultCache searchResultCache;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GedcomAnalyzerProperties();
+        searchResultCache = new SearchResultCache(properties);
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void getFamilyResult_sameSimplifiedNames_isSearchedOnce() {
+        SearchFamilyResultDto result = searchFamily(family(person("José  María", "Pérez")), 1);
+
+        assertThat(searchFamily(family(person("jose maria", " PEREZ ")), 1)).isSameAs(result);
+        assertThat(searches).hasValue(1);
+        assertThat(searchResultCache.getStats().getFamilyHits()).isEqualTo(1);
+        assertThat(searchResultCache.getStats().getFamilyMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void getFamilyResult_differentSearchValues_isSearchedAgain() {
+        searchFamily(family(person("Juan", "Pérez")), 1);
+        searchFamily(family(person("Juan", "Pereyra")), 1);
+        searchFamily(family(person(null, "Pérez")), 1);
+        // Only missing surnames are taken from the relatives
+        searchFamily(family(person("Juan", " ")), 1);
+        searchFamily(family(person("Juan", null)), 1);
+        searchFamily(SearchFamilyDto.builder()
+                .individual(person("Juan", "Pérez"))
+                .obfuscateLiving(false)
+                .build(), 1);
+
+        assertThat(searches).hasValue(6);
+    }
+
+    @Test
+    void getFamilyResult_blankGivenName_isSearchedAsMissing() {
+        searchFamily(family(person(null, "Pérez")), 1);
+        searchFamily(family(person("  ", "Pérez")), 1);
+
+        assertThat(searches).hasValue(1);
+    }
+
+    @Test
+    void getFamilyResult_reloadedGedcom_clearsResults() {
+        searchFamily(family(person("Juan", "Pérez")), 1);
+        searchFamily(family(person("Juan", "Pérez")), 2);
+        searchFamily(family(person("Juan", "Pérez")), 2);
+
+        assertThat(searches).hasValue(2);
+        assertThat(searchResultCache.getStats().getGedcomVersion()).isEqualTo(2);
+        assertThat(searchResultCache.getStats().getFamilyEntries()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnectionResult_disabled_isAlwaysSearched() {
+        properties.setSearchResultCacheEnabled(false);
+        SearchConnectionDto searchConnection = SearchConnectionDto.builder()
+                .person1(person("Juan", "Pérez"))
+                .person2(person("María", "Gómez"))
+                .build();
+
+        searchConnection(searchConnection, 1);
+        searchConnection(searchConnection, 1);
+
+        assertThat(searches).hasValue(2);
+        assertThat(searchResultCache.getStats().getConnectionHits()).isZero();
+    }
+
+    @Test
+    void getConnectionResult_sameSearch_isSearchedOnce() {
+        SearchConnectionDto searchConnection = SearchConnectionDto.builder()
+                .person1(person("Juan", "Pérez"))
+                .person2(person("María", "Gómez"))
+                .build();
+
+        SearchConnectionResultDto result = searchConnection(searchConnection, 1);
+
+        assertThat(searchConnection(searchConnection, 1)).isSameAs(result);
+        assertThat(searches).hasValue(1);
+    }
+
+    private SearchFamilyResultDto searchFamily(SearchFamilyDto searchFamily, long gedcomVersion) {
+        return searchResultCache.getFamilyResult(searchFamily, gedcomVersion, () -> {
+            searches.incrementAndGet();
+            return SearchFamilyResultDto.builder().build();
+        });
+    }
+
+    private SearchConnectionResultDto searchConnection(SearchConnectionDto searchConnection, long gedcomVersion) {
+        return searchResultCache.getConnectionResult(searchConnection, gedcomVersion, () -> {
+            searches.incrementAndGet();
+            return SearchConnectionResultDto.builder().build();
+        });
+    }
+
+    private static SearchFamilyDto family(SearchPersonDto individual) {
+        return SearchFamilyDto.builder()
+                .individual(individual)
+                .build();
+    }
+
+    private static SearchPersonDto person(String givenName, String surname) {
+        return SearchPersonDto.builder()
+                .givenName(givenName)
+                .surname(surname)
+                .sex(SexType.M)
+                .yearOfBirth(1900)
+                .build();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.geneaazul.gedcomanalyzer.service;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.dto.SearchFamilyDetailsDto;
+import com.geneaazul.gedcomanalyzer.service.familytree.PlainFamilyTreePdfService;
+import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class WarmUpServiceTest {
+
+    private FamilyService familyService;
+    private GedcomAnalyzerProperties properties;
+    private WarmUpService warmUpService;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        familyService = mock(FamilyService.class);
+        properties = new GedcomAnalyzerProperties();
+        properties.setTempDir(tempDir);
+        warmUpService = new WarmUpService(
+                mock(GedcomHolder.class),
+                familyService,
+                mock(ConnectionService.class),
+                mock(SurnameService.class),
+                mock(PersonService.class),
+                mock(PlainFamilyTreePdfService.class),
+                properties);
+    }
+
+    @Test
+    void warmUp_disabled_isReadyWithoutSearching() {
+        properties.setWarmUpEnabled(false);
+
+        assertThat(warmUpService.isReady()).isFalse();
+        warmUpService.warmUp();
+
+        assertThat(warmUpService.isReady()).isTrue();
+        verifyNoInteractions(familyService);
+    }
+
+    @Test
+    void warmUp_failingSearches_isReadyAnyway() {
+        when(familyService.getLatest(any(), any(), any(), any(), anyInt(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("Database not available"));
+
+        warmUpService.warmUp();
+
+        assertThat(warmUpService.isReady()).isTrue();
+    }
+
+    @Test
+    void warmUp_overMaxDuration_skipsRemainingSearches() {
+        properties.setWarmUpMaxDuration(Duration.ZERO);
+        when(familyService.getLatest(any(), any(), any(), any(), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(5);
+                    return List.of(SearchFamilyDetailsDto.builder().build());
+                });
+
+        warmUpService.warmUp();
+
+        assertThat(warmUpService.isReady()).isTrue();
+        verify(familyService, never()).search(any());
+    }
+
+}
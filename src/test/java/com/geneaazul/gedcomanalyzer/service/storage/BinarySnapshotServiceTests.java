@@ -0,0 +1,121 @@
+package com.geneaazul.gedcomanalyzer.service.storage;
+
+import com.geneaazul.gedcomanalyzer.config.GedcomAnalyzerProperties;
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPersonTestUtils;
+import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
+import com.geneaazul.gedcomanalyzer.utils.SyntheticGedcomGenerator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnableConfigurationProperties
+@ActiveProfiles("test")
+public class BinarySnapshotServiceTests {
+
+    @Autowired
+    private GedcomParsingService gedcomParsingService;
+    @Autowired
+    private GedcomAnalyzerProperties properties;
+
+    @TempDir
+    private Path tempDir;
+
+    private BinarySnapshotService binarySnapshotService;
+    private Path gedcomPath;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        binarySnapshotService = new BinarySnapshotService(properties);
+
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(2_000)
+                .seed(11L)
+                .adoptionRate(0.1)
+                .updateTagRate(0.5)
+                .distinguishedPersonRate(0.05)
+                .build();
+
+        gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+    }
+
+    @Test
+    public void read_restoresWrittenGedcom() throws Exception {
+        BinarySnapshotService.SourceFingerprint fingerprint = binarySnapshotService.fingerprint(gedcomPath);
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+        binarySnapshotService.write(gedcom, gedcomPath, fingerprint);
+
+        assertThat(BinarySnapshotService.getSnapshotPath(gedcomPath)).exists();
+
+        EnrichedGedcom restoredGedcom = binarySnapshotService
+                .read(gedcomPath, binarySnapshotService.fingerprint(gedcomPath))
+                .orElseThrow();
+
+        assertThat(restoredGedcom.getGedcomName()).isEqualTo(gedcom.getGedcomName());
+        assertThat(restoredGedcom.getModifiedDateTime()).isEqualTo(gedcom.getModifiedDateTime());
+        assertThat(restoredGedcom.getLegacyGedcom()).isEmpty();
+        assertThat(gedcom.getPlaces()).containsAllEntriesOf(restoredGedcom.getPlaces());
+        assertThat(restoredGedcom.getPeople()).hasSameSizeAs(gedcom.getPeople());
+
+        for (int i = 0; i < gedcom.getPeople().size(); i++) {
+            EnrichedPerson person = gedcom.getPeople().get(i);
+            EnrichedPerson restoredPerson = restoredGedcom.getPeople().get(i);
+            assertThat(EnrichedPersonTestUtils.describe(restoredPerson)).isEqualTo(EnrichedPersonTestUtils.describe(person));
+            assertThat(restoredGedcom.getPersonByUuid(person.getUuid())).isSameAs(restoredPerson);
+        }
+    }
+
+    @Test
+    public void read_modifiedGedcom_isNotRestored() throws Exception {
+        BinarySnapshotService.SourceFingerprint fingerprint = binarySnapshotService.fingerprint(gedcomPath);
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+        binarySnapshotService.write(gedcom, gedcomPath, fingerprint);
+
+        // Same size and modified time, but different content
+        FileTime lastModifiedTime = Files.getLastModifiedTime(gedcomPath);
+        byte[] bytes = Files.readAllBytes(gedcomPath);
+        int index = new String(bytes, StandardCharsets.ISO_8859_1).lastIndexOf("1 NAME ") + "1 NAME ".length();
+        bytes[index] = (byte) (bytes[index] == 'X' ? 'Y' : 'X');
+        Files.write(gedcomPath, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+        Files.setLastModifiedTime(gedcomPath, lastModifiedTime);
+
+        assertThat(binarySnapshotService.read(gedcomPath, binarySnapshotService.fingerprint(gedcomPath))).isEmpty();
+    }
+
+    @Test
+    public void read_truncatedSnapshot_isNotRestored() throws Exception {
+        BinarySnapshotService.SourceFingerprint fingerprint = binarySnapshotService.fingerprint(gedcomPath);
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+        binarySnapshotService.write(gedcom, gedcomPath, fingerprint);
+
+        Path snapshotPath = BinarySnapshotService.getSnapshotPath(gedcomPath);
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        Files.write(snapshotPath, Arrays.copyOf(bytes, 12), StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertThat(binarySnapshotService.read(gedcomPath, binarySnapshotService.fingerprint(gedcomPath))).isEmpty();
+    }
+
+    @Test
+    public void read_missingSnapshot_isNotRestored() throws Exception {
+        assertThat(binarySnapshotService.read(gedcomPath, binarySnapshotService.fingerprint(gedcomPath))).isEmpty();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.geneaazul.gedcomanalyzer.service.storage;
+
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GedcomHolderTest {
+
+    private StorageService storageService;
+    private GedcomHolder gedcomHolder;
+
+    @BeforeEach
+    void setUp() {
+        storageService = mock(StorageService.class);
+        when(storageService.getGedcomName()).thenReturn("test.ged");
+        gedcomHolder = new GedcomHolder(storageService);
+    }
+
+    @Test
+    void reloadFromStorage_swapsSnapshotAndIncrementsVersion() throws Exception {
+        EnrichedGedcom first = mock(EnrichedGedcom.class);
+        EnrichedGedcom second = mock(EnrichedGedcom.class);
+        when(storageService.getGedcom(false, null)).thenReturn(first);
+        // The current gedcom is given as the previous one, so its unchanged people can be reused
+        when(storageService.getGedcom(true, first)).thenReturn(second);
+
+        gedcomHolder.reloadFromStorage(false);
+        GedcomSnapshot firstSnapshot = gedcomHolder.getSnapshot();
+        assertThat(firstSnapshot.gedcom()).isSameAs(first);
+        assertThat(firstSnapshot.version()).isEqualTo(1);
+
+        gedcomHolder.reloadFromStorage(true);
+        GedcomSnapshot secondSnapshot = gedcomHolder.getSnapshot();
+        assertThat(secondSnapshot.gedcom()).isSameAs(second);
+        assertThat(secondSnapshot.version()).isEqualTo(2);
+        assertThat(gedcomHolder.getGedcom()).isSameAs(second);
+    }
+
+    @Test
+    void reloadFromStorage_failedReload_keepsPreviousSnapshot() throws Exception {
+        EnrichedGedcom first = mock(EnrichedGedcom.class);
+        when(storageService.getGedcom(false, null)).thenReturn(first);
+        when(storageService.getGedcom(true, first)).thenThrow(new IllegalStateException("Corrupted gedcom"));
+
+        gedcomHolder.reloadFromStorage(false);
+        gedcomHolder.reloadFromStorage(true);
+
+        GedcomSnapshot snapshot = gedcomHolder.getSnapshot();
+        assertThat(snapshot.gedcom()).isSameAs(first);
+        assertThat(snapshot.version()).isEqualTo(1);
+    }
+
+}
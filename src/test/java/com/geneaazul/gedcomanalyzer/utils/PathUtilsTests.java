@@ -0,0 +1,163 @@
+package com.geneaazul.gedcomanalyzer.utils;
+
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.model.ShortestPathTree;
+import com.geneaazul.gedcomanalyzer.service.storage.GedcomHolder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnableConfigurationProperties
+@ActiveProfiles("test")
+public class PathUtilsTests {
+
+    @Autowired
+    private GedcomHolder gedcomHolder;
+
+    @Test
+    public void calculateShortestPath_matchesRelativesBreadthFirstSearch() {
+        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+
+        // The family references of the I6..I22 sub-tree are complete, the rest of the test gedcom has missing references on purpose
+        List<EnrichedPerson> people = gedcom
+                .getPeople()
+                .stream()
+                .filter(person -> person.getId() >= 6)
+                .toList();
+
+        for (EnrichedPerson source : people) {
+            // Independent of the person graph, walks the relatives of the enriched people
+            Map<Integer, Integer> expectedDistances = getDistancesByRelatives(gedcom, source);
+            ShortestPathTree shortestPathTree = PathUtils.calculateShortestPathFromSource(gedcom, source, true);
+            assertThat(shortestPathTree.getSourceId()).isEqualTo(source.getId());
+
+            for (EnrichedPerson target : gedcom.getPeople()) {
+                Integer distance = expectedDistances.get(target.getId());
+                assertThat(shortestPathTree.getDistance(target.getId())).isEqualTo(distance);
+
+                List<Integer> path = PathUtils.calculateShortestPath(gedcom, source, target, true);
+                if (distance == null) {
+                    assertThat(shortestPathTree.pathTo(target.getId())).isEmpty();
+                    assertThat(path).isEmpty();
+                } else {
+                    assertPath(gedcom, shortestPathTree.pathTo(target.getId()), source, target, distance);
+                    assertPath(gedcom, path, source, target, distance);
+                }
+            }
+
+            for (EnrichedPerson target : people) {
+                assertThat(expectedDistances).containsKey(target.getId());
+            }
+        }
+    }
+
+    @Test
+    public void calculateShortestPath_notConnected() {
+        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+        EnrichedPerson person = Objects.requireNonNull(gedcom.getPersonById(9)); // Son B&A (I9)
+        EnrichedPerson notConnected = Objects.requireNonNull(gedcom.getPersonById(2)); // Test Mother (I2)
+
+        assertThat(PathUtils.calculateShortestPath(gedcom, person, notConnected, true)).isEmpty();
+        assertThat(PathUtils.calculateShortestPath(gedcom, person, person, true)).containsExactly(9);
+
+        ShortestPathTree shortestPathTree = PathUtils.calculateShortestPathFromSource(gedcom, person, true);
+        assertThat(shortestPathTree.getDistance(notConnected.getId())).isNull();
+        assertThat(shortestPathTree.pathTo(notConnected.getId())).isEmpty();
+        assertThat(shortestPathTree.getDistance(person.getId())).isEqualTo(0);
+        assertThat(shortestPathTree.pathTo(person.getId())).containsExactly(9);
+    }
+
+    @Test
+    public void calculateShortestPathFromSource_stopsAtMaxTargets() {
+        EnrichedGedcom gedcom = gedcomHolder.getGedcom();
+        EnrichedPerson person = Objects.requireNonNull(gedcom.getPersonById(9)); // Son B&A (I9)
+
+        ShortestPathTree fullTree = PathUtils.calculateShortestPathFromSource(gedcom, person, true);
+        ShortestPathTree boundedTree = PathUtils.calculateShortestPathFromSource(
+                gedcom,
+                person,
+                true,
+                target -> target.getId() >= 14,
+                1);
+
+        // The nearest target level is fully visited, the farther people are not reached
+        int nearestTargetDistance = gedcom
+                .getPeople()
+                .stream()
+                .filter(target -> target.getId() >= 14)
+                .map(target -> fullTree.getDistance(target.getId()))
+                .filter(Objects::nonNull)
+                .min(Integer::compare)
+                .orElseThrow();
+
+        for (EnrichedPerson target : gedcom.getPeople()) {
+            Integer distance = fullTree.getDistance(target.getId());
+            if (distance != null && distance <= nearestTargetDistance) {
+                assertThat(boundedTree.getDistance(target.getId())).isEqualTo(distance);
+            } else {
+                assertThat(boundedTree.getDistance(target.getId())).isNull();
+            }
+        }
+    }
+
+    private static void assertPath(
+            EnrichedGedcom gedcom,
+            List<Integer> path,
+            EnrichedPerson source,
+            EnrichedPerson target,
+            int distance) {
+        assertThat(path).hasSize(distance + 1);
+        assertThat(path.getFirst()).isEqualTo(source.getId());
+        assertThat(path.getLast()).isEqualTo(target.getId());
+        for (int i = 0; i < path.size() - 1; i++) {
+            assertThat(getDirectRelativeIds(gedcom, path.get(i))).contains(path.get(i + 1));
+        }
+    }
+
+    private static Map<Integer, Integer> getDistancesByRelatives(EnrichedGedcom gedcom, EnrichedPerson source) {
+        Map<Integer, Integer> distances = new HashMap<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        distances.put(source.getId(), 0);
+        queue.add(source.getId());
+        while (!queue.isEmpty()) {
+            Integer personId = queue.poll();
+            for (Integer relativeId : getDirectRelativeIds(gedcom, personId)) {
+                if (!distances.containsKey(relativeId)) {
+                    distances.put(relativeId, distances.get(personId) + 1);
+                    queue.add(relativeId);
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static List<Integer> getDirectRelativeIds(EnrichedGedcom gedcom, Integer personId) {
+        EnrichedPerson person = Objects.requireNonNull(gedcom.getPersonById(personId));
+        return Stream
+                .of(
+                        person.getParents(),
+                        person.getAllSiblings(),
+                        person.getSpouses(),
+                        person.getChildren())
+                .flatMap(List::stream)
+                .map(EnrichedPerson::getId)
+                .toList();
+    }
+
+}
@@ -0,0 +1,386 @@
+package com.geneaazul.gedcomanalyzer.utils;
+
+import com.geneaazul.gedcomanalyzer.model.dto.SexType;
+import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
+
+import org.folg.gedcom.model.CharacterSet;
+import org.folg.gedcom.model.ChildRef;
+import org.folg.gedcom.model.DateTime;
+import org.folg.gedcom.model.EventFact;
+import org.folg.gedcom.model.Family;
+import org.folg.gedcom.model.Gedcom;
+import org.folg.gedcom.model.GedcomTag;
+import org.folg.gedcom.model.GedcomVersion;
+import org.folg.gedcom.model.Header;
+import org.folg.gedcom.model.Name;
+import org.folg.gedcom.model.ParentFamilyRef;
+import org.folg.gedcom.model.Person;
+import org.folg.gedcom.model.SpouseFamilyRef;
+import org.folg.gedcom.model.SpouseRef;
+import org.folg.gedcom.parser.ModelParser;
+import org.folg.gedcom.visitors.GedcomWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Generates a reproducible synthetic gedcom 5.5.1, used for load and scale testing without private data.
+ * <p>
+ * People are created generation by generation: each person of the current generation may marry (and remarry) a new
+ * person and have children, who form the next generation. When a generation dies out or the maximum number of
+ * generations is reached, a new batch of founders is added. The same options and seed always generate the same gedcom.
+ */
+public class SyntheticGedcomGenerator {
+
+    private static final String[] MALE_GIVEN_NAMES = {
+            "Juan", "José", "Carlos", "Luis", "Pedro", "Miguel", "Jorge", "Antonio", "Francisco", "Manuel",
+            "Alberto", "Ricardo", "Roberto", "Eduardo", "Pablo", "Daniel", "Mario", "Raúl", "Héctor", "Oscar"
+    };
+    private static final String[] FEMALE_GIVEN_NAMES = {
+            "María", "Ana", "Rosa", "Carmen", "Elena", "Laura", "Marta", "Julia", "Teresa", "Isabel",
+            "Lucía", "Sofía", "Clara", "Inés", "Beatriz", "Susana", "Silvia", "Graciela", "Norma", "Alicia"
+    };
+    private static final String[] SURNAME_STEMS = {
+            "Garc", "Fern", "Gonz", "Rodr", "Lóp", "Mart", "Sánch", "Pér", "Góm", "Mor",
+            "Álv", "Rom", "Torr", "Ru", "Dí", "Alons", "Gut", "Nav", "Dom", "Vázqu",
+            "Ramír", "Gil", "Serr", "Blanc", "Mol", "Ort", "Delg", "Cast", "Ortiz", "Rub"
+    };
+    private static final String[] SURNAME_SUFFIXES = {
+            "ía", "ández", "ález", "íguez", "ez", "ínez", "ero", "ini", "etti", "ardo"
+    };
+    private static final String[] PLACES = {
+            "Azul, Buenos Aires, Argentina",
+            "Tandil, Buenos Aires, Argentina",
+            "Olavarría, Buenos Aires, Argentina",
+            "Buenos Aires, Argentina",
+            "Montevideo, Uruguay",
+            "Madrid, España",
+            "Génova, Italia",
+            "Bayona, Francia",
+            "Argentina",
+            "Italia"
+    };
+    private static final String[] CUSTOM_EVENT_VALUES = {
+            "Inmigrante", "Agricultor", "Comerciante", "Maestra", "Ferroviario"
+    };
+
+    private static final int FOUNDERS_BATCH_SIZE = 50;
+    private static final int MAX_YEAR = 2024;
+    private static final int YEARS_PER_GENERATION = 28;
+    private static final int LIVING_MIN_YEAR_OF_BIRTH = 1940;
+
+    private final Options options;
+    private final SplittableRandom random;
+
+    private final List<Person> people = new ArrayList<>();
+    private final List<Family> families = new ArrayList<>();
+
+    public SyntheticGedcomGenerator(Options options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.getSeed());
+    }
+
+    public SyntheticGedcomGenerator(int peopleCount, long seed) {
+        this(Options.builder()
+                .peopleCount(peopleCount)
+                .seed(seed)
+                .build());
+    }
+
+    public Gedcom generate() {
+        List<GeneratedPerson> generation = new ArrayList<>();
+
+        while (!isComplete()) {
+            if (generation.isEmpty()) {
+                generation = addFounders();
+            }
+
+            List<GeneratedPerson> nextGeneration = new ArrayList<>();
+            for (GeneratedPerson person : generation) {
+                if (isComplete()) {
+                    break;
+                }
+                if (random.nextDouble() < options.getMarriageRate()) {
+                    nextGeneration.addAll(addFamily(person));
+                    if (random.nextDouble() < options.getRemarriageRate()) {
+                        nextGeneration.addAll(addFamily(person));
+                    }
+                }
+            }
+
+            // Lineages stop after the max number of generations, so that dates don't go beyond the present
+            generation = nextGeneration
+                    .stream()
+                    .filter(person -> person.generation() < options.getGenerations())
+                    .toList();
+        }
+
+        Gedcom gedcom = new Gedcom();
+        gedcom.setHeader(buildHeader());
+        gedcom.setPeople(people);
+        gedcom.setFamilies(families);
+        gedcom.createIndexes();
+        gedcom.updateReferences();
+        return gedcom;
+    }
+
+    public static void write(Gedcom gedcom, Path gedcomPath) throws IOException {
+        try (OutputStream out = Files.newOutputStream(gedcomPath)) {
+            GedcomWriter writer = new GedcomWriter();
+            writer.write(gedcom, out);
+        }
+    }
+
+    private boolean isComplete() {
+        return people.size() >= options.getPeopleCount();
+    }
+
+    private List<GeneratedPerson> addFounders() {
+        int foundersYearOfBirth = MAX_YEAR - options.getGenerations() * YEARS_PER_GENERATION;
+        List<GeneratedPerson> founders = new ArrayList<>(FOUNDERS_BATCH_SIZE);
+        for (int i = 0; i < FOUNDERS_BATCH_SIZE && !isComplete(); i++) {
+            SexType sex = random.nextBoolean() ? SexType.M : SexType.F;
+            int yearOfBirth = foundersYearOfBirth + random.nextInt(YEARS_PER_GENERATION);
+            founders.add(addPerson(sex, randomSurname(), yearOfBirth, 0));
+        }
+        return founders;
+    }
+
+    /**
+     * Marries the person with a new person and returns the children of the couple.
+     */
+    private List<GeneratedPerson> addFamily(GeneratedPerson person) {
+        SexType spouseSex = person.sex() == SexType.M ? SexType.F : SexType.M;
+        GeneratedPerson spouse = addPerson(
+                spouseSex,
+                randomSurname(),
+                person.yearOfBirth() + random.nextInt(-5, 6),
+                person.generation());
+
+        GeneratedPerson husband = person.sex() == SexType.M ? person : spouse;
+        GeneratedPerson wife = person.sex() == SexType.M ? spouse : person;
+
+        Family family = new Family();
+        family.setId("F" + (families.size() + 1));
+        family.addHusband(newSpouseRef(husband));
+        family.addWife(newSpouseRef(wife));
+        husband.person().addSpouseFamilyRef(newSpouseFamilyRef(family));
+        wife.person().addSpouseFamilyRef(newSpouseFamilyRef(family));
+        families.add(family);
+
+        int childrenCount = random.nextInt(options.getMaxChildrenPerFamily() + 1);
+        List<GeneratedPerson> children = new ArrayList<>(childrenCount);
+        for (int i = 0; i < childrenCount && !isComplete(); i++) {
+            SexType sex = random.nextBoolean() ? SexType.M : SexType.F;
+            int yearOfBirth = wife.yearOfBirth() + 18 + random.nextInt(25);
+            GeneratedPerson child = addPerson(sex, husband.surname(), yearOfBirth, person.generation() + 1);
+
+            ChildRef childRef = new ChildRef();
+            childRef.setRef(child.person().getId());
+            family.addChild(childRef);
+
+            ParentFamilyRef parentFamilyRef = new ParentFamilyRef();
+            parentFamilyRef.setRef(family.getId());
+            if (random.nextDouble() < options.getAdoptionRate()) {
+                parentFamilyRef.setRelationshipType("Adopted");
+            }
+            child.person().addParentFamilyRef(parentFamilyRef);
+
+            children.add(child);
+        }
+        return children;
+    }
+
+    private GeneratedPerson addPerson(SexType sex, String surname, int yearOfBirth, int generation) {
+        yearOfBirth = Math.min(yearOfBirth, MAX_YEAR);
+        String givenName = sex == SexType.M
+                ? MALE_GIVEN_NAMES[random.nextInt(MALE_GIVEN_NAMES.length)]
+                : FEMALE_GIVEN_NAMES[random.nextInt(FEMALE_GIVEN_NAMES.length)];
+
+        Person person = new Person();
+        person.setId("I" + (people.size() + 1));
+
+        Name name = new Name();
+        name.setValue(givenName + " /" + surname + "/");
+        name.setGiven(givenName);
+        name.setSurname(surname);
+        person.addName(name);
+
+        EventFact sexEventFact = new EventFact();
+        sexEventFact.setTag("SEX");
+        sexEventFact.setValue(sex.name());
+        person.addEventFact(sexEventFact);
+
+        person.addEventFact(newEventFact("BIRT", yearOfBirth));
+        if (yearOfBirth < LIVING_MIN_YEAR_OF_BIRTH) {
+            int yearOfDeath = Math.min(yearOfBirth + 20 + random.nextInt(75), MAX_YEAR);
+            person.addEventFact(newEventFact("DEAT", yearOfDeath));
+        }
+
+        if (random.nextDouble() < options.getCustomEventRate()) {
+            person.addEventFact(newCommentEventFact(CUSTOM_EVENT_VALUES[random.nextInt(CUSTOM_EVENT_VALUES.length)]));
+        }
+        if (random.nextDouble() < options.getDistinguishedPersonRate()) {
+            person.addEventFact(newCommentEventFact("Personalidad destacada"));
+        }
+        if (random.nextDouble() < options.getUpdateTagRate()) {
+            person.putExtension(ModelParser.MORE_TAGS_EXTENSION_KEY, List.of(newUpdateTag()));
+        }
+
+        people.add(person);
+        return new GeneratedPerson(person, sex, surname, yearOfBirth, generation);
+    }
+
+    /**
+     * Date and place are set according to the fill rates, an event with neither of them is kept anyway.
+     */
+    private EventFact newEventFact(String tag, int year) {
+        EventFact eventFact = new EventFact();
+        eventFact.setTag(tag);
+        if (random.nextDouble() < options.getDateFillRate()) {
+            eventFact.setDate(randomDate(year));
+        }
+        if (random.nextDouble() < options.getPlaceFillRate()) {
+            eventFact.setPlace(PLACES[random.nextInt(PLACES.length)]);
+        }
+        return eventFact;
+    }
+
+    private static EventFact newCommentEventFact(String value) {
+        EventFact eventFact = new EventFact();
+        eventFact.setTag("EVEN");
+        eventFact.setType("Comment");
+        eventFact.setValue(value);
+        return eventFact;
+    }
+
+    private GedcomTag newUpdateTag() {
+        int year = MAX_YEAR - random.nextInt(10);
+        GedcomTag gedcomTag = new GedcomTag(null, PersonUtils.UPDATED_TAG, null);
+        gedcomTag.setValue(String.format("%s %02d:%02d:%02d GMT -0300",
+                randomDate(year),
+                random.nextInt(24),
+                random.nextInt(60),
+                random.nextInt(60)));
+        return gedcomTag;
+    }
+
+    private String randomDate(int year) {
+        Month month = Month.of(random.nextInt(1, 13));
+        int day = random.nextInt(1, month.minLength() + 1);
+        return day + " " + month.getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toUpperCase() + " " + year;
+    }
+
+    /**
+     * The surname index is skewed by the configured exponent, so a few surnames are much more frequent than the rest.
+     * Indexes beyond the simple surnames are mapped to compound surnames.
+     */
+    private String randomSurname() {
+        int index = (int) (Math.pow(random.nextDouble(), options.getSurnameSkew()) * options.getSurnamesCount());
+        int simpleSurnamesCount = SURNAME_STEMS.length * SURNAME_SUFFIXES.length;
+        String surname = simpleSurname(index % simpleSurnamesCount);
+        return index < simpleSurnamesCount
+                ? surname
+                : surname + " " + simpleSurname((index / simpleSurnamesCount - 1) % simpleSurnamesCount);
+    }
+
+    private static String simpleSurname(int index) {
+        return SURNAME_STEMS[index % SURNAME_STEMS.length] + SURNAME_SUFFIXES[index / SURNAME_STEMS.length];
+    }
+
+    private static SpouseRef newSpouseRef(GeneratedPerson person) {
+        SpouseRef spouseRef = new SpouseRef();
+        spouseRef.setRef(person.person().getId());
+        return spouseRef;
+    }
+
+    private static SpouseFamilyRef newSpouseFamilyRef(Family family) {
+        SpouseFamilyRef spouseFamilyRef = new SpouseFamilyRef();
+        spouseFamilyRef.setRef(family.getId());
+        return spouseFamilyRef;
+    }
+
+    private static Header buildHeader() {
+        Header header = new Header();
+
+        CharacterSet charsetSet = new CharacterSet();
+        charsetSet.setValue("UTF-8");
+        header.setCharacterSet(charsetSet);
+
+        GedcomVersion gedcomVersion = new GedcomVersion();
+        gedcomVersion.setVersion("5.5.1");
+        gedcomVersion.setForm("LINEAGE-LINKED");
+        header.setGedcomVersion(gedcomVersion);
+
+        header.setLanguage("Spanish");
+
+        DateTime dateTime = new DateTime();
+        dateTime.setValue(GedcomParsingService.DATE_TIME_FORMATTER.format(LocalDate.of(MAX_YEAR, 1, 1)).toUpperCase());
+        header.setDateTime(dateTime);
+
+        return header;
+    }
+
+    @Getter
+    @Builder
+    public static class Options {
+
+        @Builder.Default
+        private final int peopleCount = 10_000;
+        @Builder.Default
+        private final long seed = 1L;
+        /**
+         * Max generations of each founders lineage, it also sets how far in the past founders were born.
+         */
+        @Builder.Default
+        private final int generations = 8;
+        @Builder.Default
+        private final int maxChildrenPerFamily = 6;
+        @Builder.Default
+        private final double marriageRate = 0.8;
+        /**
+         * Rate of married persons having a second family, with half-siblings.
+         */
+        @Builder.Default
+        private final double remarriageRate = 0.1;
+        @Builder.Default
+        private final double adoptionRate = 0.02;
+        /**
+         * Distinct surnames, up to 90000.
+         */
+        @Builder.Default
+        private final int surnamesCount = 300;
+        /**
+         * 1 is a uniform distribution, greater values concentrate the people in fewer surnames.
+         */
+        @Builder.Default
+        private final double surnameSkew = 2.0;
+        @Builder.Default
+        private final double dateFillRate = 0.9;
+        @Builder.Default
+        private final double placeFillRate = 0.8;
+        @Builder.Default
+        private final double updateTagRate = 0.3;
+        @Builder.Default
+        private final double customEventRate = 0.05;
+        @Builder.Default
+        private final double distinguishedPersonRate = 0.001;
+
+    }
+
+    private record GeneratedPerson(Person person, SexType sex, String surname, int yearOfBirth, int generation) {
+    }
+
+}
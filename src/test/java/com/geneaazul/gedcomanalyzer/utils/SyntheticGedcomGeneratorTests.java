@@ -0,0 +1,72 @@
+package com.geneaazul.gedcomanalyzer.utils;
+
+import com.geneaazul.gedcomanalyzer.model.EnrichedGedcom;
+import com.geneaazul.gedcomanalyzer.model.EnrichedPerson;
+import com.geneaazul.gedcomanalyzer.service.GedcomParsingService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import org.folg.gedcom.model.Gedcom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnableConfigurationProperties
+@ActiveProfiles("test")
+public class SyntheticGedcomGeneratorTests {
+
+    @Autowired
+    private GedcomParsingService gedcomParsingService;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void generate_writtenGedcomIsParsedBack() throws IOException, SAXParseException {
+        SyntheticGedcomGenerator.Options options = SyntheticGedcomGenerator.Options.builder()
+                .peopleCount(2_000)
+                .seed(7L)
+                .adoptionRate(0.1)
+                .updateTagRate(0.5)
+                .distinguishedPersonRate(0.05)
+                .build();
+
+        Path gedcomPath = tempDir.resolve("synthetic.ged");
+        SyntheticGedcomGenerator.write(new SyntheticGedcomGenerator(options).generate(), gedcomPath);
+
+        EnrichedGedcom gedcom = gedcomParsingService.parse(gedcomPath);
+
+        assertThat(gedcom.getPeople()).hasSize(2_000);
+        assertThat(gedcom.getPeople()).anyMatch(person -> !person.getSpouses().isEmpty());
+        assertThat(gedcom.getPeople()).anyMatch(person -> !person.getChildren().isEmpty());
+        assertThat(gedcom.getPeople()).anyMatch(EnrichedPerson::isDistinguishedPerson);
+        assertThat(gedcom.getPeople()).anyMatch(person -> person.getUpdateDate().isPresent());
+        assertThat(gedcom.getPeople())
+                .flatMap(EnrichedPerson::getParentsWithReference)
+                .anyMatch(parentWithReference -> parentWithReference.referenceType().isPresent());
+    }
+
+    @Test
+    public void generate_sameSeedGeneratesSameGedcom() throws IOException {
+        Gedcom gedcom1 = new SyntheticGedcomGenerator(500, 11L).generate();
+        Gedcom gedcom2 = new SyntheticGedcomGenerator(500, 11L).generate();
+
+        Path gedcomPath1 = tempDir.resolve("synthetic-1.ged");
+        Path gedcomPath2 = tempDir.resolve("synthetic-2.ged");
+        SyntheticGedcomGenerator.write(gedcom1, gedcomPath1);
+        SyntheticGedcomGenerator.write(gedcom2, gedcomPath2);
+
+        assertThat(Files.mismatch(gedcomPath1, gedcomPath2)).isEqualTo(-1L);
+    }
+
+}